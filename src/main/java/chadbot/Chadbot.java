@@ -1,10 +1,25 @@
 package chadbot;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.function.Consumer;
+
 import chadbot.command.Command;
+import chadbot.command.CommandResult;
+import chadbot.subfiles.AsyncSink;
+import chadbot.subfiles.ConsoleSink;
+import chadbot.subfiles.InputTokens;
+import chadbot.subfiles.OutputSink;
 import chadbot.subfiles.Parser;
+import chadbot.subfiles.ReminderNotifier;
 import chadbot.subfiles.Storage;
 import chadbot.subfiles.TaskList;
 import chadbot.subfiles.Ui;
+import chadbot.task.OffHeapTaskStore;
 
 /**
  * The Chadbot program is an interactive application which enables users to store and modify their tasks.
@@ -14,6 +29,18 @@ import chadbot.subfiles.Ui;
  * @since   2021-02-08
  */
 public class Chadbot {
+    /** Output mode of a script in which the response to every command is printed. */
+    public static final int OUTPUT_ALL = 0;
+
+    /** Output mode of a script in which only a summary of the run is printed. */
+    public static final int OUTPUT_SUMMARY = 1;
+
+    /** Output mode of a script in which nothing is printed, except for errors in loading or saving. */
+    public static final int OUTPUT_QUIET = 2;
+
+    /** Number of characters which the console buffers before writing them to the standard output. */
+    private static final int CONSOLE_BUFFER_SIZE = 8192;
+
     /** Task list which manages the tasks created by user input. */
     private TaskList taskList;
 
@@ -23,6 +50,12 @@ public class Chadbot {
     /** Ui which manages interactions with the user. */
     private Ui ui;
 
+    /** Indicates whether the task list is saved on a background thread, instead of journaling every change. */
+    private boolean isWriteBehind;
+
+    /** Background thread which notifies the user of reminders, or null if reminders have not been started. */
+    private ReminderNotifier reminderNotifier;
+
     /**
      * Default constructor for the Duke class.
      */
@@ -35,36 +68,208 @@ public class Chadbot {
         ui = new Ui();
     }
 
+    /**
+     * Saves the task list on a background thread once loaded, instead of journaling every change,
+     * so that handling user input never waits on disk I/O.
+     */
+    public void enableWriteBehind() {
+        isWriteBehind = true;
+    }
+
+    /**
+     * Keeps the tasks of the task list in direct memory outside the heap, so that very large task lists
+     * do not lengthen garbage collection pauses. Must be called before the task list is loaded.
+     */
+    public void enableOffHeap() {
+        taskList = new TaskList(new OffHeapTaskStore());
+    }
+
+    /**
+     * Loads the task list from the save file.
+     */
+    public void load() {
+        long quietPeriod = 500;
+        long maxDelay = 5000;
+
+        storage.loadData(taskList);
+        if (isWriteBehind) {
+            storage.startWriteBehind(taskList, quietPeriod, maxDelay);
+        }
+    }
+
+    /**
+     * Converts the save file into the binary snapshot format or the text format, and releases the storage.
+     *
+     * @param isBinary True to convert the save file into the binary snapshot format, and false to convert it into
+     *                 the text format.
+     */
+    public void convertSaveFile(boolean isBinary) {
+        if (storage.convertSaveFile(taskList, isBinary)) {
+            System.out.println("Your save file is now stored in the " + (isBinary ? "binary" : "text") + " format.");
+        }
+        storage.close();
+    }
+
+    /**
+     * Starts reminding the user of each pending deadline and event the day before its date, according to the
+     * system clock. Must be called after the task list is loaded.
+     *
+     * @param notifier Notifier which the message of each reminder is handed to, on a background thread.
+     */
+    public void startReminders(Consumer<String> notifier) {
+        long pollInterval = 1000;
+
+        taskList.enableReminders(Clock.systemDefaultZone());
+        reminderNotifier = new ReminderNotifier(taskList, notifier, pollInterval);
+        reminderNotifier.start();
+    }
+
+    /**
+     * Saves the task list, including any change which has not been saved yet, before the program terminates.
+     */
+    public void shutdown() {
+        if (reminderNotifier != null) {
+            reminderNotifier.shutdown();
+        }
+        storage.saveData(taskList);
+        storage.close();
+    }
+
     /**
      * Runs the Duke program.
      */
     private void run() {
         boolean isExit = false;
 
+        ui.setSink(new ConsoleSink(System.out, CONSOLE_BUFFER_SIZE, true));
         ui.greet();
-        storage.loadData(taskList);
+        load();
+        startReminders(ui::showReminder);
         while (!isExit) {
             String s = ui.readCommand();
             ui.showDots();
             Command c = Parser.parse(s);
-            c.execute(taskList, ui);
+            CommandResult result = c.execute(taskList, ui);
             isExit = c.isExit();
 
             if (!isExit) {
+                ui.showResponse(result);
                 ui.showLine();
             }
+            storage.commit();
         }
-        storage.saveData(taskList);
+        shutdown();
         ui.bye();
     }
 
+    /**
+     * Runs the commands in a script file, one per line, until the end of the file or an exit command.
+     * The responses are written to the standard output on a background thread through a single large buffer,
+     * or discarded, instead of being flushed after every line. The journal is detached while the script runs,
+     * and the task list is saved once after the last command.
+     *
+     * @param filename The script file.
+     * @param outputMode OUTPUT_ALL, OUTPUT_SUMMARY, or OUTPUT_QUIET.
+     */
+    public void runScript(String filename, int outputMode) {
+        int bufferSize = 1 << 16;
+        int pendingResponses = 4096;
+        OutputSink console = new ConsoleSink(System.out, CONSOLE_BUFFER_SIZE, true);
+        BufferedReader reader;
+        try {
+            reader = Files.newBufferedReader(Paths.get(filename), Charset.defaultCharset());
+        } catch (IOException e) {
+            console.print("Something went wrong during the opening of your script.");
+            return;
+        }
+
+        storage.loadData(taskList);
+        taskList.setJournal(null);
+
+        if (outputMode == OUTPUT_ALL) {
+            AsyncSink sink = new AsyncSink(new ConsoleSink(System.out, bufferSize, false), pendingResponses);
+            sink.start();
+            ui.setSink(sink);
+        }
+
+        long start = System.nanoTime();
+        int commandCount = 0;
+        int errorCount = 0;
+        boolean isReadFailure = false;
+        try (reader) {
+            InputTokens tokens = new InputTokens("");
+            boolean isExit = false;
+            String line = reader.readLine();
+            while (!isExit && line != null) {
+                tokens.reset(line);
+                if (tokens.size() > 0) {
+                    Command c = Parser.parse(tokens);
+                    CommandResult result = c.execute(taskList, ui);
+                    isExit = c.isExit();
+                    commandCount++;
+                    errorCount += result.isError() ? 1 : 0;
+                    if (!isExit) {
+                        ui.showResponse(result);
+                    }
+                }
+                line = isExit ? null : reader.readLine();
+            }
+        } catch (IOException e) {
+            isReadFailure = true;
+        } finally {
+            ui.close();
+        }
+
+        if (isReadFailure) {
+            console.print("Something went wrong during the reading of your script.");
+        }
+        shutdown();
+        if (outputMode != OUTPUT_QUIET) {
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            console.print("Ran " + commandCount + " commands from " + filename + " in " + elapsed + " ms, "
+                    + errorCount + " of which failed.");
+        }
+    }
+
     /**
      * The main method which is executed when the Chadbot program is executed.
      *
-     * @param args Unused.
+     * @param args "--write-behind" to save the task list on a background thread instead of journaling every change,
+     *             "--off-heap" to keep the tasks outside the heap, and "--script <file>" to run the commands in
+     *             a script file instead of reading them from the user, followed by "--summary" or "--quiet"
+     *             to print only a summary of the run, or nothing at all. "--convert-to-binary" and
+     *             "--convert-to-text" convert the save file into the binary snapshot or text format, and exit.
      */
     public static void main(String[] args) {
-        new Chadbot().run();
+        Chadbot chadbot = new Chadbot();
+        String script = null;
+        Boolean isBinary = null;
+        int outputMode = OUTPUT_ALL;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--write-behind")) {
+                chadbot.enableWriteBehind();
+            } else if (args[i].equals("--off-heap")) {
+                chadbot.enableOffHeap();
+            } else if (args[i].equals("--script") && i + 1 < args.length) {
+                script = args[++i];
+            } else if (args[i].equals("--summary")) {
+                outputMode = OUTPUT_SUMMARY;
+            } else if (args[i].equals("--quiet")) {
+                outputMode = OUTPUT_QUIET;
+            } else if (args[i].equals("--convert-to-binary")) {
+                isBinary = true;
+            } else if (args[i].equals("--convert-to-text")) {
+                isBinary = false;
+            }
+        }
+
+        if (isBinary != null) {
+            chadbot.convertSaveFile(isBinary);
+        } else if (script != null) {
+            chadbot.runScript(script, outputMode);
+        } else {
+            chadbot.run();
+        }
     }
 
     /**
@@ -92,8 +297,20 @@ public class Chadbot {
      * @return Duke's response to the user input.
      */
     public String getResponse(String input) {
+        return getResult(input).getText();
+    }
+
+    /**
+     * Executes the command in the user input, without rendering its response.
+     *
+     * @param input User input.
+     * @return The result of the command, whose response is only rendered when it is first asked for.
+     */
+    public CommandResult getResult(String input) {
         Command c = Parser.parse(input);
-        return c.execute(taskList, ui);
+        CommandResult result = c.execute(taskList, ui);
+        storage.commit();
+        return result;
     }
 
 }
@@ -1,5 +1,8 @@
 package chadbot;
 
+import java.util.Arrays;
+import java.util.List;
+
 import javafx.application.Application;
 
 /**
@@ -14,9 +17,16 @@ public class Launcher {
     /**
      * Default constructor for the Launcher class.
      *
-     * @param args Unused.
+     * @param args Command-line arguments, which run a script or convert the save file on the command line instead
+     *             of launching the GUI if they contain "--script", "--convert-to-binary" or "--convert-to-text".
      */
     public static void main(String[] args) {
+        List<String> options = Arrays.asList(args);
+        if (options.contains("--script") || options.contains("--convert-to-binary")
+                || options.contains("--convert-to-text")) {
+            Chadbot.main(args);
+            return;
+        }
         Application.launch(Main.class, args);
     }
 
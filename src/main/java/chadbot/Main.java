@@ -34,6 +34,7 @@ public class Main extends Application {
             AnchorPane ap = fxmlLoader.load();
             Scene scene = new Scene(ap);
             stage.setScene(scene);
+            chadbot.enableWriteBehind();
             fxmlLoader.<MainWindow>getController().setDuke(chadbot);
             stage.show();
         } catch (IOException e) {
@@ -4,6 +4,7 @@ import chadbot.exceptions.DateFormatException;
 import chadbot.exceptions.EmptyDateException;
 import chadbot.exceptions.EmptyDescriptionException;
 import chadbot.exceptions.InvalidInputException;
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.TaskList;
 import chadbot.subfiles.Ui;
 
@@ -20,10 +21,10 @@ public class AddCommand extends Command {
     /**
      * Default constructor for the AddCommand class.
      *
-     * @param command The user input formatted as a String object.
+     * @param tokens The user input, split into words.
      */
-    public AddCommand(String command) {
-        super(command);
+    public AddCommand(InputTokens tokens) {
+        super(tokens);
     }
 
     /**
@@ -32,16 +33,15 @@ public class AddCommand extends Command {
      *
      * @param taskList A TaskList object containing the list of tasks which the program currently has.
      * @param ui A Ui object which the current program is using to manage interactions with the user.
-     * @return Duke's response to the user.
+     * @return The result of the command, carrying Duke's response to the user.
      */
     @Override
-    public String execute(TaskList taskList, Ui ui) {
+    public CommandResult execute(TaskList taskList, Ui ui) {
         try {
-            return taskList.addTask(command);
+            return taskList.addTask(tokens);
         } catch (EmptyDescriptionException | EmptyDateException | InvalidInputException
                 | DateFormatException e) {
-            ui.showError(e.getMessage());
-            return e.getMessage();
+            return CommandResult.error(e.getMessage());
         }
     }
 
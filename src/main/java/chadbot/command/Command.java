@@ -1,5 +1,6 @@
 package chadbot.command;
 
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.TaskList;
 import chadbot.subfiles.Ui;
 
@@ -15,13 +16,17 @@ public abstract class Command {
     /** The user input formatted as a String object. */
     protected String command;
 
+    /** The user input split into words, which arguments are read from. */
+    protected InputTokens tokens;
+
     /**
      * Default constructor for the Command class.
      *
-     * @param command The user input formatted as a String object.
+     * @param tokens The user input, split into words.
      */
-    public Command(String command) {
-        this.command = command;
+    public Command(InputTokens tokens) {
+        this.tokens = tokens;
+        this.command = tokens.getInput();
     }
 
     /**
@@ -29,9 +34,9 @@ public abstract class Command {
      *
      * @param taskList A TaskList object containing the list of tasks which the program currently has.
      * @param ui A Ui object which the current program is using to manage interactions with the user.
-     * @return Duke's response to the user.
+     * @return The result of the command, carrying Duke's response to the user.
      */
-    public abstract String execute(TaskList taskList, Ui ui);
+    public abstract CommandResult execute(TaskList taskList, Ui ui);
 
     /**
      * Returns true if the command is an ExitCommand, and false otherwise.
@@ -0,0 +1,196 @@
+package chadbot.command;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import chadbot.task.Task;
+
+/**
+ * The CommandResult class is the outcome of executing a command. It carries the status of the command, the tasks
+ * it affected and how many there were, and only renders its response as text when the text is first asked for,
+ * so that callers which do not display the response, such as a quiet script, never pay for formatting it.
+ *
+ * <p>The affected tasks, and anything else the response is rendered from, are captured when the command is
+ * executed, so the response is the same however much later it is rendered.</p>
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class CommandResult {
+    /** Status of a command which succeeded. */
+    public static final int SUCCESS = 0;
+
+    /** Status of a command which failed, whose response is the error message. */
+    public static final int ERROR = 1;
+
+    /** Status of a command which displayed a help page. */
+    public static final int HELP = 2;
+
+    /** Status of a command which terminates the program. */
+    public static final int EXIT = 3;
+
+    /** Status of the command. */
+    private int status;
+
+    /** Tasks affected by the command, which may be fewer than the number of affected tasks. */
+    private List<Task> tasks;
+
+    /** Number of tasks affected by the command. */
+    private int affectedCount;
+
+    /** Number of tasks in the list after the command, or -1 if the command does not report it. */
+    private int listSize;
+
+    /** Renders the response, or null once it has been rendered. */
+    private Supplier<String> renderer;
+
+    /** The rendered response, or null if it has not been rendered yet. */
+    private String text;
+
+    /**
+     * Default constructor for the CommandResult class.
+     *
+     * @param status SUCCESS, ERROR, HELP, or EXIT.
+     * @param tasks Tasks affected by the command.
+     * @param affectedCount Number of tasks affected by the command.
+     * @param listSize Number of tasks in the list after the command, or -1 if it is not reported.
+     * @param renderer Renders the response, when it is first asked for.
+     */
+    public CommandResult(int status, List<Task> tasks, int affectedCount, int listSize, Supplier<String> renderer) {
+        assert(tasks != null && renderer != null);
+
+        this.status = status;
+        this.tasks = tasks;
+        this.affectedCount = affectedCount;
+        this.listSize = listSize;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Constructor for the CommandResult class, for a command whose response has already been rendered,
+     * and which reports no tasks.
+     *
+     * @param status SUCCESS, ERROR, HELP, or EXIT.
+     * @param text The response.
+     */
+    private CommandResult(int status, String text) {
+        assert(text != null);
+
+        this.status = status;
+        this.tasks = Collections.emptyList();
+        this.listSize = -1;
+        this.text = text;
+    }
+
+    /**
+     * Creates the result of a command whose response has already been rendered, and which reports no tasks.
+     *
+     * @param status SUCCESS, ERROR, HELP, or EXIT.
+     * @param text The response.
+     * @return The result.
+     */
+    public static CommandResult of(int status, String text) {
+        return new CommandResult(status, text);
+    }
+
+    /**
+     * Creates the result of a command which succeeded, whose response has already been rendered.
+     *
+     * @param text The response.
+     * @return The result.
+     */
+    public static CommandResult of(String text) {
+        return of(SUCCESS, text);
+    }
+
+    /**
+     * Creates the result of a command which succeeded, whose response is rendered when it is first asked for.
+     *
+     * @param renderer Renders the response.
+     * @return The result.
+     */
+    public static CommandResult of(Supplier<String> renderer) {
+        return new CommandResult(SUCCESS, Collections.emptyList(), 0, -1, renderer);
+    }
+
+    /**
+     * Creates the result of a command which failed.
+     *
+     * @param message The error message.
+     * @return The result.
+     */
+    public static CommandResult error(String message) {
+        return of(ERROR, message);
+    }
+
+    /**
+     * Returns the status of the command.
+     *
+     * @return SUCCESS, ERROR, HELP, or EXIT.
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Checks whether the command failed.
+     *
+     * @return True if the command failed, and false otherwise.
+     */
+    public boolean isError() {
+        return status == ERROR;
+    }
+
+    /**
+     * Returns the tasks affected by the command. A command affecting many tasks at once only reports how many.
+     *
+     * @return The tasks affected by the command.
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * Returns the number of tasks affected by the command.
+     *
+     * @return The number of tasks affected by the command.
+     */
+    public int getAffectedCount() {
+        return affectedCount;
+    }
+
+    /**
+     * Returns the number of tasks in the list after the command.
+     *
+     * @return The number of tasks in the list, or -1 if the command does not report it.
+     */
+    public int getListSize() {
+        return listSize;
+    }
+
+    /**
+     * Returns the response to the user, rendering it the first time it is asked for.
+     *
+     * @return Duke's response to the user.
+     */
+    public String getText() {
+        if (text == null) {
+            text = renderer.get();
+            renderer = null;
+        }
+        return text;
+    }
+
+    /**
+     * Returns the response to the user.
+     *
+     * @return Duke's response to the user.
+     */
+    @Override
+    public String toString() {
+        return getText();
+    }
+
+}
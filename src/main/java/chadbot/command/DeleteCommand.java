@@ -2,6 +2,8 @@ package chadbot.command;
 
 import chadbot.exceptions.InvalidInputException;
 import chadbot.exceptions.ListOutOfBoundsException;
+import chadbot.exceptions.TaskNotFoundException;
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.TaskList;
 import chadbot.subfiles.Ui;
 
@@ -18,12 +20,12 @@ public class DeleteCommand extends Command {
     /**
      * Default constructor for the DeleteCommand class.
      *
-     * @param command The user input formatted as a String object.
+     * @param tokens The user input, split into words.
      */
-    public DeleteCommand(String command) {
-        super(command);
+    public DeleteCommand(InputTokens tokens) {
+        super(tokens);
 
-        assert(command != null && !command.equals(""));
+        assert(tokens.size() > 0);
     }
 
     /**
@@ -32,15 +34,14 @@ public class DeleteCommand extends Command {
      *
      * @param taskList A TaskList object containing the list of tasks which the program currently has.
      * @param ui A Ui object which the current program is using to manage interactions with the user.
-     * @return Duke's response to the user.
+     * @return The result of the command, carrying Duke's response to the user.
      */
     @Override
-    public String execute(TaskList taskList, Ui ui) {
+    public CommandResult execute(TaskList taskList, Ui ui) {
         try {
-            return taskList.deleteTask(command);
-        } catch (InvalidInputException | ListOutOfBoundsException e) {
-            ui.showError(e.getMessage());
-            return e.getMessage();
+            return taskList.deleteTask(tokens);
+        } catch (InvalidInputException | ListOutOfBoundsException | TaskNotFoundException e) {
+            return CommandResult.error(e.getMessage());
         }
     }
 
@@ -3,7 +3,9 @@ package chadbot.command;
 import chadbot.exceptions.DateFormatException;
 import chadbot.exceptions.InvalidInputException;
 import chadbot.exceptions.ListOutOfBoundsException;
+import chadbot.exceptions.TaskNotFoundException;
 import chadbot.exceptions.TaskTypeErrorException;
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.TaskList;
 import chadbot.subfiles.Ui;
 
@@ -20,12 +22,12 @@ public class EditCommand extends Command {
     /**
      * Default constructor for the EditCommand class.
      *
-     * @param command The user input formatted as a String object.
+     * @param tokens The user input, split into words.
      */
-    public EditCommand(String command) {
-        super(command);
+    public EditCommand(InputTokens tokens) {
+        super(tokens);
 
-        assert(command != null && !command.equals(""));
+        assert(tokens.size() > 0);
     }
 
     /**
@@ -33,15 +35,15 @@ public class EditCommand extends Command {
      *
      * @param taskList A TaskList object containing the list of tasks which the program currently has.
      * @param ui A Ui object which the current program is using to manage interactions with the user.
-     * @return Duke's response to the user.
+     * @return The result of the command, carrying Duke's response to the user.
      */
     @Override
-    public String execute(TaskList taskList, Ui ui) {
+    public CommandResult execute(TaskList taskList, Ui ui) {
         try {
-            return taskList.editTask(command);
-        } catch (InvalidInputException | ListOutOfBoundsException | TaskTypeErrorException | DateFormatException e) {
-            ui.showError(e.getMessage());
-            return e.getMessage();
+            return taskList.editTask(tokens);
+        } catch (InvalidInputException | ListOutOfBoundsException | TaskNotFoundException | TaskTypeErrorException
+                | DateFormatException e) {
+            return CommandResult.error(e.getMessage());
         }
     }
 
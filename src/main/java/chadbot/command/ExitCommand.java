@@ -1,5 +1,6 @@
 package chadbot.command;
 
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.TaskList;
 import chadbot.subfiles.Ui;
 
@@ -16,7 +17,7 @@ public class ExitCommand extends Command {
      * Default constructor for the ExitCommand class.
      */
     public ExitCommand() {
-        super("");
+        super(new InputTokens(""));
     }
 
     /**
@@ -24,11 +25,11 @@ public class ExitCommand extends Command {
      *
      * @param taskList A TaskList object containing the list of tasks which the program currently has.
      * @param ui A Ui object which the current program is using to manage interactions with the user.
-     * @return An empty response by Duke.
+     * @return A result with the EXIT status, carrying Duke's farewell.
      */
     @Override
-    public String execute(TaskList taskList, Ui ui) {
-        return "Bye :)";
+    public CommandResult execute(TaskList taskList, Ui ui) {
+        return CommandResult.of(CommandResult.EXIT, "Bye :)");
     }
 
     /**
@@ -1,7 +1,12 @@
 package chadbot.command;
 
+import java.util.List;
+
+import chadbot.exceptions.InvalidInputException;
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.TaskList;
 import chadbot.subfiles.Ui;
+import chadbot.task.Task;
 
 /**
  * The FindCommand class is a command whose execution triggers the printing of tasks in the TaskList
@@ -16,24 +21,31 @@ public class FindCommand extends Command {
     /**
      * Default constructor for the FindCommand class.
      *
-     * @param command The user input formatted as a String object.
+     * @param tokens The user input, split into words.
      */
-    public FindCommand(String command) {
-        super(command);
+    public FindCommand(InputTokens tokens) {
+        super(tokens);
 
-        assert(command != null && !command.equals(""));
+        assert(tokens.size() > 0);
     }
 
     /**
-     * Calls the task manager to print a list of tasks in the TaskList containing the specified keyword.
+     * Calls the task manager to find the tasks in the TaskList containing the specified keyword. The tasks are
+     * found when the command is executed, and only the listing of them is rendered when it is displayed.
      *
      * @param taskList A TaskList object containing the list of tasks which the program currently has.
      * @param ui A Ui object which the current program is using to manage interactions with the user.
-     * @return Duke's response to the user.
+     * @return The result of the command, carrying the matching tasks and Duke's response to the user.
      */
     @Override
-    public String execute(TaskList taskList, Ui ui) {
-        return taskList.findTasksWithKeyword(command);
+    public CommandResult execute(TaskList taskList, Ui ui) {
+        try {
+            List<Task> matchingTasks = taskList.findTasks(tokens);
+            return new CommandResult(CommandResult.SUCCESS, matchingTasks, matchingTasks.size(), -1,
+                    () -> TaskList.printMatchingTasks(matchingTasks));
+        } catch (InvalidInputException e) {
+            return CommandResult.error(e.getMessage());
+        }
     }
 
     /**
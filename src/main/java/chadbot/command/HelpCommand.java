@@ -1,5 +1,6 @@
 package chadbot.command;
 
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.TaskList;
 import chadbot.subfiles.Ui;
 
@@ -15,10 +16,10 @@ public class HelpCommand extends Command {
     /**
      * Default constructor for the HelpCommand class.
      */
-    public HelpCommand(String command) {
-        super(command);
+    public HelpCommand(InputTokens tokens) {
+        super(tokens);
 
-        assert(command != null && !command.equals(""));
+        assert(tokens.size() > 0);
     }
 
     /**
@@ -26,15 +27,14 @@ public class HelpCommand extends Command {
      *
      * @param taskList A TaskList object containing the list of tasks which the program currently has.
      * @param ui A Ui object which the current program is using to manage interactions with the user.
-     * @return Duke's response to the user.
+     * @return The result of the command, carrying Duke's response to the user.
      */
     @Override
-    public String execute(TaskList taskList, Ui ui) {
+    public CommandResult execute(TaskList taskList, Ui ui) {
         String output = command.toLowerCase().contains("/more")
                 ? ui.getMoreHelp()
                 : ui.getHelp();
-        System.out.println(output);
-        return output;
+        return CommandResult.of(CommandResult.HELP, output);
     }
 
     /**
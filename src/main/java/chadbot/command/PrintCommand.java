@@ -1,7 +1,12 @@
 package chadbot.command;
 
+import java.io.IOException;
+
 import chadbot.exceptions.DateFormatException;
+import chadbot.exceptions.InvalidInputException;
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.TaskList;
+import chadbot.subfiles.TaskSnapshot;
 import chadbot.subfiles.Ui;
 
 /**
@@ -17,34 +22,47 @@ public class PrintCommand extends Command {
     /**
      * Default constructor for the PrintCommand class.
      *
-     * @param command The user input formatted as a String object.
+     * @param tokens The user input, split into words.
      */
-    public PrintCommand(String command) {
-        super(command);
+    public PrintCommand(InputTokens tokens) {
+        super(tokens);
 
-        assert(command != null && !command.equals(""));
+        assert(tokens.size() > 0);
     }
 
     /**
-     * Calls the task manager to either print the entire list of tasks in the TaskList,
-     * or the deadlines and events that are due or happening on the specified date.
+     * Calls the task manager to either print the entire list of tasks in the TaskList, a page of it,
+     * or the deadlines and events that are due or happening on the specified date or range of dates.
+     * If the Ui streams long responses, the entire list is written straight to its writer instead. Otherwise,
+     * a snapshot of the list is taken when the command is executed, and only rendered when it is displayed.
      *
      * @param taskList A TaskList object containing the list of tasks which the program currently has.
      * @param ui A Ui object which the current program is using to manage interactions with the user.
-     * @return Duke's response to the user.
+     * @return The result of the command, whose response is empty if the list was streamed.
      */
     @Override
-    public String execute(TaskList taskList, Ui ui) {
-        String[] sArray = command.split(" ");
-
-        if (sArray.length == 1) {
-            return taskList.printTasks();
+    public CommandResult execute(TaskList taskList, Ui ui) {
+        if (tokens.size() == 1 && ui.isStreaming()) {
+            try {
+                taskList.writeTasks(ui.getWriter());
+                return CommandResult.of("");
+            } catch (IOException e) {
+                return CommandResult.error("Something went wrong while displaying your list.");
+            }
+        } else if (tokens.size() == 1) {
+            TaskSnapshot snapshot = taskList.snapshot();
+            return CommandResult.of(() -> TaskList.printTasks(snapshot));
+        } else if (tokens.firstCharOf(1) == '/') {
+            try {
+                return CommandResult.of(taskList.printPage(tokens));
+            } catch (InvalidInputException e) {
+                return CommandResult.error(e.getMessage());
+            }
         } else {
             try {
-                return taskList.printTasksOnDate(sArray[1]);
+                return CommandResult.of(taskList.printTasksInRange(tokens.get(1)));
             } catch (DateFormatException e) {
-                ui.showError(e.getMessage());
-                return e.getMessage();
+                return CommandResult.error(e.getMessage());
             }
         }
     }
@@ -0,0 +1,59 @@
+package chadbot.command;
+
+import chadbot.exceptions.DateFormatException;
+import chadbot.exceptions.InvalidInputException;
+import chadbot.subfiles.InputTokens;
+import chadbot.subfiles.TaskList;
+import chadbot.subfiles.Ui;
+
+/**
+ * The ScheduleCommand class is a command whose execution triggers the printing of either the events in the TaskList
+ * which are happening during a window of time, or the periods during that window when no event is happening.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class ScheduleCommand extends Command {
+
+    /**
+     * Default constructor for the ScheduleCommand class.
+     *
+     * @param tokens The user input, split into words.
+     */
+    public ScheduleCommand(InputTokens tokens) {
+        super(tokens);
+
+        assert(tokens.matches(0, "busy") || tokens.matches(0, "free"));
+    }
+
+    /**
+     * Calls the task manager to print the events happening during the window of time specified by the user
+     * if the command is "busy", or the periods during that window when no event is happening if it is "free".
+     *
+     * @param taskList A TaskList object containing the list of tasks which the program currently has.
+     * @param ui A Ui object which the current program is using to manage interactions with the user.
+     * @return The result of the command, carrying Duke's response to the user.
+     */
+    @Override
+    public CommandResult execute(TaskList taskList, Ui ui) {
+        try {
+            return CommandResult.of(tokens.matches(0, "busy")
+                    ? taskList.printBusyTimes(command)
+                    : taskList.printFreeTimes(command));
+        } catch (InvalidInputException | DateFormatException e) {
+            return CommandResult.error(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns true if the command is an ExitCommand, and false otherwise.
+     *
+     * @return False, since this is not an ExitCommand.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+}
@@ -1,5 +1,6 @@
 package chadbot.command;
 
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.TaskList;
 import chadbot.subfiles.Ui;
 
@@ -16,12 +17,12 @@ public class SortCommand extends Command {
     /**
      * Default constructor for the SortCommand class.
      *
-     * @param command The user input formatted as a String object.
+     * @param tokens The user input, split into words.
      */
-    public SortCommand(String command) {
-        super(command);
+    public SortCommand(InputTokens tokens) {
+        super(tokens);
 
-        assert(command != null && !command.equals(""));
+        assert(tokens.size() > 0);
     }
 
     /**
@@ -30,10 +31,10 @@ public class SortCommand extends Command {
      *
      * @param taskList A TaskList object containing the list of tasks which the program currently has.
      * @param ui A Ui object which the current program is using to manage interactions with the user.
-     * @return Duke's response to the user.
+     * @return The result of the command, carrying Duke's response to the user.
      */
     @Override
-    public String execute(TaskList taskList, Ui ui) {
+    public CommandResult execute(TaskList taskList, Ui ui) {
         if (command.contains("date")) {
             taskList.sortTasksByTypeAndDate();
         } else if (command.contains("type")) {
@@ -43,8 +44,7 @@ public class SortCommand extends Command {
         }
 
         String output = "Tasks sorted!";
-        System.out.println(output);
-        return output;
+        return CommandResult.of(output);
     }
 
     /**
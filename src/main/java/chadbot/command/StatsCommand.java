@@ -1,5 +1,6 @@
 package chadbot.command;
 
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.TaskList;
 import chadbot.subfiles.Ui;
 
@@ -17,7 +18,7 @@ public class StatsCommand extends Command {
      * Default constructor for the StatsCommand class.
      */
     public StatsCommand() {
-        super("");
+        super(new InputTokens(""));
     }
 
     /**
@@ -25,13 +26,11 @@ public class StatsCommand extends Command {
      *
      * @param taskList A TaskList object containing the list of tasks which the program currently has.
      * @param ui A Ui object which the current program is using to manage interactions with the user.
-     * @return Duke's response to the user.
+     * @return The result of the command, carrying Duke's response to the user.
      */
     @Override
-    public String execute(TaskList taskList, Ui ui) {
-        String output = taskList.displayStats();
-        System.out.println(output);
-        return output;
+    public CommandResult execute(TaskList taskList, Ui ui) {
+        return CommandResult.of(taskList.displayStats());
     }
 
     /**
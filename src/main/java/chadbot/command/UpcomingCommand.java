@@ -0,0 +1,56 @@
+package chadbot.command;
+
+import chadbot.exceptions.InvalidInputException;
+import chadbot.subfiles.InputTokens;
+import chadbot.subfiles.TaskList;
+import chadbot.subfiles.Ui;
+
+/**
+ * The UpcomingCommand class is a command whose execution triggers the printing of the pending deadlines and
+ * events in the TaskList which are due or happening soonest.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class UpcomingCommand extends Command {
+
+    /**
+     * Default constructor for the UpcomingCommand class.
+     *
+     * @param tokens The user input, split into words.
+     */
+    public UpcomingCommand(InputTokens tokens) {
+        super(tokens);
+
+        assert(tokens.size() > 0);
+    }
+
+    /**
+     * Calls the task manager to print the pending deadlines and events in the TaskList which
+     * are due or happening soonest from today.
+     *
+     * @param taskList A TaskList object containing the list of tasks which the program currently has.
+     * @param ui A Ui object which the current program is using to manage interactions with the user.
+     * @return The result of the command, carrying Duke's response to the user.
+     */
+    @Override
+    public CommandResult execute(TaskList taskList, Ui ui) {
+        try {
+            return CommandResult.of(taskList.printUpcomingTasks(command));
+        } catch (InvalidInputException e) {
+            return CommandResult.error(e.getMessage());
+        }
+    }
+
+    /**
+     * Returns true if the command is an ExitCommand, and false otherwise.
+     *
+     * @return False, since this is not an ExitCommand.
+     */
+    @Override
+    public boolean isExit() {
+        return false;
+    }
+
+}
@@ -1,8 +1,8 @@
 package chadbot.exceptions;
 
 /**
- * The DateFormatException class is an exception thrown by the TaskList when the date specified by the user input
- * is incorrectly formatted.
+ * The DateFormatException class is an exception thrown by the TaskList when the date or time specified by the user
+ * input is incorrectly formatted. It does not record a stack trace, and a single instance is shared.
  *
  * @author  arsatis
  * @version 1.1
@@ -10,13 +10,26 @@ package chadbot.exceptions;
  */
 public class DateFormatException extends Exception {
     /** The message carried by the DateFormatException. */
-    private static final String MESSAGE = "I'm sorry, please give your date in the format YYYY-MM-DD.";
+    private static final String MESSAGE = "I'm sorry, please give your date in the format YYYY-MM-DD,"
+            + " and any time in the format HH:mm-HH:mm.";
+
+    /** The shared instance. */
+    private static final DateFormatException INSTANCE = new DateFormatException();
 
     /**
      * Default constructor for the DateFormatException class.
      */
     public DateFormatException() {
-        super(MESSAGE);
+        super(MESSAGE, null, false, false);
+    }
+
+    /**
+     * Returns the shared instance of the DateFormatException class.
+     *
+     * @return The shared instance.
+     */
+    public static DateFormatException getInstance() {
+        return INSTANCE;
     }
 
 }
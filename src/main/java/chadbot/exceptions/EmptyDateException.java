@@ -2,13 +2,19 @@ package chadbot.exceptions;
 
 /**
  * The EmptyDateException class is an exception thrown by the TaskList when a date is not supplied for a
- * deadline or event by the user input.
+ * deadline or event by the user input. It does not record a stack trace, and a single instance is shared for
+ * each type of task.
  *
  * @author  arsatis
  * @version 1.0
  * @since   2021-01-19
  */
 public class EmptyDateException extends Exception {
+    /** The instance thrown for a deadline. */
+    private static final EmptyDateException DEADLINE = new EmptyDateException("deadline");
+
+    /** The instance thrown for an event. */
+    private static final EmptyDateException EVENT = new EmptyDateException("event");
 
     /**
      * Default constructor for the EmptyDateException class.
@@ -16,7 +22,24 @@ public class EmptyDateException extends Exception {
      * @param s The type of task which triggered this exception.
      */
     public EmptyDateException(String s) {
-        super("I'm sorry, the date of a " + s + " cannot be empty.");
+        super("I'm sorry, the date of a " + s + " cannot be empty.", null, false, false);
+    }
+
+    /**
+     * Returns the shared instance of the EmptyDateException class for a type of task.
+     *
+     * @param s The type of task which triggered this exception.
+     * @return The shared instance for the type of task, or a new instance if the type is not known.
+     */
+    public static EmptyDateException getInstance(String s) {
+        switch (s) {
+        case "deadline":
+            return DEADLINE;
+        case "event":
+            return EVENT;
+        default:
+            return new EmptyDateException(s);
+        }
     }
 
 }
@@ -2,13 +2,22 @@ package chadbot.exceptions;
 
 /**
  * The EmptyDescriptionException class is an exception thrown by the TaskList when a description is not supplied
- * for a task by the user input.
+ * for a task by the user input. It does not record a stack trace, and a single instance is shared for each type
+ * of task, so that rejecting many malformed inputs stays cheap.
  *
  * @author  arsatis
  * @version 1.0
  * @since   2021-01-19
  */
 public class EmptyDescriptionException extends Exception {
+    /** The instance thrown for a to-do. */
+    private static final EmptyDescriptionException TODO = new EmptyDescriptionException("todo");
+
+    /** The instance thrown for a deadline. */
+    private static final EmptyDescriptionException DEADLINE = new EmptyDescriptionException("deadline");
+
+    /** The instance thrown for an event. */
+    private static final EmptyDescriptionException EVENT = new EmptyDescriptionException("event");
 
     /**
      * Default constructor for the EmptyDescriptionException class.
@@ -16,7 +25,26 @@ public class EmptyDescriptionException extends Exception {
      * @param s The type of task which triggered this exception.
      */
     public EmptyDescriptionException(String s) {
-        super("I'm sorry, the description of a " + s + " cannot be empty.");
+        super("I'm sorry, the description of a " + s + " cannot be empty.", null, false, false);
+    }
+
+    /**
+     * Returns the shared instance of the EmptyDescriptionException class for a type of task.
+     *
+     * @param s The type of task which triggered this exception.
+     * @return The shared instance for the type of task, or a new instance if the type is not known.
+     */
+    public static EmptyDescriptionException getInstance(String s) {
+        switch (s) {
+        case "todo":
+            return TODO;
+        case "deadline":
+            return DEADLINE;
+        case "event":
+            return EVENT;
+        default:
+            return new EmptyDescriptionException(s);
+        }
     }
 
 }
@@ -2,7 +2,7 @@ package chadbot.exceptions;
 
 /**
  * The InvalidInputException class is an exception thrown by the TaskList when an invalid input or command is
- * supplied by the user.
+ * supplied by the user. It does not record a stack trace, and a single instance is shared.
  *
  * @author  arsatis
  * @version 1.0
@@ -13,11 +13,23 @@ public class InvalidInputException extends Exception {
     private static final String MESSAGE = "I'm sorry, but I don't know what that means.\n"
             + "Enter \"help\" to see a list of functions supported by Chadbot.";
 
+    /** The shared instance. */
+    private static final InvalidInputException INSTANCE = new InvalidInputException();
+
     /**
      * Default constructor for the InvalidInputException class.
      */
     public InvalidInputException() {
-        super(MESSAGE);
+        super(MESSAGE, null, false, false);
+    }
+
+    /**
+     * Returns the shared instance of the InvalidInputException class.
+     *
+     * @return The shared instance.
+     */
+    public static InvalidInputException getInstance() {
+        return INSTANCE;
     }
 
     /**
@@ -0,0 +1,23 @@
+package chadbot.exceptions;
+
+/**
+ * The QueryFormatException class is an exception thrown by the TaskList when a query supplied by the user
+ * contains a term which cannot be understood.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class QueryFormatException extends Exception {
+
+    /**
+     * Default constructor for the QueryFormatException class.
+     *
+     * @param term The term of the query which could not be understood.
+     */
+    public QueryFormatException(String term) {
+        super("I'm sorry, I don't understand the query term \"" + term + "\".\n"
+                + "Enter \"help\" to see the terms which a query may contain.");
+    }
+
+}
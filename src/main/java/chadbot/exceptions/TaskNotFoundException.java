@@ -0,0 +1,22 @@
+package chadbot.exceptions;
+
+/**
+ * The TaskNotFoundException class is an exception thrown by the TaskList when the user refers to a task by an ID
+ * which no task in the list has.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class TaskNotFoundException extends Exception {
+
+    /**
+     * Default constructor for the TaskNotFoundException class.
+     *
+     * @param id The ID which the user referred to.
+     */
+    public TaskNotFoundException(int id) {
+        super("I'm sorry, there is no task with the ID #" + id + ".");
+    }
+
+}
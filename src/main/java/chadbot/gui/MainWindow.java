@@ -1,7 +1,7 @@
 package chadbot.gui;
 
 import chadbot.Chadbot;
-import chadbot.exceptions.InvalidInputException;
+import chadbot.command.CommandResult;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
@@ -51,10 +51,13 @@ public class MainWindow extends AnchorPane {
         String greetingMessage = "Welcome to Chadbot.\nWhat can I do for you?";
 
         chadbot = c;
-        chadbot.getStorage().loadData(chadbot.getTaskList());
+        chadbot.load();
         dialogContainer.getChildren().addAll(
                 DialogBox.getDukeDialog(greetingMessage, chadLImage)
         );
+        chadbot.startReminders(reminder -> Platform.runLater(() -> dialogContainer.getChildren().add(
+                DialogBox.getDukeDialog(reminder, soyjakSmirk)
+        )));
     }
 
     /**
@@ -63,35 +66,34 @@ public class MainWindow extends AnchorPane {
      */
     @FXML
     private void handleUserInput() {
-        String errorResponse = InvalidInputException.getExceptionMessage();
-        String byeResponse = "Bye :)";
         String input = userInput.getText();
-        String response = chadbot.getResponse(input);
-        boolean isHelpRequest = input.toLowerCase().contains("help");
+        CommandResult result = chadbot.getResult(input);
+        boolean isExit = result.getStatus() == CommandResult.EXIT;
 
         dialogContainer.getChildren().addAll(
                 DialogBox.getUserDialog(input, chadRImage),
-                DialogBox.getDukeDialog(response, (isHelpRequest || response.equals(byeResponse))
+                DialogBox.getDukeDialog(result.getText(), (result.getStatus() == CommandResult.HELP || isExit)
                         ? soyjakSmirk
-                        : response.equals(errorResponse)
+                        : result.isError()
                         ? soyjakCry
                         : chadLImage
                 )
         );
         userInput.clear();
 
-        if (response.equals(byeResponse)) {
-            chadbot.getStorage().saveData(chadbot.getTaskList());
-            Platform.runLater(() -> {
+        if (isExit) {
+            Thread exitThread = new Thread(() -> {
                 try {
+                    chadbot.shutdown();
                     Thread.sleep(500);
                     Platform.exit();
                 } catch (InterruptedException e) {
-                    dialogContainer.getChildren().addAll(
+                    Platform.runLater(() -> dialogContainer.getChildren().addAll(
                             DialogBox.getUserDialog(e.getMessage(), chadRImage)
-                    );
+                    ));
                 }
             });
+            exitThread.start();
         }
     }
 
@@ -0,0 +1,256 @@
+package chadbot.subfiles;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+
+/**
+ * The AsyncSink class is an output sink which hands every message to another sink on a background thread, so that
+ * the thread running commands never waits for the console. Messages are written in the order they were displayed,
+ * and the underlying sink is flushed whenever no message is waiting. At most a fixed number of messages wait at once,
+ * beyond which displaying a message waits for the background thread to catch up. Long responses streamed to its
+ * writer are written directly to the underlying sink's writer, once every message displayed before them is written.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class AsyncSink extends OutputSink implements Runnable {
+    /** Sink which messages are written to on the background thread. */
+    private OutputSink target;
+
+    /** Messages which have been displayed, but not yet written. */
+    private ArrayDeque<String> pending;
+
+    /** Maximum number of messages which may wait to be written. */
+    private int capacity;
+
+    /** Number of messages displayed so far. */
+    private long printedCount;
+
+    /** Number of messages written to the underlying sink so far. */
+    private long writtenCount;
+
+    /** Indicates whether the sink has been closed. */
+    private boolean isShutdown;
+
+    /** The background thread which writes the messages. */
+    private Thread thread;
+
+    /** Writer which long responses are streamed to, or null if the underlying sink does not stream them. */
+    private Writer writer;
+
+    /**
+     * Default constructor for the AsyncSink class.
+     *
+     * @param target Sink which messages are written to on the background thread.
+     * @param capacity Maximum number of messages which may wait to be written.
+     */
+    public AsyncSink(OutputSink target, int capacity) {
+        assert(capacity > 0);
+
+        this.target = target;
+        this.capacity = capacity;
+        this.pending = new ArrayDeque<>();
+        if (target.getWriter() != null) {
+            this.writer = new StreamWriter(target.getWriter());
+        }
+    }
+
+    /**
+     * Starts the background thread which writes the messages.
+     */
+    public void start() {
+        thread = new Thread(this, "chadbot-output");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a message to be written on the background thread, waiting only if too many messages are queued.
+     *
+     * @param s The message.
+     */
+    @Override
+    public synchronized void print(String s) {
+        boolean isInterrupted = false;
+        while (pending.size() >= capacity && !isShutdown) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (isShutdown) {
+            return;
+        }
+
+        pending.add(s);
+        printedCount++;
+        notifyAll();
+    }
+
+    /**
+     * Writes the queued messages to the underlying sink, until the sink is closed and every message is written.
+     */
+    @Override
+    public void run() {
+        try {
+            String[] batch = awaitBatch();
+            while (batch != null) {
+                for (String s : batch) {
+                    target.print(s);
+                }
+                if (isIdle()) {
+                    target.flush();
+                }
+                synchronized (this) {
+                    writtenCount += batch.length;
+                    notifyAll();
+                }
+                batch = awaitBatch();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until a message is queued, and takes every queued message.
+     *
+     * @return The queued messages, or null if the sink has been closed and every message has been taken.
+     * @throws InterruptedException If the background thread is interrupted while waiting.
+     */
+    private synchronized String[] awaitBatch() throws InterruptedException {
+        while (pending.isEmpty() && !isShutdown) {
+            wait();
+        }
+        if (pending.isEmpty()) {
+            return null;
+        }
+
+        String[] batch = pending.toArray(new String[0]);
+        pending.clear();
+        notifyAll();
+        return batch;
+    }
+
+    /**
+     * Checks whether no message is waiting to be written.
+     *
+     * @return True if no message is waiting to be written, and false otherwise.
+     */
+    private synchronized boolean isIdle() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Checks whether the sink has been closed, after which nothing more is written.
+     *
+     * @return True if the sink has been closed, and false otherwise.
+     */
+    private synchronized boolean isClosed() {
+        return isShutdown;
+    }
+
+    /**
+     * Returns a writer which long responses may be streamed to. Anything streamed to it is written after every
+     * message displayed before it, on the thread which streams it.
+     *
+     * @return The writer, or null if the underlying sink does not stream long responses.
+     */
+    @Override
+    public Writer getWriter() {
+        return writer;
+    }
+
+    /**
+     * Waits until every message displayed so far has been written to the underlying sink.
+     */
+    @Override
+    public synchronized void flush() {
+        boolean isInterrupted = false;
+        while (writtenCount < printedCount && thread != null && thread.isAlive()) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                isInterrupted = true;
+            }
+        }
+        if (isInterrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes every queued message, stops the background thread, and closes the underlying sink.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            isShutdown = true;
+            notifyAll();
+        }
+
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        target.close();
+    }
+
+    /**
+     * The StreamWriter class is a writer which waits for the queued messages to be written before writing anything
+     * to the underlying sink's writer, so that streamed responses are never written before earlier messages.
+     */
+    private class StreamWriter extends Writer {
+        /** The underlying sink's writer. */
+        private Writer out;
+
+        /**
+         * Default constructor for the StreamWriter class.
+         *
+         * @param out The underlying sink's writer.
+         */
+        StreamWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) throws IOException {
+            AsyncSink.this.flush();
+            if (!isClosed()) {
+                out.write(buffer, offset, length);
+            }
+        }
+
+        @Override
+        public void write(String s, int offset, int length) throws IOException {
+            AsyncSink.this.flush();
+            if (!isClosed()) {
+                out.write(s, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            AsyncSink.this.flush();
+            out.flush();
+        }
+
+        /**
+         * Flushes the writer, leaving the underlying sink open until the AsyncSink itself is closed.
+         */
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+
+}
@@ -0,0 +1,376 @@
+package chadbot.subfiles;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.zip.CRC32;
+
+import chadbot.exceptions.LoadFailureException;
+import chadbot.task.Deadline;
+import chadbot.task.Event;
+import chadbot.task.Task;
+import chadbot.task.ToDo;
+
+/**
+ * The BinarySnapshot class is a read-only view over a save file stored in the binary snapshot format.
+ * The file is memory-mapped while the snapshot is open, and each task is decoded from the mapped region when it is
+ * accessed. The checksum of the file is verified when it is opened. Closing the snapshot releases the mapping,
+ * since a file which is still mapped cannot be replaced on some platforms, so the snapshot should be closed as soon
+ * as its tasks have been loaded.
+ *
+ * <p>The format consists of a header, followed by the task records and a string table containing the
+ * descriptions of the tasks. Each record is prefixed by its length, and stores the type of the task,
+ * whether it is done, its date as an epoch day, the index of its description in the string table, and its ID.
+ * Records written before tasks had IDs are shorter, and their tasks are given IDs when they are loaded.
+ * The records of events held at a specific time are longer, and also store their start and duration in minutes.
+ * The header records the ID given to the next task added to the list.</p>
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class BinarySnapshot extends AbstractList<Task> implements RandomAccess, Closeable {
+    /** Magic number identifying a save file stored in the binary snapshot format. */
+    private static final int MAGIC = 0x43484442;
+
+    /** Version of the binary snapshot format. */
+    private static final int VERSION = 1;
+
+    /** Size of the header, in bytes. */
+    private static final int HEADER_SIZE = 32;
+
+    /** Size of the body of a task record, in bytes. */
+    private static final int RECORD_SIZE = 14;
+
+    /** Size of the body of the record of an event held at a specific time, in bytes. */
+    private static final int RECORD_SIZE_WITH_TIME = 22;
+
+    /** Size of the body of a task record which was written before tasks had IDs, in bytes. */
+    private static final int RECORD_SIZE_WITHOUT_ID = 10;
+
+    /** Epoch day stored in the record of a to-do, which has no date. */
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    /** The mapped contents of the save file, or null once the snapshot is closed. */
+    private MappedByteBuffer buffer;
+
+    /** Number of tasks in the save file. */
+    private int size;
+
+    /** Checksum of the contents of the save file following the header. */
+    private long checksum;
+
+    /** ID given to the next task added to the list, or 0 if it is unknown. */
+    private int nextId;
+
+    /** Position of the string table in the save file. */
+    private int stringTableOffset;
+
+    /** Positions of the task records which have been located so far. */
+    private int[] recordOffsets;
+
+    /** Number of task records which have been located so far. */
+    private int located;
+
+    /** Position of the first task record which has not been located yet. */
+    private int nextRecord;
+
+    /** Descriptions which have been decoded so far. */
+    private String[] strings;
+
+    /**
+     * Constructor for the BinarySnapshot class, which maps the specified save file into memory.
+     *
+     * @param file The save file, stored in the binary snapshot format.
+     * @throws IOException If the save file could not be mapped.
+     * @throws LoadFailureException If the save file is not a valid binary snapshot, or its checksum does not match.
+     */
+    private BinarySnapshot(File file) throws IOException, LoadFailureException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            close();
+            throw new LoadFailureException();
+        }
+        size = buffer.getInt(8);
+        stringTableOffset = buffer.getInt(12);
+        checksum = buffer.getLong(16);
+        nextId = buffer.getInt(24);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(HEADER_SIZE));
+        if (crc.getValue() != checksum || size < 0 || stringTableOffset < HEADER_SIZE
+                || stringTableOffset + 4 > buffer.capacity()) {
+            close();
+            throw new LoadFailureException();
+        }
+
+        nextRecord = HEADER_SIZE;
+        recordOffsets = new int[size];
+        strings = new String[buffer.getInt(stringTableOffset)];
+    }
+
+    /**
+     * Opens a save file stored in the binary snapshot format.
+     *
+     * @param file The save file.
+     * @return A view over the tasks stored in the save file.
+     * @throws IOException If the save file could not be mapped.
+     * @throws LoadFailureException If the save file is not a valid binary snapshot, or its checksum does not match.
+     */
+    public static BinarySnapshot open(File file) throws IOException, LoadFailureException {
+        return new BinarySnapshot(file);
+    }
+
+    /**
+     * Checks whether a file is stored in the binary snapshot format.
+     *
+     * @param file The file to be checked.
+     * @return True if the file begins with the magic number of the binary snapshot format, and false otherwise.
+     */
+    public static boolean isBinarySnapshot(File file) {
+        if (!file.isFile() || file.length() < HEADER_SIZE) {
+            return false;
+        }
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            return raf.readInt() == MAGIC;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes a list of tasks to a file in the binary snapshot format. Identical descriptions are only stored once.
+     *
+     * @param tasks The tasks to be written.
+     * @param nextId The ID given to the next task added to the list, or 0 if it is unknown.
+     * @param file The file to be written to.
+     * @return The checksum of the contents of the file following the header.
+     * @throws IOException If the file could not be written to.
+     */
+    public static long write(List<Task> tasks, int nextId, File file) throws IOException {
+        HashMap<String, Integer> stringIndices = new HashMap<>();
+        ArrayList<byte[]> stringTable = new ArrayList<>();
+        ByteBuffer records = ByteBuffer.allocate(tasks.size() * (RECORD_SIZE_WITH_TIME + 4));
+
+        for (Task t : tasks) {
+            Integer nameIndex = stringIndices.get(t.getName());
+            if (nameIndex == null) {
+                nameIndex = stringTable.size();
+                stringIndices.put(t.getName(), nameIndex);
+                stringTable.add(t.getName().getBytes(StandardCharsets.UTF_8));
+            }
+
+            boolean hasTime = t instanceof Event && !((Event) t).isAllDay();
+            records.putInt(hasTime ? RECORD_SIZE_WITH_TIME : RECORD_SIZE);
+            if (t instanceof Deadline) {
+                records.put((byte) 'D').put((byte) (t.isDone() ? 1 : 0));
+                records.putInt((int) ((Deadline) t).getDateAsLocalDate().toEpochDay());
+            } else if (t instanceof Event) {
+                records.put((byte) 'E').put((byte) (t.isDone() ? 1 : 0));
+                records.putInt((int) ((Event) t).getDateAsLocalDate().toEpochDay());
+            } else {
+                records.put((byte) 'T').put((byte) (t.isDone() ? 1 : 0));
+                records.putInt(NO_DATE);
+            }
+            records.putInt(nameIndex);
+            records.putInt(t.getId());
+            if (hasTime) {
+                records.putInt(((Event) t).getStartMinute());
+                records.putInt(((Event) t).getDuration());
+            }
+        }
+
+        int stringOffset = 4 + 4 * stringTable.size();
+        ByteBuffer table = ByteBuffer.allocate(stringOffset + stringTable.stream().mapToInt(b -> b.length + 4).sum());
+        table.putInt(stringTable.size());
+        for (byte[] bytes : stringTable) {
+            table.putInt(stringOffset);
+            stringOffset += bytes.length + 4;
+        }
+        for (byte[] bytes : stringTable) {
+            table.putInt(bytes.length).put(bytes);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(records.array(), 0, records.position());
+        crc.update(table.array(), 0, table.position());
+
+        try (FileOutputStream fos = new FileOutputStream(file);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tasks.size());
+            out.writeInt(HEADER_SIZE + records.position());
+            out.writeLong(crc.getValue());
+            out.writeInt(nextId);
+            out.writeInt(0);
+            out.write(records.array(), 0, records.position());
+            out.write(table.array(), 0, table.position());
+            out.flush();
+            fos.getFD().sync();
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Returns the checksum of the contents of the save file following the header.
+     *
+     * @return The checksum of the contents of the save file following the header.
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+
+    /**
+     * Returns the ID given to the next task added to the list when the save file was written.
+     *
+     * @return The next ID, or 0 if it is unknown.
+     */
+    public int getNextId() {
+        return nextId;
+    }
+
+    /**
+     * Returns the number of tasks in the save file.
+     *
+     * @return The number of tasks in the save file.
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Decodes the task at the specified index in the save file. The task is not cached, so that loading the
+     * snapshot into a task list does not keep a second copy of every task.
+     *
+     * @param index The index of the task in the save file.
+     * @return The task at the specified index.
+     * @throws IllegalStateException If the snapshot is closed, or the record of the task is corrupted.
+     */
+    @Override
+    public Task get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        if (buffer == null) {
+            throw new IllegalStateException("Binary snapshot is closed");
+        }
+        return decodeTask(locateRecord(index));
+    }
+
+    /**
+     * Releases the mapping of the save file, after which no task can be accessed. The mapping is released
+     * immediately where the platform allows it, and otherwise once the buffer is garbage collected.
+     */
+    @Override
+    public void close() {
+        MappedByteBuffer mapped = buffer;
+        buffer = null;
+        recordOffsets = null;
+        strings = null;
+        if (mapped == null) {
+            return;
+        }
+
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(field.get(null), mapped);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // The mapping is released once the buffer is garbage collected instead.
+        }
+    }
+
+    /**
+     * Returns the position of the record of the task at the specified index, locating the records
+     * up to that index by following their length prefixes if necessary.
+     *
+     * @param index The index of the task in the save file.
+     * @return The position of the body of the record.
+     */
+    private int locateRecord(int index) {
+        while (located <= index) {
+            recordOffsets[located++] = nextRecord + 4;
+            nextRecord += 4 + buffer.getInt(nextRecord);
+        }
+        return recordOffsets[index];
+    }
+
+    /**
+     * Decodes the task stored in the record at the specified position.
+     *
+     * @param position The position of the body of the record.
+     * @return The decoded task.
+     */
+    private Task decodeTask(int position) {
+        byte type = buffer.get(position);
+        boolean isDone = buffer.get(position + 1) == 1;
+        int epochDay = buffer.getInt(position + 2);
+        String name = decodeString(buffer.getInt(position + 6));
+
+        Task t;
+        switch (type) {
+        case 'T':
+            t = new ToDo(name);
+            break;
+        case 'D':
+            t = new Deadline(name, LocalDate.ofEpochDay(epochDay));
+            break;
+        case 'E':
+            t = buffer.getInt(position - 4) < RECORD_SIZE_WITH_TIME
+                    ? new Event(name, LocalDate.ofEpochDay(epochDay))
+                    : new Event(name, LocalDate.ofEpochDay(epochDay), buffer.getInt(position + 14),
+                            buffer.getInt(position + 18));
+            break;
+        default:
+            throw new IllegalStateException("Corrupted task record at position " + position);
+        }
+
+        if (isDone) {
+            t.setDone();
+        }
+        if (buffer.getInt(position - 4) > RECORD_SIZE_WITHOUT_ID && buffer.getInt(position + 10) > 0) {
+            t.setId(buffer.getInt(position + 10));
+        }
+        return t;
+    }
+
+    /**
+     * Returns the description at the specified index in the string table, decoding it if necessary.
+     *
+     * @param index The index of the description in the string table.
+     * @return The description.
+     */
+    private String decodeString(int index) {
+        if (strings[index] == null) {
+            int position = stringTableOffset + buffer.getInt(stringTableOffset + 4 + 4 * index);
+            byte[] bytes = new byte[buffer.getInt(position)];
+            buffer.duplicate().position(position + 4).get(bytes);
+            strings[index] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings[index];
+    }
+
+}
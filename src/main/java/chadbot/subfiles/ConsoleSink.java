@@ -0,0 +1,81 @@
+package chadbot.subfiles;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * The ConsoleSink class is an output sink which writes every message to an output stream, such as the standard
+ * output, through a buffered writer. It is flushed either after every message, so that an interactive user sees
+ * each response at once, or only when the buffer fills up, so that a long script is written in large blocks.
+ * Like a PrintStream, it never throws an exception if the stream cannot be written to.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class ConsoleSink extends OutputSink {
+    /** Buffered writer over the output stream. */
+    private Writer writer;
+
+    /** Indicates whether the writer is flushed after every message. */
+    private boolean isFlushingEachMessage;
+
+    /**
+     * Default constructor for the ConsoleSink class.
+     *
+     * @param out The output stream which messages are written to.
+     * @param bufferSize Number of characters which are buffered before being written to the stream.
+     * @param isFlushingEachMessage True if the writer is flushed after every message, and false otherwise.
+     */
+    public ConsoleSink(OutputStream out, int bufferSize, boolean isFlushingEachMessage) {
+        assert(bufferSize > 0);
+
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, Charset.defaultCharset()), bufferSize);
+        this.isFlushingEachMessage = isFlushingEachMessage;
+    }
+
+    /**
+     * Writes a message, followed by a line separator.
+     *
+     * @param s The message.
+     */
+    @Override
+    public synchronized void print(String s) {
+        try {
+            writer.write(s);
+            writer.write(System.lineSeparator());
+            if (isFlushingEachMessage) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            // The console cannot be written to, so there is nowhere to report it.
+        }
+    }
+
+    /**
+     * Returns the buffered writer over the output stream.
+     *
+     * @return The buffered writer over the output stream.
+     */
+    @Override
+    public Writer getWriter() {
+        return writer;
+    }
+
+    /**
+     * Writes every buffered message to the output stream.
+     */
+    @Override
+    public synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            // The console cannot be written to, so there is nowhere to report it.
+        }
+    }
+
+}
@@ -0,0 +1,366 @@
+package chadbot.subfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.PrimitiveIterator;
+import java.util.TreeMap;
+
+import chadbot.task.Deadline;
+import chadbot.task.Event;
+import chadbot.task.TaskStore;
+
+/**
+ * The DateIndex class indexes the deadlines and events in a task list by their date, so that the tasks due or
+ * happening on a date, or within a range of dates, can be looked up without scanning the whole task list.
+ * Within each date, the slots of the tasks are kept in the order the tasks appear in the task list.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class DateIndex {
+    /** Store which holds the indexed tasks. */
+    private TaskStore store;
+
+    /** Deadlines and events indexed by their date, as an epoch day. */
+    private TreeMap<Integer, Bucket> buckets;
+
+    /** Keys which order the indexed tasks in the same way as the task list, indexed by slot. */
+    private long[] orderKeys;
+
+    /** Order key which is given to the next task added to the end of the task list. */
+    private long nextOrderKey;
+
+    /**
+     * Default constructor for the DateIndex class.
+     *
+     * @param store Store which holds the indexed tasks.
+     */
+    public DateIndex(TaskStore store) {
+        this.store = store;
+        buckets = new TreeMap<>();
+        orderKeys = new long[16];
+    }
+
+    /**
+     * Converts a date into an epoch day, clamped to the range of epoch days which a store can hold.
+     *
+     * @param date The date.
+     * @return The epoch day of the date, clamped to the range of an int.
+     */
+    static int toEpochDay(LocalDate date) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, date.toEpochDay()));
+    }
+
+    /**
+     * Indexes a task which was added to the end of the task list.
+     *
+     * @param slot The slot of the task which was added.
+     */
+    public void add(int slot) {
+        if (store.getType(slot) == TaskStore.TODO) {
+            return;
+        }
+
+        if (slot >= orderKeys.length) {
+            orderKeys = Arrays.copyOf(orderKeys, Math.max(slot + 1, orderKeys.length * 2));
+        }
+        orderKeys[slot] = nextOrderKey++;
+        Bucket bucket = buckets.computeIfAbsent(store.getEpochDay(slot), d -> new Bucket());
+        bucket.get(store.getType(slot)).add(slot);
+        bucket.countPending(slot, 1);
+    }
+
+    /**
+     * Removes a task which is about to be deleted from the task list from the index.
+     *
+     * @param slot The slot of the task which is being deleted.
+     */
+    public void remove(int slot) {
+        if (store.getType(slot) != TaskStore.TODO) {
+            removeFromBucket(slot, store.getEpochDay(slot));
+        }
+    }
+
+    /**
+     * Moves a task whose date was modified to the bucket of its new date, keeping its position relative to
+     * the other tasks in the task list.
+     *
+     * @param slot The slot of the task whose date was modified.
+     * @param oldEpochDay The date of the task before it was modified, as an epoch day.
+     */
+    public void move(int slot, int oldEpochDay) {
+        removeFromBucket(slot, oldEpochDay);
+
+        Bucket newBucket = buckets.computeIfAbsent(store.getEpochDay(slot), d -> new Bucket());
+        newBucket.countPending(slot, 1);
+        IntList bucket = newBucket.get(store.getType(slot));
+        bucket.add(search(bucket, orderKeys[slot]), slot);
+    }
+
+    /**
+     * Returns the position of the first slot within a bucket whose order key is not less than the specified one.
+     *
+     * @param bucket The slots of a bucket, in the order of the task list.
+     * @param orderKey The order key.
+     * @return The position of the first slot whose order key is not less than the specified one.
+     */
+    private int search(IntList bucket, long orderKey) {
+        int low = 0;
+        int high = bucket.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (orderKeys[bucket.get(mid)] < orderKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Rebuilds the index after the task list was reordered.
+     *
+     * @param tasks The slots of the tasks in the task list, in their new order.
+     */
+    public void rebuild(TaskSequence tasks) {
+        buckets.clear();
+        nextOrderKey = 0;
+        PrimitiveIterator.OfInt slots = tasks.iterator();
+        while (slots.hasNext()) {
+            add(slots.nextInt());
+        }
+    }
+
+    /**
+     * Removes a task from the bucket of the specified date.
+     *
+     * @param slot The slot of the task to be removed.
+     * @param epochDay The date of the bucket which contains the task, as an epoch day.
+     */
+    private void removeFromBucket(int slot, int epochDay) {
+        Bucket bucket = buckets.get(epochDay);
+        assert(bucket != null);
+
+        IntList slots = bucket.get(store.getType(slot));
+        slots.remove(search(slots, orderKeys[slot]));
+        bucket.countPending(slot, -1);
+        if (bucket.isEmpty()) {
+            buckets.remove(epochDay);
+        }
+    }
+
+    /**
+     * Updates the index before a pending task is marked as done.
+     *
+     * @param slot The slot of the task which is about to be marked as done.
+     */
+    public void markDone(int slot) {
+        if (store.getType(slot) != TaskStore.TODO) {
+            buckets.get(store.getEpochDay(slot)).countPending(slot, -1);
+        }
+    }
+
+    /**
+     * Counts the pending deadlines due before a date.
+     *
+     * @param date The date.
+     * @return The number of deadlines which are not done, and due before the date.
+     */
+    public int countPendingDeadlinesBefore(LocalDate date) {
+        int count = 0;
+        for (Bucket bucket : buckets.headMap(toEpochDay(date), date.toEpochDay() > Integer.MAX_VALUE).values()) {
+            count += bucket.pendingDeadlines;
+        }
+        return count;
+    }
+
+    /**
+     * Counts the events happening within a range of dates.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The number of events happening within the range.
+     */
+    public int countEventsBetween(LocalDate from, LocalDate to) {
+        int count = 0;
+        for (Bucket bucket : range(from, to).values()) {
+            count += bucket.events.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the deadlines due on a date, in the order they appear in the task list.
+     *
+     * @param date The date.
+     * @return The deadlines due on the date.
+     */
+    public List<Deadline> getDeadlinesOn(LocalDate date) {
+        return getDeadlinesBetween(date, date);
+    }
+
+    /**
+     * Returns the events happening on a date, in the order they appear in the task list.
+     *
+     * @param date The date.
+     * @return The events happening on the date.
+     */
+    public List<Event> getEventsOn(LocalDate date) {
+        return getEventsBetween(date, date);
+    }
+
+    /**
+     * Returns the deadlines due within a range of dates, ordered by their date, followed by the order they appear
+     * in the task list.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return Copies of the deadlines due within the range.
+     */
+    public List<Deadline> getDeadlinesBetween(LocalDate from, LocalDate to) {
+        ArrayList<Deadline> deadlines = new ArrayList<>();
+        for (Bucket bucket : range(from, to).values()) {
+            for (int i = 0; i < bucket.deadlines.size(); i++) {
+                deadlines.add((Deadline) store.copy(bucket.deadlines.get(i)));
+            }
+        }
+        return deadlines;
+    }
+
+    /**
+     * Returns the events happening within a range of dates, ordered by their date, followed by the order they
+     * appear in the task list.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return Copies of the events happening within the range.
+     */
+    public List<Event> getEventsBetween(LocalDate from, LocalDate to) {
+        ArrayList<Event> events = new ArrayList<>();
+        for (Bucket bucket : range(from, to).values()) {
+            for (int i = 0; i < bucket.events.size(); i++) {
+                events.add((Event) store.copy(bucket.events.get(i)));
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Counts the deadlines, events, or both, within a range of epoch days, without looking at the tasks.
+     *
+     * @param fromDay The first epoch day of the range.
+     * @param toDay The last epoch day of the range.
+     * @param hasDeadlines Whether deadlines are counted.
+     * @param hasEvents Whether events are counted.
+     * @return The number of matching tasks within the range.
+     */
+    public int countSlotsBetween(int fromDay, int toDay, boolean hasDeadlines, boolean hasEvents) {
+        int count = 0;
+        for (Bucket bucket : rangeOfDays(fromDay, toDay).values()) {
+            count += (hasDeadlines ? bucket.deadlines.size() : 0) + (hasEvents ? bucket.events.size() : 0);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the slots of the deadlines, events, or both, within a range of epoch days, ordered by their date.
+     *
+     * @param fromDay The first epoch day of the range.
+     * @param toDay The last epoch day of the range.
+     * @param hasDeadlines Whether deadlines are returned.
+     * @param hasEvents Whether events are returned.
+     * @return The slots of the matching tasks within the range.
+     */
+    public IntList getSlotsBetween(int fromDay, int toDay, boolean hasDeadlines, boolean hasEvents) {
+        IntList slots = new IntList();
+        for (Bucket bucket : rangeOfDays(fromDay, toDay).values()) {
+            for (int i = 0; hasDeadlines && i < bucket.deadlines.size(); i++) {
+                slots.add(bucket.deadlines.get(i));
+            }
+            for (int i = 0; hasEvents && i < bucket.events.size(); i++) {
+                slots.add(bucket.events.get(i));
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the buckets of the epoch days within a range.
+     *
+     * @param fromDay The first epoch day of the range.
+     * @param toDay The last epoch day of the range.
+     * @return The buckets of the epoch days within the range, or an empty map if the range is empty.
+     */
+    private NavigableMap<Integer, Bucket> rangeOfDays(int fromDay, int toDay) {
+        if (fromDay > toDay) {
+            return new TreeMap<>();
+        }
+        return buckets.subMap(fromDay, true, toDay, true);
+    }
+
+    /**
+     * Returns the buckets of the dates within a range.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return The buckets of the dates within the range, or an empty map if the range is empty.
+     */
+    private NavigableMap<Integer, Bucket> range(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            return new TreeMap<>();
+        }
+        return buckets.subMap(toEpochDay(from), true, toEpochDay(to), true);
+    }
+
+    /**
+     * The Bucket class contains the slots of the deadlines and events of a single date, in the order they appear
+     * in the task list.
+     */
+    private class Bucket {
+        /** Deadlines due on the date. */
+        private IntList deadlines = new IntList();
+
+        /** Events happening on the date. */
+        private IntList events = new IntList();
+
+        /** Number of deadlines due on the date which are not done. */
+        private int pendingDeadlines;
+
+        /**
+         * Returns the list within the bucket which tasks of a type belong to.
+         *
+         * @param type The type of a deadline or an event.
+         * @return The deadlines of the bucket if the type is a deadline, and its events otherwise.
+         */
+        IntList get(byte type) {
+            return type == TaskStore.DEADLINE ? deadlines : events;
+        }
+
+        /**
+         * Adjusts the number of pending deadlines in the bucket, if a task is a pending deadline.
+         *
+         * @param slot The slot of a deadline or an event.
+         * @param delta 1 if the task was added to the bucket, and -1 if it was removed or marked as done.
+         */
+        void countPending(int slot, int delta) {
+            if (store.getType(slot) == TaskStore.DEADLINE && !store.isDone(slot)) {
+                pendingDeadlines += delta;
+            }
+        }
+
+        /**
+         * Checks whether the bucket contains no tasks.
+         *
+         * @return True if the bucket contains no tasks, and false otherwise.
+         */
+        boolean isEmpty() {
+            return deadlines.isEmpty() && events.isEmpty();
+        }
+    }
+
+}
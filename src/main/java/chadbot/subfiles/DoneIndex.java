@@ -0,0 +1,90 @@
+package chadbot.subfiles;
+
+import java.util.BitSet;
+
+import chadbot.task.TaskStore;
+
+/**
+ * The DoneIndex class indexes the tasks in a task list by whether they are done, as two sets of slots, so that
+ * the done or pending tasks can be enumerated without checking every task in the task list.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class DoneIndex {
+    /** Store which holds the indexed tasks. */
+    private TaskStore store;
+
+    /** Slots of the tasks which are done. */
+    private BitSet done;
+
+    /** Slots of the tasks which are not done. */
+    private BitSet pending;
+
+    /**
+     * Default constructor for the DoneIndex class.
+     *
+     * @param store Store which holds the indexed tasks.
+     */
+    public DoneIndex(TaskStore store) {
+        this.store = store;
+        done = new BitSet();
+        pending = new BitSet();
+    }
+
+    /**
+     * Indexes a task which was added to the task list.
+     *
+     * @param slot The slot of the task which was added.
+     */
+    public void add(int slot) {
+        (store.isDone(slot) ? done : pending).set(slot);
+    }
+
+    /**
+     * Removes a task which is about to be deleted from the task list from the index.
+     *
+     * @param slot The slot of the task which is being deleted.
+     */
+    public void remove(int slot) {
+        done.clear(slot);
+        pending.clear(slot);
+    }
+
+    /**
+     * Updates the index after a task was marked as done.
+     *
+     * @param slot The slot of the task which was marked as done.
+     */
+    public void markDone(int slot) {
+        pending.clear(slot);
+        done.set(slot);
+    }
+
+    /**
+     * Counts the tasks which are done, or which are not done.
+     *
+     * @param isDone Whether the tasks to be counted are done.
+     * @return The number of tasks with the specified status.
+     */
+    public int count(boolean isDone) {
+        return (isDone ? done : pending).cardinality();
+    }
+
+    /**
+     * Returns the slots of the tasks which are done, or which are not done, in increasing order of slot.
+     *
+     * @param isDone Whether the tasks to be returned are done.
+     * @return The slots of the tasks with the specified status.
+     */
+    public IntList getSlots(boolean isDone) {
+        BitSet slots = isDone ? done : pending;
+        IntList result = new IntList();
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            result.add(slot);
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,164 @@
+package chadbot.subfiles;
+
+import chadbot.task.TaskStore;
+
+/**
+ * The IdIndex class indexes the tasks in a task list by their persistent ID, so that a task can be found from its
+ * ID in O(1) expected time, wherever it currently is in the list. It is an open-addressing hash table from IDs to
+ * slots, kept in two parallel int arrays, which resolves collisions by linear probing and fills the gaps left by
+ * removed entries by shifting later entries back.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class IdIndex {
+    /** Slot returned for an ID which is not in the index. */
+    public static final int NO_SLOT = -1;
+
+    /** Key of an empty entry, which is never a valid ID. */
+    private static final int EMPTY = 0;
+
+    /** Initial number of entries, which is a power of two. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Store which holds the indexed tasks. */
+    private TaskStore store;
+
+    /** ID of each entry, or EMPTY. */
+    private int[] keys;
+
+    /** Slot of the task of each entry. */
+    private int[] slots;
+
+    /** Number of IDs in the index. */
+    private int size;
+
+    /**
+     * Default constructor for the IdIndex class.
+     *
+     * @param store Store which holds the indexed tasks.
+     */
+    public IdIndex(TaskStore store) {
+        this.store = store;
+        keys = new int[INITIAL_CAPACITY];
+        slots = new int[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Returns the entry which an ID hashes to, using Fibonacci hashing so that consecutive IDs are spread out.
+     *
+     * @param id The ID.
+     * @return The first entry to probe for the ID.
+     */
+    private int home(int id) {
+        return (id * 0x9E3779B9) >>> Integer.numberOfLeadingZeros(keys.length - 1);
+    }
+
+    /**
+     * Returns the entry following an entry, wrapping around at the end of the table.
+     *
+     * @param entry The entry.
+     * @return The next entry to probe.
+     */
+    private int next(int entry) {
+        return (entry + 1) & (keys.length - 1);
+    }
+
+    /**
+     * Returns the entry which holds an ID, or the empty entry where it would be inserted.
+     *
+     * @param id The ID.
+     * @return The entry which holds the ID, or an empty entry.
+     */
+    private int find(int id) {
+        int entry = home(id);
+        while (keys[entry] != EMPTY && keys[entry] != id) {
+            entry = next(entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Checks whether a task with an ID is in the index.
+     *
+     * @param id The ID.
+     * @return True if a task with the ID is in the index, and false otherwise.
+     */
+    public boolean contains(int id) {
+        return id != EMPTY && keys[find(id)] == id;
+    }
+
+    /**
+     * Returns the slot of the task with an ID.
+     *
+     * @param id The ID.
+     * @return The slot of the task with the ID, or NO_SLOT if there is none.
+     */
+    public int getSlot(int id) {
+        if (id == EMPTY) {
+            return NO_SLOT;
+        }
+        int entry = find(id);
+        return keys[entry] == id ? slots[entry] : NO_SLOT;
+    }
+
+    /**
+     * Indexes a task which was added to the task list, whose ID is not in the index yet.
+     *
+     * @param slot The slot of the task which was added.
+     */
+    public void add(int slot) {
+        int id = store.getId(slot);
+        assert(id != EMPTY && !contains(id));
+
+        if (2 * (size + 1) > keys.length) {
+            grow();
+        }
+        int entry = find(id);
+        keys[entry] = id;
+        slots[entry] = slot;
+        size++;
+    }
+
+    /**
+     * Removes a task which is about to be deleted from the task list from the index.
+     *
+     * @param slot The slot of the task which is being deleted.
+     */
+    public void remove(int slot) {
+        int entry = find(store.getId(slot));
+        assert(keys[entry] == store.getId(slot));
+
+        int gap = entry;
+        for (int i = next(gap); keys[i] != EMPTY; i = next(i)) {
+            int home = home(keys[i]);
+            boolean isReachable = gap <= i ? (home <= gap || home > i) : (home <= gap && home > i);
+            if (isReachable) {
+                keys[gap] = keys[i];
+                slots[gap] = slots[i];
+                gap = i;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+    }
+
+    /**
+     * Doubles the number of entries, and reinserts every ID.
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldSlots = slots;
+        keys = new int[oldKeys.length * 2];
+        slots = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int entry = find(oldKeys[i]);
+                keys[entry] = oldKeys[i];
+                slots[entry] = oldSlots[i];
+            }
+        }
+    }
+
+}
@@ -0,0 +1,260 @@
+package chadbot.subfiles;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * The InputTokens class splits a line of user input into the words separated by spaces in a single pass, recording
+ * only where each word starts and ends, so that commands can read their arguments in place instead of splitting
+ * the input again with regular expressions. Words are only copied into new Strings when they are asked for.
+ * An instance may be reset with a new line of input, reusing its arrays.
+ *
+ * <p>The first word following the keyword which starts with '/', such as "/by" in
+ * "deadline return book /by 2021-02-12", is the first parameter of the input.</p>
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class InputTokens {
+    /** The line of user input. */
+    private String input;
+
+    /** Position of the first character of each word. */
+    private int[] starts;
+
+    /** Position following the last character of each word. */
+    private int[] ends;
+
+    /** Number of words in the input. */
+    private int size;
+
+    /** Index of the word which is the first parameter, or -1 if the input has no parameter. */
+    private int parameter;
+
+    /**
+     * Default constructor for the InputTokens class.
+     *
+     * @param input The line of user input.
+     */
+    public InputTokens(String input) {
+        starts = new int[8];
+        ends = new int[8];
+        reset(input);
+    }
+
+    /**
+     * Splits a new line of user input, replacing the words of the previous one.
+     *
+     * @param input The line of user input.
+     */
+    public void reset(String input) {
+        assert(input != null);
+
+        this.input = input;
+        size = 0;
+        parameter = -1;
+        int position = 0;
+        while (position < input.length()) {
+            if (input.charAt(position) == ' ') {
+                position++;
+                continue;
+            }
+
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = position;
+            while (position < input.length() && input.charAt(position) != ' ') {
+                position++;
+            }
+            ends[size] = position;
+            if (parameter < 0 && size > 0 && input.charAt(starts[size]) == '/') {
+                parameter = size;
+            }
+            size++;
+        }
+    }
+
+    /**
+     * Returns the line of user input.
+     *
+     * @return The line of user input.
+     */
+    public String getInput() {
+        return input;
+    }
+
+    /**
+     * Returns the number of words in the input.
+     *
+     * @return The number of words in the input.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a word of the input.
+     *
+     * @param index The 0-based index of the word.
+     * @return The word.
+     * @throws IndexOutOfBoundsException If the input has no word at the specified index.
+     */
+    public String get(int index) {
+        Objects.checkIndex(index, size);
+        return input.substring(starts[index], ends[index]);
+    }
+
+    /**
+     * Returns the position of the first character of a word in the input.
+     *
+     * @param index The 0-based index of the word.
+     * @return The position of the first character of the word.
+     * @throws IndexOutOfBoundsException If the input has no word at the specified index.
+     */
+    public int getStart(int index) {
+        Objects.checkIndex(index, size);
+        return starts[index];
+    }
+
+    /**
+     * Returns the position following the last character of a word in the input.
+     *
+     * @param index The 0-based index of the word.
+     * @return The position following the last character of the word.
+     * @throws IndexOutOfBoundsException If the input has no word at the specified index.
+     */
+    public int getEnd(int index) {
+        Objects.checkIndex(index, size);
+        return ends[index];
+    }
+
+    /**
+     * Returns the input from the start of a word to the end of the input, keeping the spaces within it.
+     *
+     * @param index The 0-based index of the word.
+     * @return The rest of the input from the word, or an empty String if the input has no word at that index.
+     */
+    public String getRest(int index) {
+        return index < size ? input.substring(starts[index]) : "";
+    }
+
+    /**
+     * Checks whether a word of the input consists of the specified text, without copying the word.
+     *
+     * @param index The 0-based index of the word.
+     * @param text The text.
+     * @return True if the input has a word at the specified index which consists of the text, and false otherwise.
+     */
+    public boolean matches(int index, String text) {
+        return index < size && ends[index] - starts[index] == text.length()
+                && input.startsWith(text, starts[index]);
+    }
+
+    /**
+     * Returns the first character of a word of the input.
+     *
+     * @param index The 0-based index of the word.
+     * @return The first character of the word.
+     * @throws IndexOutOfBoundsException If the input has no word at the specified index.
+     */
+    public char firstCharOf(int index) {
+        return input.charAt(getStart(index));
+    }
+
+    /**
+     * Parses a word of the input as a decimal integer, without copying the word.
+     *
+     * @param index The 0-based index of the word.
+     * @return The value of the word.
+     * @throws NumberFormatException If the word is not a decimal integer.
+     * @throws IndexOutOfBoundsException If the input has no word at the specified index.
+     */
+    public int parseInt(int index) {
+        return Integer.parseInt(input, getStart(index), ends[index], 10);
+    }
+
+    /**
+     * Parses part of a text as a non-negative decimal integer, without throwing an exception if it is not one.
+     *
+     * @param s The text.
+     * @param start Position of the first digit.
+     * @param end Position following the last digit.
+     * @return The value of the digits, or -1 if that part of the text is empty, contains a character which is not
+     *         a digit, or has more digits than fit in an int.
+     */
+    public static int parseNumber(CharSequence s, int start, int end) {
+        int maxDigits = 9;
+        if (start >= end || end - start > maxDigits) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Returns the position of the first occurrence of a character within part of the input.
+     *
+     * @param c The character.
+     * @param from Position to start searching from.
+     * @param to Position to stop searching at.
+     * @return The position of the character, or -1 if it does not occur within that part of the input.
+     */
+    public int indexOf(char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (input.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether the input has a parameter.
+     *
+     * @return True if a word following the keyword starts with '/', and false otherwise.
+     */
+    public boolean hasParameter() {
+        return parameter >= 0;
+    }
+
+    /**
+     * Returns the index of the word which is the first parameter.
+     *
+     * @return The index of the first word following the keyword which starts with '/', or -1 if there is none.
+     */
+    public int getParameterIndex() {
+        return parameter;
+    }
+
+    /**
+     * Returns the input from a position up to the first parameter, excluding the space preceding it.
+     *
+     * @param from Position to start from.
+     * @return The input from the position up to the first parameter, or to the end of the input if it has none.
+     * @throws StringIndexOutOfBoundsException If the position is beyond the end of that part of the input.
+     */
+    public String getTextBeforeParameter(int from) {
+        return input.substring(from, parameter < 0 ? input.length() : starts[parameter] - 1);
+    }
+
+    /**
+     * Returns the value of the first parameter, which is the rest of the input following its name.
+     *
+     * @return The value of the first parameter, or an empty String if it has no value.
+     */
+    public String getParameterValue() {
+        assert(hasParameter());
+        return ends[parameter] < input.length() ? input.substring(ends[parameter] + 1) : "";
+    }
+
+}
@@ -0,0 +1,103 @@
+package chadbot.subfiles;
+
+import java.util.Arrays;
+
+/**
+ * The IntList class is a growable list of ints, which avoids boxing every element as an ArrayList would.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class IntList {
+    /** Elements of the list, followed by unused space. */
+    private int[] elements;
+
+    /** Number of elements in the list. */
+    private int size;
+
+    /**
+     * Default constructor for the IntList class, which creates an empty list.
+     */
+    public IntList() {
+        elements = new int[4];
+    }
+
+    /**
+     * Returns the number of elements in the list.
+     *
+     * @return The number of elements in the list.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the list contains no elements.
+     *
+     * @return True if the list contains no elements, and false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the element at a position.
+     *
+     * @param index The 0-based position of the element.
+     * @return The element at the position.
+     */
+    public int get(int index) {
+        assert(index >= 0 && index < size);
+        return elements[index];
+    }
+
+    /**
+     * Appends an element to the end of the list.
+     *
+     * @param value The element to be appended.
+     */
+    public void add(int value) {
+        add(size, value);
+    }
+
+    /**
+     * Inserts an element at a position, shifting the following elements.
+     *
+     * @param index The 0-based position which the element is inserted at.
+     * @param value The element to be inserted.
+     */
+    public void add(int index, int value) {
+        assert(index >= 0 && index <= size);
+        if (size == elements.length) {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    /**
+     * Removes the element at a position, shifting the following elements.
+     *
+     * @param index The 0-based position of the element.
+     * @return The element which was removed.
+     */
+    public int remove(int index) {
+        assert(index >= 0 && index < size);
+        int value = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return value;
+    }
+
+    /**
+     * Returns the elements of the list as an array.
+     *
+     * @return A new array containing the elements of the list.
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+}
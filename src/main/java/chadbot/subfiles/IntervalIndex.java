@@ -0,0 +1,296 @@
+package chadbot.subfiles;
+
+import java.util.Arrays;
+
+import chadbot.task.Event;
+import chadbot.task.TaskStore;
+
+/**
+ * The IntervalIndex class indexes the pending events in a task list which are held at a specific time by the
+ * interval of time they take up, so that the events overlapping a window of time can be found in O(log n + k)
+ * expected time, without checking every event. It is an interval tree, built as a treap ordered by the start of
+ * each interval, in which every node also holds the latest end within its subtree, so that subtrees which end
+ * before a window are skipped. Each event is its own node, so the nodes are kept in arrays indexed by slot.
+ *
+ * <p>Times are in epoch minutes, which are the number of minutes since the start of 1970-01-01, and intervals
+ * include their start but not their end.</p>
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class IntervalIndex {
+    /** Node which marks an empty subtree. */
+    private static final int NIL = -1;
+
+    /** Store which holds the indexed events. */
+    private TaskStore store;
+
+    /** Root of the treap, or NIL if no event is indexed. */
+    private int root = NIL;
+
+    /** Start of the interval of each node. */
+    private long[] starts;
+
+    /** End of the interval of each node. */
+    private long[] ends;
+
+    /** Latest end of any interval within the subtree of each node. */
+    private long[] maxEnds;
+
+    /** Left child of each node. */
+    private int[] lefts;
+
+    /** Right child of each node. */
+    private int[] rights;
+
+    /** Heap priority of each node, which keeps the treap balanced in expectation. */
+    private int[] priorities;
+
+    /** Indicates whether each slot is indexed. */
+    private boolean[] isIndexed;
+
+    /** State of the generator of priorities. */
+    private int seed = 0x2103;
+
+    /** Left part produced by the last split. */
+    private int splitLeft;
+
+    /** Right part produced by the last split. */
+    private int splitRight;
+
+    /**
+     * Default constructor for the IntervalIndex class.
+     *
+     * @param store Store which holds the indexed events.
+     */
+    public IntervalIndex(TaskStore store) {
+        this.store = store;
+        int capacity = 16;
+        starts = new long[capacity];
+        ends = new long[capacity];
+        maxEnds = new long[capacity];
+        lefts = new int[capacity];
+        rights = new int[capacity];
+        priorities = new int[capacity];
+        isIndexed = new boolean[capacity];
+    }
+
+    /**
+     * Returns the time at which an event starts.
+     *
+     * @param store The store which holds the event.
+     * @param slot The slot of the event.
+     * @return The start of the event, in epoch minutes.
+     */
+    public static long startOf(TaskStore store, int slot) {
+        return (long) store.getEpochDay(slot) * Event.MINUTES_PER_DAY + store.getStartMinute(slot);
+    }
+
+    /**
+     * Indexes a task which was added to the task list, if it is a pending event held at a specific time.
+     *
+     * @param slot The slot of the task which was added.
+     */
+    public void add(int slot) {
+        if (store.getType(slot) != TaskStore.EVENT || store.isDone(slot) || store.getDuration(slot) == Event.ALL_DAY) {
+            return;
+        }
+
+        if (slot >= isIndexed.length) {
+            grow(slot + 1);
+        }
+        starts[slot] = startOf(store, slot);
+        ends[slot] = starts[slot] + store.getDuration(slot);
+        lefts[slot] = NIL;
+        rights[slot] = NIL;
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        priorities[slot] = seed;
+        update(slot);
+        isIndexed[slot] = true;
+
+        split(root, starts[slot], slot);
+        root = merge(merge(splitLeft, slot), splitRight);
+    }
+
+    /**
+     * Removes a task which is about to be deleted from the task list from the index, if it is indexed.
+     * The task is removed using the interval it was indexed with, so this may also be called after its time
+     * was modified.
+     *
+     * @param slot The slot of the task which is being deleted.
+     */
+    public void remove(int slot) {
+        if (slot >= isIndexed.length || !isIndexed[slot]) {
+            return;
+        }
+
+        split(root, starts[slot], slot);
+        int left = splitLeft;
+        split(splitRight, starts[slot], slot + 1);
+        assert(splitLeft == slot);
+        root = merge(left, splitRight);
+        isIndexed[slot] = false;
+    }
+
+    /**
+     * Moves a task whose date or time was modified to its new interval.
+     *
+     * @param slot The slot of the task whose date or time was modified.
+     */
+    public void move(int slot) {
+        remove(slot);
+        add(slot);
+    }
+
+    /**
+     * Returns the indexed events which overlap a window of time.
+     *
+     * @param from The start of the window, in epoch minutes.
+     * @param to The end of the window, in epoch minutes.
+     * @return The slots of the events overlapping the window, ordered by their start.
+     */
+    public IntList getOverlapping(long from, long to) {
+        IntList overlapping = new IntList();
+        collect(root, from, to, overlapping);
+        return overlapping;
+    }
+
+    /**
+     * Returns the start of the interval which an event was indexed with.
+     *
+     * @param slot The slot of the indexed event.
+     * @return The start of the event, in epoch minutes.
+     */
+    public long getStart(int slot) {
+        return starts[slot];
+    }
+
+    /**
+     * Returns the end of the interval which an event was indexed with.
+     *
+     * @param slot The slot of the indexed event.
+     * @return The end of the event, in epoch minutes.
+     */
+    public long getEnd(int slot) {
+        return ends[slot];
+    }
+
+    /**
+     * Adds the events within a subtree which overlap a window of time, in order of their start.
+     *
+     * @param node The root of the subtree.
+     * @param from The start of the window, in epoch minutes.
+     * @param to The end of the window, in epoch minutes.
+     * @param overlapping The list which the slots of the overlapping events are added to.
+     */
+    private void collect(int node, long from, long to, IntList overlapping) {
+        if (node == NIL || maxEnds[node] <= from) {
+            return;
+        }
+
+        collect(lefts[node], from, to, overlapping);
+        if (starts[node] < to) {
+            if (ends[node] > from) {
+                overlapping.add(node);
+            }
+            collect(rights[node], from, to, overlapping);
+        }
+    }
+
+    /**
+     * Checks whether a node precedes a key in the order of the treap, which orders nodes by their start,
+     * followed by their slot.
+     *
+     * @param node The node.
+     * @param start The start of the key.
+     * @param slot The slot of the key.
+     * @return True if the node precedes the key, and false otherwise.
+     */
+    private boolean precedes(int node, long start, int slot) {
+        return starts[node] < start || (starts[node] == start && node < slot);
+    }
+
+    /**
+     * Splits a subtree into the nodes which precede a key, and the remaining nodes, which are stored in splitLeft
+     * and splitRight respectively.
+     *
+     * @param node The root of the subtree.
+     * @param start The start of the key.
+     * @param slot The slot of the key.
+     */
+    private void split(int node, long start, int slot) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+        } else if (precedes(node, start, slot)) {
+            split(rights[node], start, slot);
+            rights[node] = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            split(lefts[node], start, slot);
+            lefts[node] = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+    /**
+     * Merges two subtrees, where every node of the first precedes every node of the second.
+     *
+     * @param left The root of the first subtree.
+     * @param right The root of the second subtree.
+     * @return The root of the merged subtree.
+     */
+    private int merge(int left, int right) {
+        if (left == NIL) {
+            return right;
+        } else if (right == NIL) {
+            return left;
+        } else if (priorities[left] > priorities[right]) {
+            rights[left] = merge(rights[left], right);
+            update(left);
+            return left;
+        } else {
+            lefts[right] = merge(left, lefts[right]);
+            update(right);
+            return right;
+        }
+    }
+
+    /**
+     * Recomputes the latest end within the subtree of a node from its children.
+     *
+     * @param node The node.
+     */
+    private void update(int node) {
+        long maxEnd = ends[node];
+        if (lefts[node] != NIL) {
+            maxEnd = Math.max(maxEnd, maxEnds[lefts[node]]);
+        }
+        if (rights[node] != NIL) {
+            maxEnd = Math.max(maxEnd, maxEnds[rights[node]]);
+        }
+        maxEnds[node] = maxEnd;
+    }
+
+    /**
+     * Makes space for the nodes of at least the specified number of slots.
+     *
+     * @param slots The number of slots.
+     */
+    private void grow(int slots) {
+        int capacity = Math.max(slots, isIndexed.length * 2);
+        starts = Arrays.copyOf(starts, capacity);
+        ends = Arrays.copyOf(ends, capacity);
+        maxEnds = Arrays.copyOf(maxEnds, capacity);
+        lefts = Arrays.copyOf(lefts, capacity);
+        rights = Arrays.copyOf(rights, capacity);
+        priorities = Arrays.copyOf(priorities, capacity);
+        isIndexed = Arrays.copyOf(isIndexed, capacity);
+    }
+
+}
@@ -0,0 +1,392 @@
+package chadbot.subfiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import chadbot.task.Task;
+
+/**
+ * The Journal class is an append-only write-ahead log of the changes made to a TaskList since the last snapshot
+ * of the save file was written. Records appended during a command are committed together with a single write,
+ * while the more expensive fsync is batched across several commits. A commit which is not forced to disk by a later
+ * commit is forced by a background thread once the sync interval has passed, so that it is durable even if no
+ * further command is run.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class Journal implements Runnable {
+    /** Separator used between the fields of a journal record. */
+    static final String SEPARATOR = " | ";
+
+    /** Number of commits after which the journal is forced to disk. */
+    private static final int DEFAULT_SYNC_BATCH = 16;
+
+    /** Maximum number of milliseconds a commit may remain unforced. */
+    private static final long DEFAULT_SYNC_INTERVAL = 200;
+
+    /** Tag of the header record, which identifies the snapshot that the journal applies to. */
+    private static final String HEADER = "base";
+
+    /** The file which the journal is written to. */
+    private File file;
+
+    /** Channel used to append to the journal file. */
+    private FileChannel channel;
+
+    /** Records which have been appended but not yet committed. */
+    private StringBuilder pending;
+
+    /** Number of commits written since the journal was last forced to disk. */
+    private int unsyncedCommits;
+
+    /** Time at which the journal was last forced to disk. */
+    private long lastSync;
+
+    /** Number of commits after which the journal is forced to disk. */
+    private int syncBatch;
+
+    /** Maximum number of milliseconds a commit may remain unforced. */
+    private long syncInterval;
+
+    /** Background thread which forces unforced commits to disk, or null if it has not been needed yet. */
+    private Thread syncer;
+
+    /** Indicates whether the journal has been closed. */
+    private boolean isClosed;
+
+    /**
+     * Default constructor for the Journal class.
+     *
+     * @param file The file which the journal is written to.
+     */
+    public Journal(File file) {
+        this(file, DEFAULT_SYNC_BATCH, DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * Constructor for the Journal class which allows the fsync batching to be configured.
+     *
+     * @param file The file which the journal is written to.
+     * @param syncBatch Number of commits after which the journal is forced to disk.
+     * @param syncInterval Maximum number of milliseconds a commit may remain unforced.
+     */
+    public Journal(File file, int syncBatch, long syncInterval) {
+        assert(file != null && syncBatch > 0 && syncInterval >= 0);
+
+        this.file = file;
+        this.syncBatch = syncBatch;
+        this.syncInterval = syncInterval;
+        pending = new StringBuilder();
+    }
+
+    /**
+     * Returns the journal record for the addition of a task to the end of the list.
+     *
+     * @param task The task which was added.
+     * @return The journal record for the addition.
+     */
+    public static String addRecord(Task task) {
+        return "add" + SEPARATOR + Storage.encodeTask(task);
+    }
+
+    /**
+     * Returns the journal record for the marking of a task as done.
+     *
+     * @param index The 0-based index of the task in the list.
+     * @return The journal record for the marking of the task as done.
+     */
+    public static String doneRecord(int index) {
+        return "done" + SEPARATOR + index;
+    }
+
+    /**
+     * Returns the journal record for the marking of several tasks as done at once.
+     *
+     * @param indices The 0-based indices of the tasks in the list, in increasing order.
+     * @return The journal record for the marking of the tasks as done.
+     */
+    public static String doneRecord(int[] indices) {
+        return "done" + SEPARATOR + encodeIndices(indices);
+    }
+
+    /**
+     * Returns the journal record for the deletion of a task.
+     *
+     * @param index The 0-based index of the task in the list.
+     * @return The journal record for the deletion.
+     */
+    public static String deleteRecord(int index) {
+        return "delete" + SEPARATOR + index;
+    }
+
+    /**
+     * Returns the journal record for the deletion of several tasks at once.
+     *
+     * @param indices The 0-based indices of the tasks in the list before the deletion, in increasing order.
+     * @return The journal record for the deletion.
+     */
+    public static String deleteRecord(int[] indices) {
+        return "delete" + SEPARATOR + encodeIndices(indices);
+    }
+
+    /**
+     * Returns the journal record for the modification of the description of a task. The description is escaped,
+     * so that it never contains the separator.
+     *
+     * @param index The 0-based index of the task in the list.
+     * @param description The new description of the task.
+     * @return The journal record for the modification.
+     */
+    public static String descriptionRecord(int index, String description) {
+        return "desc" + SEPARATOR + index + SEPARATOR + Storage.escape(description);
+    }
+
+    /**
+     * Returns the journal record for the modification of the date of a deadline or event.
+     *
+     * @param index The 0-based index of the task in the list.
+     * @param date The new date of the task, in the format YYYY-MM-DD.
+     * @return The journal record for the modification.
+     */
+    public static String dateRecord(int index, String date) {
+        return "date" + SEPARATOR + index + SEPARATOR + date;
+    }
+
+    /**
+     * Returns the journal record for the sorting of the list.
+     *
+     * @param order The ordering used, which is either "name", "type", or "date".
+     * @return The journal record for the sorting.
+     */
+    public static String sortRecord(String order) {
+        return "sort" + SEPARATOR + order;
+    }
+
+    /**
+     * Encodes increasing indices compactly, as a comma-separated list in which runs of consecutive indices are
+     * written as ranges, such as "2,4,8-199".
+     *
+     * @param indices The indices, in increasing order.
+     * @return The encoded indices.
+     */
+    static String encodeIndices(int[] indices) {
+        StringBuilder encoded = new StringBuilder();
+        int i = 0;
+        while (i < indices.length) {
+            int j = i;
+            while (j + 1 < indices.length && indices[j + 1] == indices[j] + 1) {
+                j++;
+            }
+            if (i > 0) {
+                encoded.append(',');
+            }
+            encoded.append(indices[i]);
+            if (j > i) {
+                encoded.append('-').append(indices[j]);
+            }
+            i = j + 1;
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Decodes indices which were encoded by encodeIndices. A single index is decoded as itself.
+     *
+     * @param encoded The encoded indices.
+     * @return The indices, in increasing order.
+     * @throws NumberFormatException If the indices are incorrectly encoded.
+     */
+    static int[] decodeIndices(String encoded) throws NumberFormatException {
+        IntList indices = new IntList();
+        for (String part : encoded.split(",")) {
+            int dash = part.indexOf('-');
+            int from = Integer.parseInt(dash < 0 ? part : part.substring(0, dash));
+            int to = dash < 0 ? from : Integer.parseInt(part.substring(dash + 1));
+            if (to < from || (!indices.isEmpty() && from <= indices.get(indices.size() - 1))) {
+                throw new NumberFormatException("Indices out of order: " + encoded);
+            }
+            for (int i = from; i <= to; i++) {
+                indices.add(i);
+            }
+        }
+        return indices.toArray();
+    }
+
+    /**
+     * Appends a record to the journal. The record is only written to the journal file on the next commit.
+     *
+     * @param record The record to be appended.
+     */
+    public synchronized void append(String record) {
+        assert(record.indexOf('\n') < 0);
+
+        pending.append(record).append('\n');
+    }
+
+    /**
+     * Writes all records appended since the last commit to the journal file with a single write.
+     * The journal file is forced to disk once enough commits have accumulated, or enough time has passed.
+     * Otherwise, the background thread forces it to disk once the sync interval has passed.
+     *
+     * @throws IOException If the journal file could not be written to.
+     */
+    public synchronized void commit() throws IOException {
+        if (pending.length() == 0) {
+            return;
+        }
+
+        ensureOpen();
+        ByteBuffer buffer = ByteBuffer.wrap(pending.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        pending.setLength(0);
+        unsyncedCommits++;
+
+        if (unsyncedCommits >= syncBatch || System.currentTimeMillis() - lastSync >= syncInterval) {
+            sync();
+        } else if (syncer == null) {
+            syncer = new Thread(this, "chadbot-journal");
+            syncer.setDaemon(true);
+            syncer.start();
+        } else {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Forces commits to disk once they have remained unforced for the sync interval, until the journal is closed.
+     */
+    @Override
+    public synchronized void run() {
+        try {
+            while (!isClosed) {
+                long delay = lastSync + syncInterval - System.currentTimeMillis();
+                if (unsyncedCommits == 0) {
+                    wait();
+                } else if (delay > 0) {
+                    wait(delay);
+                } else {
+                    syncQuietly();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Forces all committed records to disk on the background thread. If they could not be forced, this is
+     * retried once the sync interval has passed again.
+     */
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            lastSync = System.currentTimeMillis();
+            System.out.println("Something went wrong during the saving of your changes.");
+        }
+    }
+
+    /**
+     * Forces all committed records to disk.
+     *
+     * @throws IOException If the journal file could not be forced to disk.
+     */
+    public synchronized void sync() throws IOException {
+        if (channel != null && unsyncedCommits > 0) {
+            channel.force(false);
+        }
+        unsyncedCommits = 0;
+        lastSync = System.currentTimeMillis();
+    }
+
+    /**
+     * Discards the contents of the journal, and starts a new journal on top of the specified snapshot.
+     *
+     * @param snapshotChecksum The checksum of the snapshot which the new journal applies to.
+     * @throws IOException If the journal file could not be written to.
+     */
+    public synchronized void reset(long snapshotChecksum) throws IOException {
+        ensureOpen();
+        pending.setLength(0);
+        channel.truncate(0);
+
+        String header = HEADER + SEPARATOR + Long.toHexString(snapshotChecksum) + "\n";
+        channel.write(ByteBuffer.wrap(header.getBytes(StandardCharsets.UTF_8)));
+        channel.force(true);
+        unsyncedCommits = 0;
+        lastSync = System.currentTimeMillis();
+    }
+
+    /**
+     * Returns the records in the journal file, provided that the journal applies to the specified snapshot.
+     * A record which was only partially written before a crash is ignored.
+     *
+     * @param snapshotChecksum The checksum of the snapshot which was loaded.
+     * @return The records in the journal file, or an empty list if the journal does not apply to the snapshot.
+     * @throws IOException If the journal file could not be read.
+     */
+    public List<String> readRecords(long snapshotChecksum) throws IOException {
+        List<String> records = new ArrayList<>();
+        if (!file.exists()) {
+            return records;
+        }
+
+        String contents = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        int end = contents.lastIndexOf('\n');
+        if (end < 0) {
+            return records;
+        }
+
+        String[] lines = contents.substring(0, end).split("\n");
+        String header = HEADER + SEPARATOR + Long.toHexString(snapshotChecksum);
+        if (!lines[0].equals(header)) {
+            return records;
+        }
+
+        for (int i = 1; i < lines.length; i++) {
+            records.add(lines[i]);
+        }
+        return records;
+    }
+
+    /**
+     * Commits any pending records, forces them to disk, and closes the journal file, which stops the background
+     * thread.
+     *
+     * @throws IOException If the journal file could not be written to.
+     */
+    public synchronized void close() throws IOException {
+        commit();
+        sync();
+        isClosed = true;
+        notifyAll();
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Opens the journal file for appending, if it has not already been opened.
+     *
+     * @throws IOException If the journal file could not be opened.
+     */
+    private void ensureOpen() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+        }
+    }
+
+}
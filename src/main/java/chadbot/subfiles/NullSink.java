@@ -0,0 +1,31 @@
+package chadbot.subfiles;
+
+/**
+ * The NullSink class is an output sink which discards every message, used by the GUI, which displays the responses
+ * returned by commands itself, and by scripts whose output is not wanted.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class NullSink extends OutputSink {
+    /**
+     * Discards a message.
+     *
+     * @param s The message.
+     */
+    @Override
+    public void print(String s) {
+    }
+
+    /**
+     * Checks whether the sink discards every message.
+     *
+     * @return True, since every message is discarded.
+     */
+    @Override
+    public boolean isDiscarding() {
+        return true;
+    }
+
+}
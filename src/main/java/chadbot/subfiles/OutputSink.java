@@ -0,0 +1,55 @@
+package chadbot.subfiles;
+
+import java.io.Writer;
+
+/**
+ * The OutputSink class is the destination of every message which the Ui displays to the user, such as the responses
+ * to commands. Commands and the task list only return their responses, and never write them anywhere themselves,
+ * so the sink alone decides whether they are written to the console, discarded, or written on another thread.
+ * The methods of a sink may be called from any thread.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public abstract class OutputSink {
+    /**
+     * Displays a message, followed by a line separator.
+     *
+     * @param s The message.
+     */
+    public abstract void print(String s);
+
+    /**
+     * Checks whether the sink discards every message, in which case responses need not be rendered.
+     *
+     * @return True if the sink discards every message, and false otherwise.
+     */
+    public boolean isDiscarding() {
+        return false;
+    }
+
+    /**
+     * Returns a writer which long responses, such as the list of tasks, may be streamed to instead of being built
+     * as a single String.
+     *
+     * @return The writer, or null if long responses are not streamed by this sink.
+     */
+    public Writer getWriter() {
+        return null;
+    }
+
+    /**
+     * Waits until every message displayed so far has been written to its destination.
+     */
+    public void flush() {
+    }
+
+    /**
+     * Writes every message displayed so far, and releases the sink. Nothing is displayed once it is closed.
+     */
+    public void close() {
+        flush();
+    }
+
+}
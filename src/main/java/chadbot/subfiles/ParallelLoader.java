@@ -0,0 +1,182 @@
+package chadbot.subfiles;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import chadbot.exceptions.DateFormatException;
+import chadbot.exceptions.LoadFailureException;
+import chadbot.task.Task;
+
+/**
+ * The ParallelLoader class parses the contents of a text save file into tasks using several threads.
+ * The contents are split into chunks whose boundaries are aligned on line breaks, each chunk is parsed on a
+ * fork-join pool, and the parsed tasks are then added to the task list in the order they appear in the file.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class ParallelLoader {
+    /** Minimum size of a chunk, in bytes. Files smaller than this are parsed on the calling thread. */
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+
+    /** Number of chunks created per available thread, which evens out chunks which parse slower than others. */
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    /** Pool which the chunks are parsed on. */
+    private ForkJoinPool pool;
+
+    /**
+     * Default constructor for the ParallelLoader class, which parses chunks on the common fork-join pool.
+     */
+    public ParallelLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor for the ParallelLoader class, which parses chunks on the specified fork-join pool.
+     *
+     * @param pool The pool which the chunks are parsed on.
+     */
+    public ParallelLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Parses the contents of a text save file, and adds the tasks to the end of the task list in file order.
+     * As with loading the file line by line, the tasks preceding the first invalid line are added before the
+     * corresponding exception is thrown.
+     *
+     * @param contents The contents of the save file.
+     * @param charset The charset which the save file is encoded in.
+     * @param taskList The list of tasks which the tasks are added to.
+     * @throws DateFormatException If a date in the save file is incorrectly formatted.
+     * @throws LoadFailureException If a line in the save file is not a valid task.
+     */
+    public void load(byte[] contents, Charset charset, TaskList taskList) throws DateFormatException,
+            LoadFailureException {
+        List<Chunk> chunks = split(contents, charset);
+        if (chunks.size() == 1) {
+            chunks.get(0).compute();
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    ForkJoinTask.invokeAll(chunks);
+                }
+            });
+        }
+
+        for (Chunk chunk : chunks) {
+            taskList.reserveIds(chunk.nextId);
+            taskList.addTasks(chunk.tasks);
+            if (chunk.error instanceof DateFormatException) {
+                throw (DateFormatException) chunk.error;
+            } else if (chunk.error instanceof LoadFailureException) {
+                throw (LoadFailureException) chunk.error;
+            }
+        }
+    }
+
+    /**
+     * Splits the contents of a save file into chunks, each of which starts at the beginning of a line.
+     *
+     * @param contents The contents of the save file.
+     * @param charset The charset which the save file is encoded in.
+     * @return The chunks, in file order.
+     */
+    private List<Chunk> split(byte[] contents, Charset charset) {
+        int threads = pool.getParallelism() * CHUNKS_PER_THREAD;
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, contents.length / threads + 1);
+        List<Chunk> chunks = new ArrayList<>();
+
+        int start = 0;
+        while (start < contents.length) {
+            int end = Math.min(contents.length, start + chunkSize);
+            while (end < contents.length && contents[end - 1] != '\n') {
+                end++;
+            }
+            chunks.add(new Chunk(contents, start, end, charset));
+            start = end;
+        }
+
+        if (chunks.isEmpty()) {
+            chunks.add(new Chunk(contents, 0, 0, charset));
+        }
+        return chunks;
+    }
+
+    /**
+     * The Chunk class is a range of lines in a save file, which is parsed into tasks independently of the others.
+     * Chunks are never serialized, although RecursiveAction is Serializable.
+     */
+    @SuppressWarnings("serial")
+    private static class Chunk extends RecursiveAction {
+        /** The contents of the save file. */
+        private byte[] contents;
+
+        /** Position of the first byte of the chunk. */
+        private int start;
+
+        /** Position following the last byte of the chunk. */
+        private int end;
+
+        /** The charset which the save file is encoded in. */
+        private Charset charset;
+
+        /** Tasks parsed from the chunk, up to the first invalid line. */
+        private ArrayList<Task> tasks;
+
+        /** Highest next ID recorded in the chunk, or 0 if it records none. */
+        private int nextId;
+
+        /** The exception caused by the first invalid line in the chunk, or null if every line is valid. */
+        private Exception error;
+
+        /**
+         * Default constructor for the Chunk class.
+         *
+         * @param contents The contents of the save file.
+         * @param start Position of the first byte of the chunk.
+         * @param end Position following the last byte of the chunk.
+         * @param charset The charset which the save file is encoded in.
+         */
+        Chunk(byte[] contents, int start, int end, Charset charset) {
+            this.contents = contents;
+            this.start = start;
+            this.end = end;
+            this.charset = charset;
+            tasks = new ArrayList<>();
+        }
+
+        /**
+         * Parses the lines in the chunk, stopping at the first invalid line.
+         */
+        @Override
+        protected void compute() {
+            RecordParser parser = new RecordParser(charset.decode(ByteBuffer.wrap(contents, start, end - start)));
+            while (parser.hasNextLine()) {
+                switch (parser.parseLine()) {
+                case RecordParser.VALID:
+                    tasks.add(parser.toTask());
+                    break;
+                case RecordParser.NEXT_ID:
+                    nextId = Math.max(nextId, parser.getNextId());
+                    break;
+                case RecordParser.INVALID_DATE:
+                    error = new DateFormatException();
+                    return;
+                default:
+                    error = new LoadFailureException();
+                    return;
+                }
+            }
+        }
+    }
+
+}
@@ -1,5 +1,7 @@
 package chadbot.subfiles;
 
+import java.util.function.Function;
+
 import chadbot.command.AddCommand;
 import chadbot.command.Command;
 import chadbot.command.DeleteCommand;
@@ -9,50 +11,108 @@ import chadbot.command.ExitCommand;
 import chadbot.command.FindCommand;
 import chadbot.command.HelpCommand;
 import chadbot.command.PrintCommand;
+import chadbot.command.QueryCommand;
+import chadbot.command.ScheduleCommand;
 import chadbot.command.SortCommand;
 import chadbot.command.StatsCommand;
+import chadbot.command.UpcomingCommand;
 
 /**
- * The Parser class parses the user input as a Command.
+ * The Parser class parses the user input as a Command. The input is split into words once, and the keyword is
+ * looked up in a table of commands grouped by their first character, so that it is never copied into a new String.
  *
  * @author  arsatis
  * @version 1.1
  * @since   2021-01-26
  */
 public class Parser {
+    /** Commands which are triggered by a keyword, grouped by the first character of their keyword. */
+    private static final Keyword[][] KEYWORDS = groupByFirstChar(
+            new Keyword("bye", tokens -> new ExitCommand()),
+            new Keyword("list", PrintCommand::new),
+            new Keyword("find", FindCommand::new),
+            new Keyword("query", QueryCommand::new),
+            new Keyword("upcoming", UpcomingCommand::new),
+            new Keyword("busy", ScheduleCommand::new),
+            new Keyword("free", ScheduleCommand::new),
+            new Keyword("done", DoneCommand::new),
+            new Keyword("edit", EditCommand::new),
+            new Keyword("delete", DeleteCommand::new),
+            new Keyword("sort", SortCommand::new),
+            new Keyword("help", HelpCommand::new),
+            new Keyword("stats", tokens -> new StatsCommand()));
 
     /**
-     * Parses the user input as either an ExitCommand, PrintCommand, FindCommand, DoneCommand,
-     * DeleteCommand, SortCommand, HelpCommand, or AddCommand, based on the user input.
+     * Parses the user input as either an ExitCommand, PrintCommand, FindCommand, QueryCommand, UpcomingCommand,
+     * ScheduleCommand, DoneCommand, EditCommand, DeleteCommand, SortCommand, HelpCommand, StatsCommand,
+     * or AddCommand, based on the user input.
      *
      * @param s The user input.
      * @return A Command, whose type is based on the user input.
      */
     public static Command parse(String s) {
-        String splitRegex = " ";
-        String[] sArray = s.split(splitRegex);
-
-        switch (sArray[0]) {
-        case "bye":
-            return new ExitCommand();
-        case "list":
-            return new PrintCommand(s);
-        case "find":
-            return new FindCommand(s);
-        case "done":
-            return new DoneCommand(s);
-        case "edit":
-            return new EditCommand(s);
-        case "delete":
-            return new DeleteCommand(s);
-        case "sort":
-            return new SortCommand(s);
-        case "help":
-            return new HelpCommand(s);
-        case "stats":
-            return new StatsCommand();
-        default:
-            return new AddCommand(s);
+        return parse(new InputTokens(s));
+    }
+
+    /**
+     * Parses user input which has been split into words as a Command, based on its first word.
+     *
+     * @param tokens The user input, split into words.
+     * @return A Command, whose type is based on the user input, which reads its arguments from the words.
+     */
+    public static Command parse(InputTokens tokens) {
+        if (tokens.size() > 0 && tokens.firstCharOf(0) < KEYWORDS.length && KEYWORDS[tokens.firstCharOf(0)] != null) {
+            for (Keyword keyword : KEYWORDS[tokens.firstCharOf(0)]) {
+                if (tokens.matches(0, keyword.text)) {
+                    return keyword.factory.apply(tokens);
+                }
+            }
+        }
+        return new AddCommand(tokens);
+    }
+
+    /**
+     * Groups keywords by their first character, which must be an ASCII character.
+     *
+     * @param keywords The keywords.
+     * @return The keywords starting with each character, indexed by the character, or null for a character
+     *         which no keyword starts with.
+     */
+    private static Keyword[][] groupByFirstChar(Keyword... keywords) {
+        Keyword[][] table = new Keyword[128][];
+        for (Keyword keyword : keywords) {
+            char first = keyword.text.charAt(0);
+            assert(first < table.length);
+
+            Keyword[] group = table[first] == null ? new Keyword[1] : new Keyword[table[first].length + 1];
+            if (table[first] != null) {
+                System.arraycopy(table[first], 0, group, 0, table[first].length);
+            }
+            group[group.length - 1] = keyword;
+            table[first] = group;
+        }
+        return table;
+    }
+
+    /**
+     * The Keyword class pairs the keyword of a command with the constructor of the command.
+     */
+    private static class Keyword {
+        /** The keyword, which is the first word of the user input. */
+        private String text;
+
+        /** Creates the command from the user input. */
+        private Function<InputTokens, Command> factory;
+
+        /**
+         * Default constructor for the Keyword class.
+         *
+         * @param text The keyword.
+         * @param factory Creates the command from the user input.
+         */
+        private Keyword(String text, Function<InputTokens, Command> factory) {
+            this.text = text;
+            this.factory = factory;
         }
     }
 
@@ -0,0 +1,274 @@
+package chadbot.subfiles;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import chadbot.exceptions.QueryFormatException;
+import chadbot.task.TaskStore;
+
+/**
+ * The Query class is a query over the tasks in a task list, made of terms such as "type:deadline", "done:false",
+ * "before:2025-01-01", "text:report", "sort:date" and "limit:20", all of which must hold for a task to match.
+ * A query is compiled into a pipeline of predicates over the slots of a store, in which the cheapest checks
+ * come first, and leaves the choice of which tasks to check to the QueryPlanner.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class Query {
+    /** Type filter which matches tasks of any type. */
+    public static final byte ANY_TYPE = -1;
+
+    /** Order of the results of a query which does not sort them, which is the order of the task list. */
+    public static final String LIST_ORDER = "list";
+
+    /** Type of the matching tasks, or ANY_TYPE. */
+    private byte type = ANY_TYPE;
+
+    /** Whether the matching tasks are done, or null if they may be either. */
+    private Boolean isDone;
+
+    /** First epoch day of the dates of the matching tasks. */
+    private int fromDay = Integer.MIN_VALUE;
+
+    /** Last epoch day of the dates of the matching tasks. */
+    private int toDay = Integer.MAX_VALUE;
+
+    /** Indicates whether the matching tasks must have a date within a range. */
+    private boolean hasDateRange;
+
+    /** Keywords which the descriptions of the matching tasks must contain, in lowercase. */
+    private List<String> keywords = new ArrayList<>();
+
+    /** Order of the results, which is "list", "date", "name" or "type". */
+    private String order = LIST_ORDER;
+
+    /** Maximum number of results. */
+    private int limit = Integer.MAX_VALUE;
+
+    /**
+     * Parses a query from the terms specified by the user, separated by spaces.
+     *
+     * @param terms The terms of the query.
+     * @return The parsed query.
+     * @throws QueryFormatException If a term is not understood, or has an invalid value.
+     */
+    public static Query parse(String terms) throws QueryFormatException {
+        Query query = new Query();
+        for (String term : terms.trim().split(" +")) {
+            if (!term.isEmpty()) {
+                query.addTerm(term);
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Adds a single term to the query.
+     *
+     * @param term The term, in the form of "key:value".
+     * @throws QueryFormatException If the term is not understood, or has an invalid value.
+     */
+    private void addTerm(String term) throws QueryFormatException {
+        int separator = term.indexOf(':');
+        if (separator <= 0 || separator == term.length() - 1) {
+            throw new QueryFormatException(term);
+        }
+        String key = term.substring(0, separator);
+        String value = term.substring(separator + 1);
+
+        try {
+            switch (key) {
+            case "type":
+                type = parseType(value, term);
+                break;
+            case "done":
+                if (!value.equals("true") && !value.equals("false")) {
+                    throw new QueryFormatException(term);
+                }
+                isDone = value.equals("true");
+                break;
+            case "before":
+                restrictDates(Integer.MIN_VALUE, parseDay(value) - 1);
+                break;
+            case "after":
+                restrictDates(parseDay(value) + 1, Integer.MAX_VALUE);
+                break;
+            case "on":
+                restrictDates(parseDay(value), parseDay(value));
+                break;
+            case "text":
+                keywords.add(value.toLowerCase());
+                break;
+            case "sort":
+                if (!value.equals("date") && !value.equals("name") && !value.equals("type")) {
+                    throw new QueryFormatException(term);
+                }
+                order = value;
+                break;
+            case "limit":
+                limit = Integer.parseInt(value);
+                if (limit <= 0) {
+                    throw new QueryFormatException(term);
+                }
+                break;
+            default:
+                throw new QueryFormatException(term);
+            }
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new QueryFormatException(term);
+        }
+    }
+
+    /**
+     * Parses the type of the tasks which a query matches.
+     *
+     * @param value The name of the type.
+     * @param term The term containing the type.
+     * @return The type of the task, as stored in a store.
+     * @throws QueryFormatException If the type is not the name of a type of task.
+     */
+    private static byte parseType(String value, String term) throws QueryFormatException {
+        switch (value) {
+        case "todo":
+            return TaskStore.TODO;
+        case "deadline":
+            return TaskStore.DEADLINE;
+        case "event":
+            return TaskStore.EVENT;
+        default:
+            throw new QueryFormatException(term);
+        }
+    }
+
+    /**
+     * Parses a date of a query as an epoch day.
+     *
+     * @param value The date, formatted as YYYY-MM-DD.
+     * @return The epoch day of the date.
+     * @throws DateTimeParseException If the date is incorrectly formatted, or too far from the present.
+     */
+    private static int parseDay(String value) throws DateTimeParseException {
+        LocalDate date = LocalDate.parse(value);
+        if (!TaskStore.isStorable(date)) {
+            throw new DateTimeParseException("Date out of range", value, 0);
+        }
+        return (int) date.toEpochDay();
+    }
+
+    /**
+     * Narrows the range of dates of the matching tasks to its intersection with another range.
+     *
+     * @param from The first epoch day of the other range.
+     * @param to The last epoch day of the other range.
+     */
+    private void restrictDates(int from, int to) {
+        fromDay = Math.max(fromDay, from);
+        toDay = Math.min(toDay, to);
+        hasDateRange = true;
+    }
+
+    /**
+     * Compiles the query into a predicate over the slots of a store, which checks the type and status of a task
+     * before its date, and its date before its description.
+     *
+     * @param store The store which holds the tasks.
+     * @return A predicate which holds for the slots of the matching tasks.
+     */
+    public IntPredicate toPredicate(TaskStore store) {
+        IntPredicate predicate = slot -> true;
+        if (type != ANY_TYPE) {
+            predicate = predicate.and(slot -> store.getType(slot) == type);
+        }
+        if (isDone != null) {
+            boolean status = isDone;
+            predicate = predicate.and(slot -> store.isDone(slot) == status);
+        }
+        if (hasDateRange) {
+            predicate = predicate.and(slot -> store.getType(slot) != TaskStore.TODO
+                    && store.getEpochDay(slot) >= fromDay && store.getEpochDay(slot) <= toDay);
+        }
+        for (String keyword : keywords) {
+            predicate = predicate.and(slot -> store.nameContains(slot, keyword));
+        }
+        return predicate;
+    }
+
+    /**
+     * Returns the type of the matching tasks.
+     *
+     * @return The type of the matching tasks, or ANY_TYPE if they may be of any type.
+     */
+    public byte getType() {
+        return type;
+    }
+
+    /**
+     * Returns whether the matching tasks are done.
+     *
+     * @return Whether the matching tasks are done, or null if they may be either.
+     */
+    public Boolean getDone() {
+        return isDone;
+    }
+
+    /**
+     * Checks whether the matching tasks must have a date within a range.
+     *
+     * @return True if the query restricts the dates of the tasks, and false otherwise.
+     */
+    public boolean hasDateRange() {
+        return hasDateRange;
+    }
+
+    /**
+     * Returns the first epoch day of the dates of the matching tasks.
+     *
+     * @return The first epoch day of the range of dates.
+     */
+    public int getFromDay() {
+        return fromDay;
+    }
+
+    /**
+     * Returns the last epoch day of the dates of the matching tasks.
+     *
+     * @return The last epoch day of the range of dates.
+     */
+    public int getToDay() {
+        return toDay;
+    }
+
+    /**
+     * Returns the keywords which the descriptions of the matching tasks must contain.
+     *
+     * @return The keywords, in lowercase, which must not be modified.
+     */
+    public List<String> getKeywords() {
+        return Collections.unmodifiableList(keywords);
+    }
+
+    /**
+     * Returns the order of the results.
+     *
+     * @return "list", "date", "name" or "type".
+     */
+    public String getOrder() {
+        return order;
+    }
+
+    /**
+     * Returns the maximum number of results.
+     *
+     * @return The maximum number of results.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+}
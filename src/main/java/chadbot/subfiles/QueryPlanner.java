@@ -0,0 +1,258 @@
+package chadbot.subfiles;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+import java.util.function.IntPredicate;
+
+import chadbot.task.TaskStore;
+
+/**
+ * The QueryPlanner class runs queries over a task list. For each query, it estimates from the indices how many
+ * tasks each way of finding the matching tasks would check, and picks the one which checks the fewest: a scan of
+ * the whole list, a lookup in the date index, a lookup of a keyword in the trigram index, or the tasks with the
+ * requested status. Only the candidates which it picks are checked against the rest of the query.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class QueryPlanner {
+    /** Plan which checks every task in the list. */
+    private static final int FULL_SCAN = 0;
+
+    /** Plan which checks the deadlines and events within the range of dates of the query. */
+    private static final int DATE_INDEX = 1;
+
+    /** Plan which checks the tasks whose description contains every trigram of a keyword. */
+    private static final int TEXT_INDEX = 2;
+
+    /** Plan which checks the tasks with the status requested by the query. */
+    private static final int DONE_INDEX = 3;
+
+    /** Mask which extracts the slot of a task from a key. */
+    private static final long SLOT_MASK = 0xFFFFFFFFL;
+
+    /** Store which holds the tasks. */
+    private TaskStore store;
+
+    /** Slots of the tasks in the task list, in order. */
+    private TaskSequence tasks;
+
+    /** Index of the deadlines and events in the task list by their date. */
+    private DateIndex dateIndex;
+
+    /** Index of the tasks in the task list by the trigrams in their description. */
+    private TrigramIndex nameIndex;
+
+    /** Index of the tasks in the task list by whether they are done. */
+    private DoneIndex doneIndex;
+
+    /** Statistics of the task list. */
+    private TaskStats stats;
+
+    /**
+     * Default constructor for the QueryPlanner class.
+     *
+     * @param store Store which holds the tasks.
+     * @param tasks Slots of the tasks in the task list, in order.
+     * @param dateIndex Index of the deadlines and events in the task list by their date.
+     * @param nameIndex Index of the tasks in the task list by the trigrams in their description.
+     * @param doneIndex Index of the tasks in the task list by whether they are done.
+     * @param stats Statistics of the task list.
+     */
+    QueryPlanner(TaskStore store, TaskSequence tasks, DateIndex dateIndex, TrigramIndex nameIndex,
+            DoneIndex doneIndex, TaskStats stats) {
+        this.store = store;
+        this.tasks = tasks;
+        this.dateIndex = dateIndex;
+        this.nameIndex = nameIndex;
+        this.doneIndex = doneIndex;
+        this.stats = stats;
+    }
+
+    /**
+     * Checks whether a query may match deadlines.
+     *
+     * @param query The query.
+     * @return True if the query matches tasks of any type, or only deadlines, and false otherwise.
+     */
+    private static boolean hasDeadlines(Query query) {
+        return query.getType() == Query.ANY_TYPE || query.getType() == TaskStore.DEADLINE;
+    }
+
+    /**
+     * Checks whether a query may match events.
+     *
+     * @param query The query.
+     * @return True if the query matches tasks of any type, or only events, and false otherwise.
+     */
+    private static boolean hasEvents(Query query) {
+        return query.getType() == Query.ANY_TYPE || query.getType() == TaskStore.EVENT;
+    }
+
+    /**
+     * Estimates the number of candidates from each source, and picks the one with the fewest.
+     *
+     * @param query The query.
+     * @return The plan for the query.
+     */
+    private Plan plan(Query query) {
+        Plan plan = new Plan();
+        plan.estimate = tasks.size();
+
+        if (query.hasDateRange()) {
+            plan.consider(DATE_INDEX, dateIndex.countSlotsBetween(query.getFromDay(), query.getToDay(),
+                    hasDeadlines(query), hasEvents(query)), null);
+        } else if (query.getType() != Query.ANY_TYPE && query.getType() != TaskStore.TODO) {
+            plan.consider(DATE_INDEX, stats.getTotal(query.getType()), null);
+        }
+        for (String keyword : query.getKeywords()) {
+            plan.consider(TEXT_INDEX, nameIndex.estimate(keyword), keyword);
+        }
+        if (query.getDone() != null) {
+            plan.consider(DONE_INDEX, doneIndex.count(query.getDone()), null);
+        }
+        return plan;
+    }
+
+    /**
+     * Describes how a query would be run, without running it.
+     *
+     * @param query The query.
+     * @return A description of the source of the candidates, and the estimated number of candidates.
+     */
+    public String explain(Query query) {
+        Plan plan = plan(query);
+        String candidates = " (" + plan.estimate + " of " + tasks.size() + " tasks)";
+        switch (plan.source) {
+        case DATE_INDEX:
+            return "date index" + candidates;
+        case TEXT_INDEX:
+            return "text index on \"" + plan.keyword + "\"" + candidates;
+        case DONE_INDEX:
+            return "done index" + candidates;
+        default:
+            return "full scan" + candidates;
+        }
+    }
+
+    /**
+     * Runs a query.
+     *
+     * @param query The query.
+     * @return The slots of the matching tasks, in the order requested by the query, up to its limit.
+     */
+    public int[] run(Query query) {
+        Plan plan = plan(query);
+        IntPredicate predicate = query.toPredicate(store);
+        boolean isListOrder = query.getOrder().equals(Query.LIST_ORDER);
+
+        IntList matches = new IntList();
+        switch (plan.source) {
+        case DATE_INDEX:
+            filter(dateIndex.getSlotsBetween(query.getFromDay(), query.getToDay(), hasDeadlines(query),
+                    hasEvents(query)), predicate, matches);
+            break;
+        case TEXT_INDEX:
+            filter(nameIndex.find(plan.keyword, tasks), predicate, matches);
+            break;
+        case DONE_INDEX:
+            filter(doneIndex.getSlots(query.getDone()), predicate, matches);
+            break;
+        default:
+            PrimitiveIterator.OfInt slots = tasks.iterator();
+            int limit = isListOrder ? query.getLimit() : Integer.MAX_VALUE;
+            while (slots.hasNext() && matches.size() < limit) {
+                int slot = slots.nextInt();
+                if (predicate.test(slot)) {
+                    matches.add(slot);
+                }
+            }
+            break;
+        }
+
+        int[] results = plan.source == FULL_SCAN || plan.source == TEXT_INDEX
+                ? matches.toArray()
+                : toListOrder(matches);
+        switch (query.getOrder()) {
+        case "date":
+            results = TaskSorter.sortByDate(results, store);
+            break;
+        case "name":
+            results = TaskSorter.sortByName(results, store);
+            break;
+        case "type":
+            results = TaskSorter.sortByType(results, store);
+            break;
+        default:
+            break;
+        }
+        return results.length > query.getLimit() ? Arrays.copyOf(results, query.getLimit()) : results;
+    }
+
+    /**
+     * Checks candidates against a query.
+     *
+     * @param candidates The slots of the candidates.
+     * @param predicate The compiled query.
+     * @param matches The list which the slots of the matching candidates are added to.
+     */
+    private static void filter(IntList candidates, IntPredicate predicate, IntList matches) {
+        for (int i = 0; i < candidates.size(); i++) {
+            if (predicate.test(candidates.get(i))) {
+                matches.add(candidates.get(i));
+            }
+        }
+    }
+
+    /**
+     * Orders tasks in the same way as the task list, using keys which pack the position of each task in the list
+     * above its slot.
+     *
+     * @param slots The slots of the tasks, in any order.
+     * @return The slots of the tasks, in the order of the task list.
+     */
+    private int[] toListOrder(IntList slots) {
+        long[] keys = new long[slots.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) tasks.indexOf(slots.get(i)) << 32) | slots.get(i);
+        }
+
+        Arrays.sort(keys);
+        int[] ordered = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ordered[i] = (int) (keys[i] & SLOT_MASK);
+        }
+        return ordered;
+    }
+
+    /**
+     * The Plan class describes how a query is run: where its candidates come from, and how many there are.
+     */
+    private static class Plan {
+        /** Source of the candidates, which is FULL_SCAN, DATE_INDEX, TEXT_INDEX or DONE_INDEX. */
+        private int source = FULL_SCAN;
+
+        /** Estimated number of candidates. */
+        private int estimate;
+
+        /** Keyword which is looked up, if the source is TEXT_INDEX. */
+        private String keyword;
+
+        /**
+         * Replaces the source of the candidates, if the new one yields fewer candidates.
+         *
+         * @param source The new source of the candidates.
+         * @param estimate The estimated number of candidates from the new source.
+         * @param keyword The keyword which is looked up, if the new source is TEXT_INDEX.
+         */
+        void consider(int source, int estimate, String keyword) {
+            if (estimate >= 0 && estimate < this.estimate) {
+                this.source = source;
+                this.estimate = estimate;
+                this.keyword = keyword;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,430 @@
+package chadbot.subfiles;
+
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import chadbot.task.Deadline;
+import chadbot.task.Event;
+import chadbot.task.Task;
+import chadbot.task.ToDo;
+
+/**
+ * The RecordParser class parses the lines of a text save file in a single pass, without splitting them with
+ * regular expressions. The fields of the current line are decoded in place, and only the description of a task
+ * is copied into a new String when the task is created. Dates are converted straight into epoch days.
+ *
+ * <p>A line describing a task may be preceded by the ID of the task, as in "#3 | T | 0 | read book". A line
+ * describing an event held at a specific time ends with its time, as in "E | 0 | meeting | 2021-03-01 | 09:00-10:30".
+ * A line of the form "next | 7" describes the ID which is given to the next task added to the list instead.</p>
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class RecordParser {
+    /** Result code indicating that the line describes a valid task. */
+    public static final int VALID = 0;
+
+    /** Result code indicating that the date of the task is incorrectly formatted. */
+    public static final int INVALID_DATE = 1;
+
+    /** Result code indicating that the line does not describe a valid task. */
+    public static final int INVALID_RECORD = 2;
+
+    /** Result code indicating that the line describes the ID given to the next task added to the list. */
+    public static final int NEXT_ID = 3;
+
+    /** Separator used between the fields of a line. */
+    private static final String SEPARATOR = " | ";
+
+    /** First field of a line which describes the next ID. */
+    private static final String NEXT_ID_FIELD = "next";
+
+    /** Number of days from 0000-01-01 to 1970-01-01. */
+    private static final long DAYS_0000_TO_1970 = 719528;
+
+    /** Marks a date which is not in the canonical YYYY-MM-DD form. */
+    static final long NOT_CANONICAL = Long.MIN_VALUE;
+
+    /** The text being parsed. */
+    private CharSequence input;
+
+    /** Position of the first character which has not been parsed yet. */
+    private int position;
+
+    /** Type of the task on the current line, which is either 'T', 'D', or 'E'. */
+    private char type;
+
+    /** Indicates whether the task on the current line is done. */
+    private boolean isDone;
+
+    /** Position of the first character of the description on the current line. */
+    private int nameStart;
+
+    /** Position following the last character of the description on the current line. */
+    private int nameEnd;
+
+    /** Date of the task on the current line as an epoch day, if it is a deadline or event. */
+    private long epochDay;
+
+    /** Time of day at which the event on the current line starts, in minutes since midnight. */
+    private int startMinute;
+
+    /** Duration of the event on the current line in minutes, or Event.ALL_DAY if it is held all day. */
+    private int duration;
+
+    /** ID on the current line, which is 0 if a task is not preceded by its ID. */
+    private int id;
+
+    /**
+     * Default constructor for the RecordParser class.
+     *
+     * @param input The text to be parsed, consisting of lines from a save file.
+     */
+    public RecordParser(CharSequence input) {
+        this.input = input;
+        position = 0;
+    }
+
+    /**
+     * Checks whether a character ends a line.
+     *
+     * @param c The character to be checked.
+     * @return True if the character ends a line, and false otherwise.
+     */
+    private static boolean isLineBreak(char c) {
+        return c == '\n' || c == '\r' || c == '\u000B' || c == '\u000C'
+                || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * Checks whether there is another non-empty line to be parsed, skipping over any empty lines.
+     *
+     * @return True if there is another non-empty line, and false otherwise.
+     */
+    public boolean hasNextLine() {
+        while (position < input.length() && isLineBreak(input.charAt(position))) {
+            position++;
+        }
+        return position < input.length();
+    }
+
+    /**
+     * Returns the position of the next field separator on the current line.
+     *
+     * @param from Position to start searching from.
+     * @param lineEnd Position following the last character of the current line.
+     * @return The position of the next separator, or lineEnd if there is none.
+     */
+    private int nextSeparator(int from, int lineEnd) {
+        for (int i = from; i + SEPARATOR.length() <= lineEnd; i++) {
+            if (input.charAt(i) == ' ' && input.charAt(i + 1) == '|' && input.charAt(i + 2) == ' ') {
+                return i;
+            }
+        }
+        return lineEnd;
+    }
+
+    /**
+     * Parses the next non-empty line, and advances to the line following it.
+     * The fields of the line can then be retrieved from the parser.
+     *
+     * @return VALID if the line describes a valid task, INVALID_DATE if its date is incorrectly formatted,
+     *         or INVALID_RECORD if it does not describe a valid task.
+     */
+    public int parseLine() {
+        int lineStart = position;
+        int lineEnd = lineStart;
+        while (lineEnd < input.length() && !isLineBreak(input.charAt(lineEnd))) {
+            lineEnd++;
+        }
+        position = lineEnd;
+        id = 0;
+        startMinute = 0;
+        duration = Event.ALL_DAY;
+
+        int typeEnd = nextSeparator(lineStart, lineEnd);
+        if (typeEnd == lineEnd) {
+            return INVALID_RECORD;
+        } else if (isField(NEXT_ID_FIELD, lineStart, typeEnd)) {
+            id = parseId(typeEnd + SEPARATOR.length(), lineEnd);
+            return id > 0 ? NEXT_ID : INVALID_RECORD;
+        } else if (input.charAt(lineStart) == '#') {
+            id = parseId(lineStart + 1, typeEnd);
+            if (id <= 0) {
+                return INVALID_RECORD;
+            }
+            lineStart = typeEnd + SEPARATOR.length();
+            typeEnd = nextSeparator(lineStart, lineEnd);
+            if (typeEnd == lineEnd) {
+                return INVALID_RECORD;
+            }
+        }
+        int doneStart = typeEnd + SEPARATOR.length();
+        int doneEnd = nextSeparator(doneStart, lineEnd);
+        if (doneEnd == lineEnd) {
+            return INVALID_RECORD;
+        }
+        nameStart = doneEnd + SEPARATOR.length();
+        nameEnd = nextSeparator(nameStart, lineEnd);
+
+        isDone = doneEnd - doneStart == 1 && input.charAt(doneStart) == '1';
+        type = typeEnd - lineStart == 1 ? input.charAt(lineStart) : '\0';
+        switch (type) {
+        case 'T':
+            return nameStart < lineEnd ? VALID : INVALID_RECORD;
+        case 'D':
+        case 'E':
+            if (nameEnd == lineEnd) {
+                return INVALID_RECORD;
+            }
+            int dateStart = nameEnd + SEPARATOR.length();
+            int dateEnd = nextSeparator(dateStart, lineEnd);
+            if (!parseDate(dateStart, dateEnd)) {
+                return INVALID_DATE;
+            }
+            return type == 'E' && dateEnd < lineEnd && !parseTime(dateEnd + SEPARATOR.length(), lineEnd)
+                    ? INVALID_DATE : VALID;
+        default:
+            return INVALID_RECORD;
+        }
+    }
+
+    /**
+     * Checks whether a field of the current line consists of the specified text.
+     *
+     * @param text The text.
+     * @param start Position of the first character of the field.
+     * @param end Position following the last character of the field.
+     * @return True if the field consists of the text, and false otherwise.
+     */
+    private boolean isField(String text, int start, int end) {
+        if (end - start != text.length()) {
+            return false;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (input.charAt(start + i) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Parses an ID field of the current line.
+     *
+     * @param start Position of the first digit of the ID.
+     * @param end Position following the last digit of the ID.
+     * @return The ID, or -1 if the field is not a positive decimal number which fits in an int.
+     */
+    private int parseId(int start, int end) {
+        if (start >= end || end - start > 9) {
+            return -1;
+        }
+        return digits(input, start, end - start);
+    }
+
+    /**
+     * Parses the date field of the current line into an epoch day.
+     *
+     * @param start Position of the first character of the date.
+     * @param end Position following the last character of the date.
+     * @return True if the date is correctly formatted, and false otherwise.
+     */
+    private boolean parseDate(int start, int end) {
+        long day = toEpochDay(input, start, end);
+        if (day != NOT_CANONICAL) {
+            epochDay = day;
+            return day != Long.MAX_VALUE;
+        }
+
+        try {
+            epochDay = LocalDate.parse(input.subSequence(start, end)).toEpochDay();
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Parses the time field of the current line.
+     *
+     * @param start Position of the first character of the time.
+     * @param end Position following the last character of the time.
+     * @return True if the time is correctly formatted, and false otherwise.
+     */
+    private boolean parseTime(int start, int end) {
+        int[] time = Event.parseTimeOrNull(input.subSequence(start, end).toString());
+        if (time == null) {
+            return false;
+        }
+        startMinute = time[0];
+        duration = time[1];
+        return true;
+    }
+
+    /**
+     * Converts a date in the canonical YYYY-MM-DD form into an epoch day, without creating any objects.
+     *
+     * @param s The text containing the date.
+     * @param start Position of the first character of the date.
+     * @param end Position following the last character of the date.
+     * @return The epoch day, Long.MAX_VALUE if the date is in the canonical form but does not exist,
+     *         or NOT_CANONICAL if the date is not in the canonical form.
+     */
+    static long toEpochDay(CharSequence s, int start, int end) {
+        if (end - start != 10 || s.charAt(start + 4) != '-' || s.charAt(start + 7) != '-') {
+            return NOT_CANONICAL;
+        }
+        int year = digits(s, start, 4);
+        int month = digits(s, start + 5, 2);
+        int day = digits(s, start + 8, 2);
+        if (year < 0 || month < 0 || day < 0) {
+            return NOT_CANONICAL;
+        }
+
+        boolean isLeap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(month, isLeap)) {
+            return Long.MAX_VALUE;
+        }
+
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            total -= isLeap ? 1 : 2;
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Parses a fixed number of decimal digits.
+     *
+     * @param s The text containing the digits.
+     * @param start Position of the first digit.
+     * @param count Number of digits.
+     * @return The value of the digits, or -1 if any of the characters is not a digit.
+     */
+    private static int digits(CharSequence s, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Returns the number of days in a month.
+     *
+     * @param month The month, from 1 to 12.
+     * @param isLeap Whether the year is a leap year.
+     * @return The number of days in the month.
+     */
+    private static int lengthOfMonth(int month, boolean isLeap) {
+        switch (month) {
+        case 2:
+            return isLeap ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /**
+     * Returns the type of the task on the current line.
+     *
+     * @return 'T' for a to-do, 'D' for a deadline, or 'E' for an event.
+     */
+    public char getType() {
+        return type;
+    }
+
+    /**
+     * Checks whether the task on the current line is done.
+     *
+     * @return True if the task is done, and false otherwise.
+     */
+    public boolean isDone() {
+        return isDone;
+    }
+
+    /**
+     * Returns the date of the task on the current line as an epoch day.
+     *
+     * @return The date of the task as an epoch day, if it is a deadline or event.
+     */
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * Returns the ID of the task on the current line.
+     *
+     * @return The ID of the task, or 0 if it is not preceded by its ID.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Returns the ID given to the next task added to the list, if the current line describes it.
+     *
+     * @return The next ID.
+     */
+    public int getNextId() {
+        return id;
+    }
+
+    /**
+     * Returns the description of the task on the current line, reversing the escaping of it.
+     *
+     * @return The description of the task.
+     */
+    public String getName() {
+        if (input instanceof String) {
+            return Storage.unescape(((String) input).substring(nameStart, nameEnd));
+        } else if (input instanceof CharBuffer && ((CharBuffer) input).hasArray()) {
+            CharBuffer buffer = (CharBuffer) input;
+            return Storage.unescape(new String(buffer.array(), buffer.arrayOffset() + buffer.position() + nameStart,
+                    nameEnd - nameStart));
+        }
+        return Storage.unescape(input.subSequence(nameStart, nameEnd).toString());
+    }
+
+    /**
+     * Creates the task described by the current line, which must have been parsed as valid.
+     *
+     * @return The task described by the current line.
+     */
+    public Task toTask() {
+        Task t;
+        switch (type) {
+        case 'D':
+            t = new Deadline(getName(), LocalDate.ofEpochDay(epochDay));
+            break;
+        case 'E':
+            t = new Event(getName(), LocalDate.ofEpochDay(epochDay), startMinute, duration);
+            break;
+        default:
+            t = new ToDo(getName());
+            break;
+        }
+
+        if (isDone) {
+            t.setDone();
+        }
+        if (id > 0) {
+            t.setId(id);
+        }
+        return t;
+    }
+
+}
@@ -0,0 +1,98 @@
+package chadbot.subfiles;
+
+import java.util.function.Consumer;
+
+/**
+ * The ReminderNotifier class polls the reminders of a task list on a background thread, and hands the message of
+ * each reminder which falls due to a notifier, such as the Ui on the command line or a dialog in the GUI.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class ReminderNotifier implements Runnable {
+    /** The task list whose reminders are polled. */
+    private TaskList taskList;
+
+    /** Notifier which the message of each reminder is handed to. */
+    private Consumer<String> notifier;
+
+    /** Number of milliseconds between polls. */
+    private long pollInterval;
+
+    /** Indicates whether the notifier has been shut down. */
+    private boolean isShutdown;
+
+    /** The background thread which polls the reminders. */
+    private Thread thread;
+
+    /**
+     * Default constructor for the ReminderNotifier class.
+     *
+     * @param taskList The task list whose reminders are polled, which has reminders enabled.
+     * @param notifier Notifier which the message of each reminder is handed to, on the background thread.
+     * @param pollInterval Number of milliseconds between polls.
+     */
+    public ReminderNotifier(TaskList taskList, Consumer<String> notifier, long pollInterval) {
+        assert(pollInterval > 0);
+
+        this.taskList = taskList;
+        this.notifier = notifier;
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Starts the background thread which polls the reminders.
+     */
+    public void start() {
+        thread = new Thread(this, "chadbot-reminders");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Polls the reminders once every poll interval, until the notifier is shut down.
+     */
+    @Override
+    public void run() {
+        try {
+            while (awaitPoll()) {
+                taskList.pollReminders().forEach(notifier);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for the poll interval.
+     *
+     * @return True if the reminders are due to be polled, and false if the notifier has been shut down.
+     * @throws InterruptedException If the background thread is interrupted while waiting.
+     */
+    private synchronized boolean awaitPoll() throws InterruptedException {
+        if (!isShutdown) {
+            wait(pollInterval);
+        }
+        return !isShutdown;
+    }
+
+    /**
+     * Stops the background thread.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            isShutdown = true;
+            notifyAll();
+        }
+
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+}
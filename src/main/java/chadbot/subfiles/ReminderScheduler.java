@@ -0,0 +1,128 @@
+package chadbot.subfiles;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import chadbot.task.TaskStore;
+
+/**
+ * The ReminderScheduler class schedules a reminder for every pending deadline and event of a task list, which
+ * falls due at the start of the day before its date, on a timing wheel. Reminders are rescheduled or cancelled
+ * as tasks are edited, marked as done, or deleted. The time is read from a clock, which the scheduler is advanced
+ * to whenever it is polled, so that it can be fast-forwarded by replacing the clock.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class ReminderScheduler {
+    /** Number of days before the date of a task at which its reminder falls due. */
+    private static final int LEAD_DAYS = 1;
+
+    /** Length of a tick of the timing wheel, in milliseconds. */
+    private static final long TICK_MILLIS = 1000;
+
+    /** Number of buckets of the timing wheel, so that a revolution lasts a little over an hour. */
+    private static final int BUCKET_COUNT = 4096;
+
+    /** Store which holds the tasks. */
+    private TaskStore store;
+
+    /** Clock which the time is read from. */
+    private Clock clock;
+
+    /** Timing wheel which holds the reminders, each carrying the slot of its task. */
+    private TimingWheel wheel;
+
+    /** Timer of the reminder of each task, indexed by slot, or null if the task has none. */
+    private TimingWheel.Timer[] timers;
+
+    /**
+     * Default constructor for the ReminderScheduler class.
+     *
+     * @param store Store which holds the tasks.
+     * @param clock Clock which the time is read from.
+     */
+    public ReminderScheduler(TaskStore store, Clock clock) {
+        this.store = store;
+        this.clock = clock;
+        wheel = new TimingWheel(TICK_MILLIS, BUCKET_COUNT, clock.millis());
+        timers = new TimingWheel.Timer[16];
+    }
+
+    /**
+     * Returns the current date, according to the clock.
+     *
+     * @return The current date.
+     */
+    public LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    /**
+     * Schedules the reminder of a task, if it is a pending deadline or event whose date has not passed.
+     * A task whose reminder should already have fallen due is reminded of when the scheduler is next polled.
+     *
+     * @param slot The slot of the task, which has no reminder scheduled.
+     */
+    public void schedule(int slot) {
+        if (store.getType(slot) == TaskStore.TODO || store.isDone(slot)
+                || store.getEpochDay(slot) < today().toEpochDay()) {
+            return;
+        }
+
+        if (slot >= timers.length) {
+            timers = Arrays.copyOf(timers, Math.max(slot + 1, timers.length * 2));
+        }
+        long atMillis = LocalDate.ofEpochDay((long) store.getEpochDay(slot) - LEAD_DAYS)
+                .atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+        timers[slot] = wheel.schedule(slot, atMillis);
+    }
+
+    /**
+     * Cancels the reminder of a task, if it has one.
+     *
+     * @param slot The slot of the task.
+     */
+    public void cancel(int slot) {
+        if (slot < timers.length && timers[slot] != null) {
+            wheel.cancel(timers[slot]);
+            timers[slot] = null;
+        }
+    }
+
+    /**
+     * Replaces the reminder of a task whose date was modified.
+     *
+     * @param slot The slot of the task.
+     */
+    public void reschedule(int slot) {
+        cancel(slot);
+        schedule(slot);
+    }
+
+    /**
+     * Returns the number of reminders which are scheduled.
+     *
+     * @return The number of reminders which have not fallen due.
+     */
+    public int size() {
+        return wheel.size();
+    }
+
+    /**
+     * Advances the scheduler to the current time, according to the clock.
+     *
+     * @return The slots of the tasks whose reminders fell due since the scheduler was last polled.
+     */
+    public IntList poll() {
+        IntList due = new IntList();
+        wheel.advanceTo(clock.millis(), slot -> {
+            timers[slot] = null;
+            due.add(slot);
+        });
+        return due;
+    }
+
+}
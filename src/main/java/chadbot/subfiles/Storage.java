@@ -1,11 +1,13 @@
 package chadbot.subfiles;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Scanner;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.zip.CRC32;
 
 import chadbot.exceptions.DateFormatException;
 import chadbot.exceptions.LoadFailureException;
@@ -16,18 +18,36 @@ import chadbot.task.ToDo;
 
 /**
  * The Storage class manages the loading and storing of tasks.
+ * Changes made between two saves are recorded in a journal, which is replayed on top of the save file
+ * when the tasks are next loaded. The save file is either stored in the text format, or in the binary snapshot
+ * format, and is saved in the same format it was loaded in.
  *
  * @author  arsatis
- * @version 1.1
+ * @version 1.3
  * @since   2021-01-26
  */
 public class Storage {
+    /** Suffix of the journal file, relative to the save file. */
+    private static final String JOURNAL_SUFFIX = ".journal";
+
+    /** Suffix of the temporary file which a new save file is written to before replacing the old one. */
+    private static final String TEMP_SUFFIX = ".tmp";
+
     /** The path leading to the save file. */
     private String path;
 
     /** The name of the save file. */
     private String filename;
 
+    /** Journal which records the changes made since the save file was last written. */
+    private Journal journal;
+
+    /** Indicates whether the save file is stored in the binary snapshot format. */
+    private boolean isBinary;
+
+    /** Saver which saves the task list on a background thread, or null if changes are journaled instead. */
+    private WriteBehindSaver saver;
+
     /**
      * Default constructor for the Storage class.
      *
@@ -39,69 +59,329 @@ public class Storage {
 
         this.path = filenames[0];
         this.filename = filenames[1];
+        this.journal = new Journal(new File(path + filename + JOURNAL_SUFFIX));
     }
 
     /**
-     * Loads the data stored in the save file.
+     * Returns a task formatted as a line in the save file. Its description is escaped, so that it never contains
+     * the separator between fields.
+     *
+     * @param t The task to be formatted.
+     * @return The task formatted as a line in the save file.
+     */
+    static String encodeTask(Task t) {
+        String id = t.getId() > 0 ? "#" + t.getId() + " | " : "";
+        String name = escape(t.getName());
+        if (t instanceof Deadline) {
+            Deadline d = (Deadline) t;
+            return id + "D | " + (d.isDone() ? 1 : 0) + " | " + name + " | " + d.getDate();
+        } else if (t instanceof Event) {
+            Event e = (Event) t;
+            return id + "E | " + (e.isDone() ? 1 : 0) + " | " + name + " | " + e.getDate()
+                    + (e.isAllDay() ? "" : " | " + e.getTime());
+        } else {
+            assert(t instanceof ToDo);
+            return id + "T | " + (t.isDone() ? 1 : 0) + " | " + name;
+        }
+    }
+
+    /**
+     * Escapes a description written to the save file or the journal, by preceding every vertical bar, and every
+     * backslash which precedes a vertical bar or backslash, with a backslash.
+     *
+     * @param field The description.
+     * @return The escaped description, which does not contain the separator between fields.
+     */
+    static String escape(String field) {
+        if (field.indexOf('|') < 0 && field.indexOf('\\') < 0) {
+            return field;
+        }
+        StringBuilder escaped = new StringBuilder(field.length() + 8);
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '|' || c == '\\' && i + 1 < field.length() && isEscaped(field.charAt(i + 1))) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * Reverses the escaping of a description read from the save file or the journal. A backslash which precedes
+     * any other character is kept, so descriptions saved before they were escaped are read unchanged.
+     *
+     * @param field The escaped description.
+     * @return The description.
+     */
+    static String unescape(String field) {
+        if (field.indexOf('\\') < 0) {
+            return field;
+        }
+        StringBuilder unescaped = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == '\\' && i + 1 < field.length() && isEscaped(field.charAt(i + 1))) {
+                c = field.charAt(++i);
+            }
+            unescaped.append(c);
+        }
+        return unescaped.toString();
+    }
+
+    /**
+     * Checks whether a character is preceded by a backslash when it is escaped.
+     *
+     * @param c The character.
+     * @return True if the character is a vertical bar or backslash, and false otherwise.
+     */
+    private static boolean isEscaped(char c) {
+        return c == '|' || c == '\\';
+    }
+
+    /**
+     * Returns the ID given to the next task added to the list formatted as a line in the save file.
+     *
+     * @param nextId The next ID.
+     * @return The next ID formatted as a line in the save file.
+     */
+    private static String encodeNextId(int nextId) {
+        return "next | " + nextId;
+    }
+
+    /**
+     * Returns the checksum of the contents of a save file.
+     *
+     * @param bytes The contents of the save file.
+     * @return The checksum of the contents of the save file.
+     */
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    /**
+     * Loads the data stored in the save file, and replays the changes recorded in the journal on top of it.
+     * The journal is then attached to the task list, so that subsequent changes are recorded in it. If either could
+     * not be loaded, the journal is left detached, since its records would apply to a save file which was not loaded,
+     * and the changes are only saved when the task list is next saved.
      *
      * @param taskList The list of tasks that the user has in the current execution of the Duke program.
+     * @return True if both the save file and the journal were loaded, and false otherwise.
      */
-    public void loadData(TaskList taskList) {
+    public boolean loadData(TaskList taskList) {
         File pathToFile = new File(path);
         if (!pathToFile.exists()) {
             pathToFile.mkdir();
         }
 
         File file = new File(path + filename);
+        if (BinarySnapshot.isBinarySnapshot(file)) {
+            return loadBinaryData(taskList, file);
+        }
+
+        byte[] contents = new byte[0];
+        boolean isLoaded = false;
         try {
-            Scanner sc = new Scanner(file);
-            while (sc.hasNext()) {
-                taskList.addTaskFromData(sc.nextLine());
-            }
-        } catch (FileNotFoundException e) {
-            try {
+            if (!file.exists()) {
                 file.createNewFile();
-            } catch (IOException ex) {
-                System.out.println("Something went wrong during the creation of your save file.");
             }
+            contents = Files.readAllBytes(file.toPath());
+            new ParallelLoader().load(contents, Charset.defaultCharset(), taskList);
+            isLoaded = true;
+        } catch (IOException e) {
+            System.out.println("Something went wrong during the creation of your save file.");
         } catch (DateFormatException e) {
             System.out.println("There is an error with the format of a date in your save file.");
         } catch (LoadFailureException e) {
             System.out.println(e.getMessage());
         }
+
+        if (!isLoaded || !replayJournal(taskList, checksum(contents))) {
+            return false;
+        }
+        taskList.setJournal(journal);
+        return true;
     }
 
     /**
-     * Saves the list of tasks that the user currently has in the save file.
+     * Loads the data stored in a save file in the binary snapshot format, and replays the changes recorded
+     * in the journal on top of it. The journal is only attached to the task list if both were loaded.
+     * The snapshot is closed before the journal is replayed, since replaying it may replace the save file.
      *
      * @param taskList The list of tasks that the user has in the current execution of the Duke program.
+     * @param file The save file, stored in the binary snapshot format.
+     * @return True if both the save file and the journal were loaded, and false otherwise.
      */
-    public void saveData(TaskList taskList) {
+    private boolean loadBinaryData(TaskList taskList, File file) {
+        isBinary = true;
+        long snapshotChecksum;
+        try (BinarySnapshot snapshot = BinarySnapshot.open(file)) {
+            taskList.reserveIds(snapshot.getNextId());
+            taskList.addTasks(snapshot);
+            snapshotChecksum = snapshot.getChecksum();
+        } catch (IOException e) {
+            System.out.println("Something went wrong during the loading of your save file.");
+            return false;
+        } catch (LoadFailureException e) {
+            System.out.println(e.getMessage());
+            return false;
+        }
+
+        if (!replayJournal(taskList, snapshotChecksum)) {
+            return false;
+        }
+        taskList.setJournal(journal);
+        return true;
+    }
+
+    /**
+     * Converts the save file into the binary snapshot format or the text format, folding the changes recorded
+     * in the journal into it. The save file is left as it is if it could not be loaded.
+     *
+     * @param taskList An empty task list, which the tasks in the save file are loaded into.
+     * @param isBinary True to convert the save file into the binary snapshot format, and false to convert it into
+     *                 the text format.
+     * @return True if the save file was converted, and false otherwise.
+     */
+    public boolean convertSaveFile(TaskList taskList, boolean isBinary) {
+        if (!loadData(taskList)) {
+            return false;
+        }
+        this.isBinary = isBinary;
+        saveData(taskList);
+        return true;
+    }
+
+    /**
+     * Replays the changes recorded in the journal on top of the loaded save file. If any changes were replayed,
+     * they are folded into a new save file, so that the journal does not grow across executions.
+     *
+     * @param taskList The list of tasks loaded from the save file.
+     * @param snapshotChecksum The checksum of the save file which was loaded.
+     * @return True if the journal was replayed, and false if it could not be loaded.
+     */
+    private boolean replayJournal(TaskList taskList, long snapshotChecksum) {
+        try {
+            List<String> records = journal.readRecords(snapshotChecksum);
+            for (String record : records) {
+                taskList.applyJournalRecord(record);
+            }
+
+            if (records.isEmpty()) {
+                journal.reset(snapshotChecksum);
+            } else {
+                saveData(taskList);
+            }
+            return true;
+        } catch (IOException e) {
+            System.out.println("Something went wrong during the loading of your journal.");
+        } catch (DateFormatException e) {
+            System.out.println("There is an error with the format of a date in your journal.");
+        } catch (LoadFailureException e) {
+            System.out.println(e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Switches to saving the task list on a background thread, instead of journaling every change.
+     * Changes are then coalesced into a single save, once no change has been made for the quiet period,
+     * or once the oldest unsaved change reaches the maximum delay.
+     *
+     * @param taskList The list of tasks that the user has in the current execution of the Duke program.
+     * @param quietPeriod Number of milliseconds without changes after which the task list is saved.
+     * @param maxDelay Maximum number of milliseconds a change may remain unsaved.
+     */
+    public void startWriteBehind(TaskList taskList, long quietPeriod, long maxDelay) {
+        commit();
+        taskList.setJournal(null);
+        saver = new WriteBehindSaver(this, taskList, quietPeriod, maxDelay);
+        saver.start();
+    }
+
+    /**
+     * Commits the changes made since the last commit. The changes are either written to the journal,
+     * or handed over to the background saver, which never blocks the caller on disk I/O.
+     */
+    public void commit() {
+        if (saver != null) {
+            saver.markDirty();
+            return;
+        }
+
+        try {
+            journal.commit();
+        } catch (IOException e) {
+            System.out.println("Something went wrong during the saving of your changes.");
+        }
+    }
+
+    /**
+     * Saves any change which has not been saved yet, and releases the journal and background saver.
+     */
+    public void close() {
         try {
-            FileWriter fw = new FileWriter(path + filename);
-            ArrayList<Task> tasks = taskList.getTasks();
-
-            for (Task t : tasks) {
-                if (t instanceof ToDo) {
-                    String writeData = "T | " + (t.isDone() ? 1 : 0) + " | " + t.getName();
-                    fw.write(writeData);
-                } else if (t instanceof Deadline) {
-                    Deadline d = (Deadline) t;
-                    String writeData = "D | " + (d.isDone() ? 1 : 0) + " | " + d.getName() + " | " + d.getDate();
-                    fw.write(writeData);
-                } else if (t instanceof Event) {
-                    Event e = (Event) t;
-                    String writeData = "E | " + (e.isDone() ? 1 : 0) + " | " + e.getName() + " | " + e.getDate();
-                    fw.write(writeData);
-                }
-
-                fw.write(System.lineSeparator());
+            if (saver != null) {
+                saver.shutdown();
+                saver = null;
             }
+            journal.close();
+        } catch (IOException e) {
+            System.out.println("Something went wrong during the saving of your changes.");
+        }
+    }
+
+    /**
+     * Saves the list of tasks that the user currently has in the save file, and starts a new journal on top of it.
+     * The save file is replaced atomically, so that a crash during saving leaves either the old or the new file.
+     *
+     * @param taskList The list of tasks that the user has in the current execution of the Duke program.
+     */
+    public synchronized void saveData(TaskList taskList) {
+        File file = new File(path + filename);
+        File tempFile = new File(path + filename + TEMP_SUFFIX);
 
-            fw.close();
+        try {
+            TaskSnapshot tasks = taskList.snapshot();
+            long snapshotChecksum = isBinary
+                    ? BinarySnapshot.write(tasks, tasks.getNextId(), tempFile)
+                    : writeTextData(tasks, tasks.getNextId(), tempFile);
+            Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            journal.reset(snapshotChecksum);
         } catch (IOException e) {
             System.out.println("Something went wrong during the saving of your file.");
         }
     }
 
+    /**
+     * Writes a list of tasks to a file in the text format, preceded by the ID given to the next task added to
+     * the list, if it is known.
+     *
+     * @param tasks The tasks to be written.
+     * @param nextId The ID given to the next task added to the list, or 0 if it is unknown.
+     * @param file The file to be written to.
+     * @return The checksum of the contents of the file.
+     * @throws IOException If the file could not be written to.
+     */
+    private long writeTextData(List<Task> tasks, int nextId, File file) throws IOException {
+        StringBuilder data = new StringBuilder();
+        if (nextId > 0) {
+            data.append(encodeNextId(nextId)).append(System.lineSeparator());
+        }
+
+        for (Task t : tasks) {
+            data.append(encodeTask(t)).append(System.lineSeparator());
+        }
+
+        byte[] contents = data.toString().getBytes(Charset.defaultCharset());
+        try (FileOutputStream fos = new FileOutputStream(file)) {
+            fos.write(contents);
+            fos.getFD().sync();
+        }
+        return checksum(contents);
+    }
+
 }
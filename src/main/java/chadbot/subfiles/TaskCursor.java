@@ -0,0 +1,118 @@
+package chadbot.subfiles;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import chadbot.task.Task;
+
+/**
+ * The TaskCursor class reads the list of tasks of a task list a page at a time. It reads from the snapshot of
+ * the list which was current when it was opened, so later changes to the list never shift its pages, and only
+ * the tasks on the requested page are visited and rendered.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class TaskCursor {
+    /** Snapshot of the list of tasks which is read. */
+    private TaskSnapshot snapshot;
+
+    /** Maximum number of tasks on each page. */
+    private int pageSize;
+
+    /** 0-based position of the first task on the next page. */
+    private int position;
+
+    /**
+     * Default constructor for the TaskCursor class.
+     *
+     * @param snapshot Snapshot of the list of tasks which is read.
+     * @param position 0-based position of the first task on the first page.
+     * @param pageSize Maximum number of tasks on each page, which is positive.
+     */
+    TaskCursor(TaskSnapshot snapshot, int position, int pageSize) {
+        assert(pageSize > 0 && position >= 0);
+
+        this.snapshot = snapshot;
+        this.position = Math.min(position, snapshot.size());
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Renders a task as a line of a listing, which shows its 1-based position and its ID.
+     *
+     * @param number The 1-based position of the task in the list.
+     * @param task The task.
+     * @return The line describing the task.
+     */
+    static String renderTask(int number, Task task) {
+        return number + ". #" + task.getId() + " " + task.toString();
+    }
+
+    /**
+     * Returns the number of tasks in the list which is read.
+     *
+     * @return The number of tasks in the snapshot of the list.
+     */
+    public int size() {
+        return snapshot.size();
+    }
+
+    /**
+     * Returns the 0-based position of the first task on the next page.
+     *
+     * @return The position of the first task on the next page.
+     */
+    public int getPosition() {
+        return position;
+    }
+
+    /**
+     * Checks whether there are tasks which have not been read yet.
+     *
+     * @return True if the next page contains at least one task, and false otherwise.
+     */
+    public boolean hasNext() {
+        return position < snapshot.size();
+    }
+
+    /**
+     * Returns the tasks on the next page, and moves past them.
+     *
+     * @return The tasks on the next page, which must not be modified.
+     */
+    public List<Task> nextPage() {
+        int count = Math.min(pageSize, snapshot.size() - position);
+        List<Task> page = new ArrayList<>(count);
+        Iterator<Task> iterator = snapshot.iterator(position);
+        for (int i = 0; i < count; i++) {
+            page.add(iterator.next());
+        }
+        position += count;
+        return Collections.unmodifiableList(page);
+    }
+
+    /**
+     * Renders the tasks on the next page straight to a Writer, one line per task, and moves past them.
+     *
+     * @param out The Writer which the lines are written to.
+     * @return The number of tasks which were written.
+     * @throws IOException If the lines could not be written.
+     */
+    public int writeNextPage(Writer out) throws IOException {
+        int count = Math.min(pageSize, snapshot.size() - position);
+        Iterator<Task> iterator = snapshot.iterator(position);
+        for (int i = 0; i < count; i++) {
+            out.write(renderTask(position + i + 1, iterator.next()));
+            out.write(System.lineSeparator());
+        }
+        position += count;
+        return count;
+    }
+
+}
@@ -0,0 +1,158 @@
+package chadbot.subfiles;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import chadbot.task.Deadline;
+import chadbot.task.Event;
+import chadbot.task.Task;
+import chadbot.task.ToDo;
+
+/**
+ * The TaskInputParser class validates user input which adds a task, such as "deadline return book /by 2021-02-12",
+ * and reports the outcome as a result code instead of by throwing an exception, so that rejecting malformed input
+ * costs no more than accepting it. Dates in the canonical YYYY-MM-DD form are converted straight into epoch days,
+ * in the same way as in a save file. The caller decides which exception, if any, the result code is reported with.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class TaskInputParser {
+    /** Result code indicating that the input describes a valid task. */
+    public static final int VALID = 0;
+
+    /** Result code indicating that the input does not start with the keyword of a type of task. */
+    public static final int UNKNOWN_TYPE = 1;
+
+    /** Result code indicating that the input does not contain a description, or only contains spaces. */
+    public static final int EMPTY_DESCRIPTION = 2;
+
+    /** Result code indicating that the input of a deadline or event does not contain a date. */
+    public static final int EMPTY_DATE = 3;
+
+    /** Result code indicating that the date or time of a deadline or event is incorrectly formatted. */
+    public static final int INVALID_DATE = 4;
+
+    /** Epoch day returned for a date which is incorrectly formatted, or too far from the present to be stored. */
+    public static final long INVALID_DAY = Long.MIN_VALUE;
+
+    /** Type of the task in the last input parsed, which is "todo", "deadline", "event", or null if unknown. */
+    private String type;
+
+    /** Description of the task in the last input parsed. */
+    private String description;
+
+    /** Date of the task in the last input parsed as an epoch day, if it is a deadline or event. */
+    private long epochDay;
+
+    /** Time of day at which the event in the last input parsed starts, in minutes since midnight. */
+    private int startMinute;
+
+    /** Duration of the event in the last input parsed in minutes, or Event.ALL_DAY if it is held all day. */
+    private int duration;
+
+    /**
+     * Parses a date in the form accepted by LocalDate.parse into an epoch day, without throwing an exception
+     * if it is incorrectly formatted. Dates in the canonical YYYY-MM-DD form are converted without creating any
+     * objects, and only dates whose year carries a sign are handed to LocalDate.parse.
+     *
+     * @param date The date.
+     * @return The epoch day of the date, or INVALID_DAY if it is incorrectly formatted or cannot be stored.
+     */
+    public static long parseEpochDay(String date) {
+        long day = RecordParser.toEpochDay(date, 0, date.length());
+        boolean isCanonical = day != RecordParser.NOT_CANONICAL;
+        if (day == Long.MAX_VALUE || (!isCanonical && !date.startsWith("+") && !date.startsWith("-"))) {
+            return INVALID_DAY;
+        } else if (isCanonical) {
+            return day;
+        }
+
+        try {
+            day = LocalDate.parse(date).toEpochDay();
+            return day == (int) day ? day : INVALID_DAY;
+        } catch (DateTimeParseException e) {
+            return INVALID_DAY;
+        }
+    }
+
+    /**
+     * Parses user input which adds a task. The fields of the task can then be retrieved from the parser.
+     *
+     * @param tokens The user input, split into words.
+     * @return VALID if the input describes a valid task, or UNKNOWN_TYPE, EMPTY_DESCRIPTION, EMPTY_DATE,
+     *         or INVALID_DATE otherwise.
+     */
+    public int parse(InputTokens tokens) {
+        type = null;
+        startMinute = 0;
+        duration = Event.ALL_DAY;
+        if (tokens.matches(0, "todo")) {
+            type = "todo";
+        } else if (tokens.matches(0, "deadline")) {
+            type = "deadline";
+        } else if (tokens.matches(0, "event")) {
+            type = "event";
+        } else {
+            return UNKNOWN_TYPE;
+        }
+
+        int descriptionStart = tokens.getEnd(0) + 1;
+        int descriptionEnd = tokens.hasParameter()
+                ? tokens.getStart(tokens.getParameterIndex()) - 1
+                : tokens.getInput().length();
+        description = descriptionStart < descriptionEnd
+                ? tokens.getInput().substring(descriptionStart, descriptionEnd)
+                : "";
+        if (description.isBlank()) {
+            return EMPTY_DESCRIPTION;
+        }
+        if (type.equals("todo")) {
+            return VALID;
+        } else if (!tokens.hasParameter() || tokens.getParameterValue().isEmpty()) {
+            return EMPTY_DATE;
+        }
+
+        String value = tokens.getParameterValue();
+        int space = type.equals("event") ? value.indexOf(' ') : -1;
+        epochDay = parseEpochDay(space < 0 ? value : value.substring(0, space));
+        if (epochDay == INVALID_DAY) {
+            return INVALID_DATE;
+        } else if (space >= 0) {
+            int[] time = Event.parseTimeOrNull(value.substring(space + 1));
+            if (time == null) {
+                return INVALID_DATE;
+            }
+            startMinute = time[0];
+            duration = time[1];
+        }
+        return VALID;
+    }
+
+    /**
+     * Returns the type of the task in the last input parsed.
+     *
+     * @return "todo", "deadline", or "event", or null if the input did not start with the keyword of a type of task.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Creates the task described by the last input parsed, which must have been parsed as valid.
+     *
+     * @return The task described by the last input parsed.
+     */
+    public Task toTask() {
+        switch (type) {
+        case "deadline":
+            return new Deadline(description, LocalDate.ofEpochDay(epochDay));
+        case "event":
+            return new Event(description, LocalDate.ofEpochDay(epochDay), startMinute, duration);
+        default:
+            return new ToDo(description);
+        }
+    }
+
+}
@@ -1,21 +1,32 @@
 package chadbot.subfiles;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.BitSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.function.Supplier;
 
+import chadbot.command.CommandResult;
 import chadbot.exceptions.DateFormatException;
 import chadbot.exceptions.EmptyDateException;
 import chadbot.exceptions.EmptyDescriptionException;
 import chadbot.exceptions.InvalidInputException;
 import chadbot.exceptions.ListOutOfBoundsException;
 import chadbot.exceptions.LoadFailureException;
+import chadbot.exceptions.QueryFormatException;
+import chadbot.exceptions.TaskNotFoundException;
 import chadbot.exceptions.TaskTypeErrorException;
 import chadbot.task.Deadline;
 import chadbot.task.Event;
+import chadbot.task.HeapTaskStore;
 import chadbot.task.Task;
-import chadbot.task.TaskComparator;
+import chadbot.task.TaskStore;
 import chadbot.task.ToDo;
 
 /**
@@ -27,118 +38,292 @@ import chadbot.task.ToDo;
  * @since   2021-02-08
  */
 public class TaskList {
-    /** List of tasks created by user input. */
-    private ArrayList<Task> tasks;
+    /** First line of the listing of the list of tasks. */
+    private static final String LIST_HEADER = "Here are the tasks in your list:";
+
+    /** Number of tasks on a page of the list of tasks, if the user does not specify it. */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** Number of tasks rendered at a time when the list of tasks is streamed. */
+    private static final int STREAM_PAGE_SIZE = 256;
+
+    /** Number of upcoming deadlines and events which are shown if the user does not specify it. */
+    private static final int DEFAULT_UPCOMING_COUNT = 5;
+
+    /** Number of tasks copied into a snapshot at a time, between which changes to the list of tasks may proceed. */
+    private static final int SNAPSHOT_CHUNK_SIZE = 4096;
+
+    /** Number of times a snapshot is copied a chunk at a time, before it is copied while holding the lock. */
+    private static final int SNAPSHOT_ATTEMPTS = 3;
+
+    /** Store which holds the fields of the tasks created by user input. */
+    private TaskStore store;
+
+    /** Slots of the tasks created by user input, in the order of the list. */
+    private TaskSequence tasks;
+
+    /** Journal which records the changes made to the list of tasks, or null if changes are not recorded. */
+    private Journal journal;
+
+    /** Number of changes made to the list of tasks, which allows savers to tell whether it is unsaved. */
+    private volatile long version;
+
+    /** ID which is given to the next task added to the list, which is never lower than any ID given before. */
+    private int nextId;
+
+    /** Index of the tasks in the list of tasks by their ID. */
+    private IdIndex idIndex;
+
+    /** Index of the deadlines and events in the list of tasks by their date. */
+    private DateIndex dateIndex;
+
+    /** Index of the tasks in the list of tasks by the trigrams in their description. */
+    private TrigramIndex nameIndex;
+
+    /** Index of the tasks in the list of tasks by whether they are done. */
+    private DoneIndex doneIndex;
+
+    /** Index of the pending deadlines and events in the list of tasks by their date. */
+    private UpcomingIndex upcomingIndex;
+
+    /** Index of the pending events in the list of tasks which are held at a specific time by their interval. */
+    private IntervalIndex intervalIndex;
+
+    /** Scheduler of the reminders of the pending deadlines and events, or null if reminders are disabled. */
+    private ReminderScheduler reminders;
+
+    /** Planner which runs queries over the list of tasks using its indices. */
+    private QueryPlanner planner;
+
+    /** Statistics of the list of tasks, which are kept up to date as it changes. */
+    private TaskStats stats;
 
     /**
-     * Default constructor for the TaskList class.
+     * Default constructor for the TaskList class, which keeps its tasks on the heap.
      */
     public TaskList() {
-        tasks = new ArrayList<>();
+        this(new HeapTaskStore());
     }
 
     /**
-     * Returns the task description specified in the user input.
+     * Constructor for the TaskList class, which keeps its tasks in the specified store.
      *
-     * @param input The user input.
-     * @param startIndex Start index of the description in the user input.
-     * @return The task description specified in the user input.
+     * @param store An empty store, which the tasks are kept in.
      */
-    private String getTaskDescription(String input, int startIndex) {
-        int splitLimit = 2;
-        String splitRegex = " /";
-        String[] tempArray = input.split(splitRegex, splitLimit);
-        return tempArray[0].substring(startIndex);
+    public TaskList(TaskStore store) {
+        this.store = store;
+        tasks = new TaskSequence();
+        nextId = 1;
+        idIndex = new IdIndex(store);
+        dateIndex = new DateIndex(store);
+        nameIndex = new TrigramIndex(store);
+        stats = new TaskStats(store);
+        doneIndex = new DoneIndex(store);
+        upcomingIndex = new UpcomingIndex(store);
+        intervalIndex = new IntervalIndex(store);
+        planner = new QueryPlanner(store, tasks, dateIndex, nameIndex, doneIndex, stats);
     }
 
     /**
-     * Returns the date specified in the user input.
+     * Attaches a journal to the task list, which records every subsequent change made to the list of tasks.
      *
-     * @param input The user input.
-     * @return The date specified in the user input.
-     * @throws DateTimeParseException If the specified date is incorrectly formatted.
+     * @param journal The journal which changes are recorded in.
      */
-    private LocalDate getTaskDate(String input) throws DateTimeParseException {
-        int splitLimit = 2;
-        int startIndex = 3;
-        String splitRegex = " /";
-        String[] tempArray = input.split(splitRegex, splitLimit);
-        return LocalDate.parse(tempArray[1].substring(startIndex));
+    public synchronized void setJournal(Journal journal) {
+        this.journal = journal;
     }
 
     /**
-     * Adds a to-do to the list of tasks.
+     * Returns the number of changes made to the list of tasks so far.
      *
-     * @param input User input triggering the addition of a to-do to the list of tasks.
-     * @throws EmptyDescriptionException If no description is provided for the to-do.
+     * @return The number of changes made to the list of tasks so far.
      */
-    private void addTodo(String input) throws EmptyDescriptionException {
-        String taskType = "todo";
+    public long getVersion() {
+        return version;
+    }
 
-        try {
-            int startOfDescription = 5;
-            String description = getTaskDescription(input, startOfDescription);
-            tasks.add(new ToDo(description));
-        } catch (StringIndexOutOfBoundsException e) {
-            throw new EmptyDescriptionException(taskType);
+    /**
+     * Records a change made to the list of tasks in the journal, if one is attached, and publishes it.
+     *
+     * @param record The journal record describing the change.
+     */
+    private void record(String record) {
+        if (journal != null) {
+            journal.append(record);
         }
+        publish();
+    }
+
+    /**
+     * Publishes a complete change to the list of tasks, so that savers and snapshots which are being copied can
+     * tell that it was made.
+     */
+    private void publish() {
+        version++;
     }
 
     /**
-     * Adds a deadline to the list of tasks.
+     * Adds a copy of a task to the end of the list of tasks, and indexes it.
      *
-     * @param input User input triggering the addition of a deadline to the list of tasks.
-     * @throws EmptyDescriptionException If no description is provided for the deadline.
-     * @throws EmptyDateException If no date is specified for the deadline.
-     * @throws DateFormatException If the specified date is incorrectly formatted.
+     * @param task The task to be added.
      */
-    private void addDeadline(String input) throws EmptyDescriptionException, EmptyDateException,
-            DateFormatException {
-        String taskType = "deadline";
+    private void appendTask(Task task) {
+        int slot = store.add(task);
+        assignId(slot);
+        tasks.add(slot);
+        indexTask(slot);
+    }
 
-        try {
-            int startOfDescription = 9;
-            String description = getTaskDescription(input, startOfDescription);
-            LocalDate date = getTaskDate(input);
-            tasks.add(new Deadline(description, date));
-        } catch (StringIndexOutOfBoundsException e) {
-            throw new EmptyDescriptionException(taskType);
-        } catch (ArrayIndexOutOfBoundsException e) {
-            throw new EmptyDateException(taskType);
-        } catch (DateTimeParseException e) {
-            throw new DateFormatException();
+    /**
+     * Gives a task which is being added a new ID, unless it already has an ID which no other task in the list has,
+     * and adds it to the index of IDs.
+     *
+     * @param slot The slot of the task which is being added.
+     */
+    private void assignId(int slot) {
+        int id = store.getId(slot);
+        if (id <= 0 || idIndex.contains(id)) {
+            id = nextId;
+            store.setId(slot, id);
         }
+        nextId = Math.max(nextId, id + 1);
+        idIndex.add(slot);
     }
 
     /**
-     * Adds an event to the list of tasks.
+     * Reserves the IDs below the specified ID, so that they are never given to tasks added to the list later.
+     * This allows the IDs of tasks which were deleted before the list was saved to stay unused.
      *
-     * @param input User input triggering the addition of an event to the list of tasks.
-     * @throws EmptyDescriptionException If no description is provided for the event.
-     * @throws EmptyDateException If no date is specified for the event.
-     * @throws DateFormatException If the specified date is incorrectly formatted.
+     * @param next The lowest ID which may be given to a task added to the list later.
      */
-    private void addEvent(String input) throws EmptyDescriptionException, EmptyDateException,
-            DateFormatException {
-        String taskType = "event";
+    public synchronized void reserveIds(int next) {
+        if (next > nextId) {
+            nextId = next;
+            publish();
+        }
+    }
 
-        try {
-            int startOfDescription = 6;
-            String description = getTaskDescription(input, startOfDescription);
-            LocalDate date = getTaskDate(input);
-            tasks.add(new Event(description, date));
-        } catch (StringIndexOutOfBoundsException e) {
-            throw new EmptyDescriptionException(taskType);
-        } catch (ArrayIndexOutOfBoundsException e) {
-            throw new EmptyDateException(taskType);
-        } catch (DateTimeParseException e) {
-            throw new DateFormatException();
+    /**
+     * Adds a task which was added to the end of the list of tasks to the indices.
+     *
+     * @param slot The slot of the task which was added.
+     */
+    private void indexTask(int slot) {
+        dateIndex.add(slot);
+        nameIndex.add(slot);
+        doneIndex.add(slot);
+        upcomingIndex.add(slot);
+        intervalIndex.add(slot);
+        if (reminders != null) {
+            reminders.schedule(slot);
         }
+        stats.add(slot);
     }
 
     /**
-     * Adds a task to the list of tasks. Calls either addTodo,  addDeadline, or addEvent,
-     * depending on the type of task specified by the user.
+     * Removes the task at the specified index from the list of tasks, and from the indices.
+     *
+     * @param index The 0-based index of the task in the list.
+     * @return A copy of the task which was removed.
+     * @throws IndexOutOfBoundsException If there is no task at the specified index.
+     */
+    private Task removeTask(int index) {
+        int slot = tasks.remove(index);
+        Task task = store.copy(slot);
+        discard(slot);
+        return task;
+    }
+
+    /**
+     * Removes the tasks at the specified indices from the list of tasks in a single pass, and from the indices.
+     * The order of the remaining tasks is rebuilt once, instead of being updated once per task.
+     *
+     * @param indices The 0-based indices of the tasks in the list, in increasing order.
+     */
+    private void removeTasks(int[] indices) {
+        int[] slots = tasks.toArray();
+        int[] kept = new int[slots.length - indices.length];
+
+        int next = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (next < indices.length && indices[next] == i) {
+                discard(slots[i]);
+                next++;
+            } else {
+                kept[i - next] = slots[i];
+            }
+        }
+        assert(next == indices.length);
+
+        tasks.clear();
+        tasks.addAll(kept);
+    }
+
+    /**
+     * Removes a task which was removed from the order of the list of tasks from the indices and the store.
+     *
+     * @param slot The slot of the task.
+     */
+    private void discard(int slot) {
+        idIndex.remove(slot);
+        dateIndex.remove(slot);
+        nameIndex.remove(slot);
+        doneIndex.remove(slot);
+        upcomingIndex.remove(slot);
+        intervalIndex.remove(slot);
+        if (reminders != null) {
+            reminders.cancel(slot);
+        }
+        stats.remove(slot);
+        store.remove(slot);
+    }
+
+    /**
+     * Marks a task as done, and updates the indices and statistics if it was pending.
+     *
+     * @param index The 0-based index of the task in the list.
+     * @throws IndexOutOfBoundsException If there is no task at the specified index.
+     */
+    private void setDone(int index) {
+        int slot = tasks.get(index);
+        if (!store.isDone(slot)) {
+            dateIndex.markDone(slot);
+            stats.markDone(slot);
+            upcomingIndex.remove(slot);
+            intervalIndex.remove(slot);
+            if (reminders != null) {
+                reminders.cancel(slot);
+            }
+            store.setDone(slot);
+            doneIndex.markDone(slot);
+        }
+    }
+
+    /**
+     * Rebuilds the indices after the list of tasks was reordered.
+     */
+    private void reindex() {
+        dateIndex.rebuild(tasks);
+        nameIndex.rebuild(tasks);
+    }
+
+    /**
+     * Parses the date of a task.
+     *
+     * @param date The date, formatted as YYYY-MM-DD.
+     * @return The parsed date.
+     * @throws DateTimeParseException If the date is incorrectly formatted, or too far from the present to be stored.
+     */
+    private static LocalDate parseDate(String date) throws DateTimeParseException {
+        LocalDate parsed = LocalDate.parse(date);
+        if (!TaskStore.isStorable(parsed)) {
+            throw new DateTimeParseException("Date out of range", date, 0);
+        }
+        return parsed;
+    }
+
+    /**
+     * Adds a task to the list of tasks, as specified by the user input.
      *
      * @param input User input triggering the addition of a task to the list of tasks.
      * @return Duke's response to the user.
@@ -148,32 +333,129 @@ public class TaskList {
      * @throws InvalidInputException If the task is neither a to-do, a deadline, nor an event.
      * @throws DateFormatException If the specified date is incorrectly formatted.
      */
-    public String addTask(String input) throws EmptyDescriptionException, EmptyDateException,
+    public synchronized String addTask(String input) throws EmptyDescriptionException, EmptyDateException,
             InvalidInputException, DateFormatException {
-        int splitLimit = 2;
-        String splitRegex = " ";
-
-        String command = input.split(splitRegex, splitLimit)[0];
+        return addTask(new InputTokens(input)).getText();
+    }
 
-        switch (command) {
-        case "todo":
-            addTodo(input);
-            break;
-        case "deadline":
-            addDeadline(input);
-            break;
-        case "event":
-            addEvent(input);
+    /**
+     * Adds a to-do, deadline, or event to the list of tasks, depending on the type of task specified by the user.
+     * The input is validated by a TaskInputParser, which reports malformed input as a result code, so that an
+     * exception is only thrown here, and is a shared instance without a stack trace. If the task is an event held
+     * at a specific time, the pending events which it overlaps with are listed as well.
+     *
+     * @param tokens User input triggering the addition of a task to the list of tasks, split into words.
+     * @return The result of the change, whose response to the user is only rendered when it is displayed.
+     * @throws EmptyDescriptionException If no description is provided for the task.
+     * @throws EmptyDateException If no date or time is specified for the task,
+     *                            which is either a deadline or an event.
+     * @throws InvalidInputException If the task is neither a to-do, a deadline, nor an event.
+     * @throws DateFormatException If the specified date is incorrectly formatted.
+     */
+    public synchronized CommandResult addTask(InputTokens tokens) throws EmptyDescriptionException, EmptyDateException,
+            InvalidInputException, DateFormatException {
+        TaskInputParser parser = new TaskInputParser();
+        switch (parser.parse(tokens)) {
+        case TaskInputParser.VALID:
+            appendTask(parser.toTask());
             break;
+        case TaskInputParser.EMPTY_DESCRIPTION:
+            throw EmptyDescriptionException.getInstance(parser.getType());
+        case TaskInputParser.EMPTY_DATE:
+            throw EmptyDateException.getInstance(parser.getType());
+        case TaskInputParser.INVALID_DATE:
+            throw DateFormatException.getInstance();
         default:
-            throw new InvalidInputException();
+            throw InvalidInputException.getInstance();
         }
+        int slot = tasks.get(tasks.size() - 1);
+        Task added = store.copy(slot);
+        record(Journal.addRecord(added));
+
+        int size = tasks.size();
+        int[] conflictSlots = getConflicts(slot);
+        int[] positions = new int[conflictSlots.length];
+        Task[] conflicts = copyTasks(conflictSlots, positions);
+        Supplier<String> output = () -> "Got it. I've added this task:\n"
+                + added.toString() + "\n"
+                + "Now you have " + size + " tasks in the list."
+                + renderConflicts(conflicts, positions);
+        return new CommandResult(CommandResult.SUCCESS, List.of(added), 1, size, output);
+    }
 
-        String output = "Got it. I've added this task:\n"
-                + tasks.get(tasks.size() - 1).toString() + "\n"
-                + "Now you have " + tasks.size() + " tasks in the list.";
-        System.out.println(output);
-        return output;
+    /**
+     * Returns the pending events which overlap with an event that was added.
+     *
+     * @param slot The slot of the task which was added.
+     * @return The slots of the overlapping events, which are empty if the task is not an event held at a specific
+     *         time, or overlaps with no other event.
+     */
+    private int[] getConflicts(int slot) {
+        if (store.getType(slot) != TaskStore.EVENT || store.getDuration(slot) == Event.ALL_DAY) {
+            return new int[0];
+        }
+
+        IntList overlapping = intervalIndex.getOverlapping(intervalIndex.getStart(slot), intervalIndex.getEnd(slot));
+        IntList conflicts = new IntList();
+        for (int i = 0; i < overlapping.size(); i++) {
+            if (overlapping.get(i) != slot) {
+                conflicts.add(overlapping.get(i));
+            }
+        }
+        return conflicts.toArray();
+    }
+
+    /**
+     * Renders the pending events which overlap with an event that was added, together with their position in the
+     * list and their ID.
+     *
+     * @param conflicts Copies of the overlapping events.
+     * @param positions The 1-based position of each overlapping event in the list.
+     * @return A note listing the overlapping events, or an empty String if there are none.
+     */
+    private static String renderConflicts(Task[] conflicts, int[] positions) {
+        if (conflicts.length == 0) {
+            return "";
+        }
+
+        StringBuilder output = new StringBuilder("\nNote: this event overlaps with:");
+        appendListing(output, conflicts, positions);
+        return output.toString();
+    }
+
+    /**
+     * Copies the tasks in the specified slots, so that they can be rendered after the lock on the task list is
+     * released. Must be called while holding the lock.
+     *
+     * @param slots The slots of the tasks.
+     * @param positions Array which the 1-based position of each task in the list is stored in, or null if the
+     *                  positions are not needed.
+     * @return Copies of the tasks, in the same order as the slots.
+     */
+    private Task[] copyTasks(int[] slots, int[] positions) {
+        assert(Thread.holdsLock(this));
+
+        Task[] copies = new Task[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            copies[i] = store.copy(slots[i]);
+            if (positions != null) {
+                positions[i] = tasks.indexOf(slots[i]) + 1;
+            }
+        }
+        return copies;
+    }
+
+    /**
+     * Appends tasks to a response as the lines of a listing, which show their position in the list and their ID.
+     *
+     * @param output The response.
+     * @param copies Copies of the tasks.
+     * @param positions The 1-based position of each task in the list.
+     */
+    private static void appendListing(StringBuilder output, Task[] copies, int[] positions) {
+        for (int i = 0; i < copies.length; i++) {
+            output.append("\n").append(TaskCursor.renderTask(positions[i], copies[i]));
+        }
     }
 
     /**
@@ -181,120 +463,355 @@ public class TaskList {
      *
      * @param data A line from the user's save data.
      * @throws DateFormatException If the specified date is incorrectly formatted.
+     * @throws LoadFailureException If the line does not describe a valid task.
      */
-    public void addTaskFromData(String data) throws DateFormatException, LoadFailureException {
-        String splitRegex = " \\| ";
+    public synchronized void addTaskFromData(String data) throws DateFormatException, LoadFailureException {
+        RecordParser parser = new RecordParser(data);
+        if (!parser.hasNextLine()) {
+            throw new LoadFailureException();
+        }
+
+        int result = parser.parseLine();
+        if (result == RecordParser.NEXT_ID) {
+            reserveIds(parser.getNextId());
+        } else {
+            appendTask(toTask(parser, result));
+            publish();
+        }
+    }
+
+    /**
+     * Returns the to-do, deadline, or event described by a line of previously saved data.
+     *
+     * @param data A line from the user's save data.
+     * @return The task described by the line.
+     * @throws DateFormatException If the specified date is incorrectly formatted.
+     * @throws LoadFailureException If the line does not describe a valid task.
+     */
+    static Task parseTaskFromData(String data) throws DateFormatException, LoadFailureException {
+        RecordParser parser = new RecordParser(data);
+        if (!parser.hasNextLine()) {
+            throw new LoadFailureException();
+        }
+        return toTask(parser, parser.parseLine());
+    }
 
-        String[] sArray = data.split(splitRegex);
+    /**
+     * Returns the task described by the line which a parser has just parsed.
+     *
+     * @param parser The parser.
+     * @param result The result of parsing the line.
+     * @return The task described by the line.
+     * @throws DateFormatException If the specified date is incorrectly formatted.
+     * @throws LoadFailureException If the line does not describe a valid task.
+     */
+    private static Task toTask(RecordParser parser, int result) throws DateFormatException, LoadFailureException {
+        switch (result) {
+        case RecordParser.VALID:
+            return parser.toTask();
+        case RecordParser.INVALID_DATE:
+            throw DateFormatException.getInstance();
+        default:
+            throw new LoadFailureException();
+        }
+    }
+
+    /**
+     * Adds tasks which were previously saved to the end of the list of tasks.
+     *
+     * @param savedTasks The tasks loaded from the user's save data.
+     */
+    public synchronized void addTasks(List<? extends Task> savedTasks) {
+        int[] slots = new int[savedTasks.size()];
+        int i = 0;
+        for (Task t : savedTasks) {
+            slots[i++] = store.add(t);
+        }
+        for (int slot : slots) {
+            assignId(slot);
+        }
+        tasks.addAll(slots);
+        for (int slot : slots) {
+            indexTask(slot);
+        }
+        publish();
+    }
+
+    /**
+     * Applies a change recorded in the journal to the list of tasks.
+     *
+     * @param record A record from the journal.
+     * @throws DateFormatException If the date in the record is incorrectly formatted.
+     * @throws LoadFailureException If the record does not describe a valid change to the list of tasks.
+     */
+    public synchronized void applyJournalRecord(String record) throws DateFormatException, LoadFailureException {
+        int splitLimit = 3;
+        String splitRegex = " \\| ";
+        String[] sArray = record.split(splitRegex, splitLimit);
 
         try {
             switch (sArray[0]) {
-            case "T":
-                tasks.add(new ToDo(sArray[2]));
+            case "add":
+                appendTask(parseTaskFromData(record.substring(sArray[0].length() + Journal.SEPARATOR.length())));
+                break;
+            case "done":
+                for (int index : Journal.decodeIndices(sArray[1])) {
+                    setDone(index);
+                }
+                break;
+            case "delete":
+                int[] indices = Journal.decodeIndices(sArray[1]);
+                if (indices.length == 1) {
+                    removeTask(indices[0]);
+                } else {
+                    removeTasks(indices);
+                }
                 break;
-            case "D":
-                tasks.add(new Deadline(sArray[2], LocalDate.parse(sArray[3])));
+            case "desc":
+                editTaskDescription(Integer.parseInt(sArray[1]), Storage.unescape(sArray[2]));
                 break;
-            case "E":
-                tasks.add(new Event(sArray[2], LocalDate.parse(sArray[3])));
+            case "date":
+                editTaskDate(Integer.parseInt(sArray[1]), sArray[2]);
                 break;
+            case "sort":
+                applySort(sArray[1]);
+                return;
             default:
                 throw new LoadFailureException();
             }
+            publish();
+        } catch (NumberFormatException | IndexOutOfBoundsException | TaskTypeErrorException e) {
+            throw new LoadFailureException();
+        }
+    }
 
-            String doneIndicator = "1";
-            if (sArray[1].equals(doneIndicator)) {
-                tasks.get(tasks.size() - 1).setDone();
-            }
-        } catch (DateTimeParseException e) {
-            throw new DateFormatException();
+    /**
+     * Sorts the list of tasks based on the ordering recorded in the journal.
+     *
+     * @param order The ordering used, which is either "name", "type", or "date".
+     * @throws LoadFailureException If the ordering is not recognised.
+     */
+    private void applySort(String order) throws LoadFailureException {
+        switch (order) {
+        case "name":
+            sortTasksByName();
+            break;
+        case "type":
+            sortTasksByType();
+            break;
+        case "date":
+            sortTasksByTypeAndDate();
+            break;
+        default:
+            throw new LoadFailureException();
         }
     }
 
     /**
-     * Prints the list of tasks added by the user till this point, based on the order they were added by the user.
+     * Prints the list of tasks added by the user till this point, based on the order they were added by the user,
+     * together with their IDs. The tasks are read from a snapshot, so that printing a long list never holds up
+     * changes to it.
      *
      * @return Duke's response to the user.
      */
     public String printTasks() {
-        StringBuilder output = new StringBuilder("Here are the tasks in your list:");
+        return printTasks(snapshot());
+    }
 
-        for (int i = 1; i < tasks.size() + 1; i++) {
-            Task task = tasks.get(i - 1);
-            output.append("\n").append(i).append(". ").append(task.toString());
+    /**
+     * Prints a snapshot of the list of tasks, based on the order they were added by the user, together with
+     * their IDs.
+     *
+     * @param snapshot The snapshot of the list of tasks.
+     * @return Duke's response to the user.
+     */
+    public static String printTasks(TaskSnapshot snapshot) {
+        StringBuilder output = new StringBuilder(LIST_HEADER);
+
+        int i = 1;
+        for (Task task : snapshot) {
+            output.append("\n").append(TaskCursor.renderTask(i, task));
+            i++;
         }
 
-        System.out.println(output);
         return output.toString();
     }
 
     /**
-     * Prints the list of deadlines added by the user till this point, due on the date specified by the user,
-     * based on the order they were added by the user.
+     * Writes the list of tasks added by the user till this point straight to a Writer, a line at a time, without
+     * building the whole listing in memory first. The listing is the same as the one printed by printTasks.
      *
-     * @param date The date specified by the user.
+     * @param out The Writer which the listing is written to, which is flushed afterwards.
+     * @throws IOException If the listing could not be written.
+     */
+    public void writeTasks(Writer out) throws IOException {
+        TaskCursor cursor = openCursor(0, STREAM_PAGE_SIZE);
+        out.write(LIST_HEADER);
+        out.write(System.lineSeparator());
+        while (cursor.hasNext()) {
+            cursor.writeNextPage(out);
+        }
+        out.flush();
+    }
+
+    /**
+     * Opens a cursor which reads a snapshot of the list of tasks as it currently is, a page at a time.
+     *
+     * @param from The 0-based position of the first task on the first page.
+     * @param pageSize The maximum number of tasks on each page, which is positive.
+     * @return A cursor over the list of tasks.
+     */
+    public TaskCursor openCursor(int from, int pageSize) {
+        return new TaskCursor(snapshot(), from, pageSize);
+    }
+
+    /**
+     * Prints a single page of the list of tasks added by the user till this point. Only the tasks on the page
+     * are rendered, however long the list is.
+     *
+     * @param input User input, in the form of "list /page <page> /size <size>", where either part may be omitted.
      * @return Duke's response to the user.
+     * @throws InvalidInputException If the page or size is not a positive integer.
      */
-    private String printDeadlinesOnDate(LocalDate date) {
-        StringBuilder output;
-        ArrayList<Deadline> deadlines = new ArrayList<>();
+    public String printPage(String input) throws InvalidInputException {
+        return printPage(new InputTokens(input));
+    }
 
-        for (Task t : tasks) {
-            if (t instanceof Deadline) {
-                Deadline d = (Deadline) t;
-                if (d.getDateAsLocalDate().equals(date)) {
-                    deadlines.add(d);
+    /**
+     * Prints a single page of the list of tasks added by the user till this point, reading the page and size
+     * from user input which has been split into words. Only the tasks on the page are copied while holding the
+     * lock, and they are rendered after it is released.
+     *
+     * @param tokens User input, in the form of "list /page <page> /size <size>", where either part may be omitted.
+     * @return Duke's response to the user.
+     * @throws InvalidInputException If the page or size is not a positive integer.
+     */
+    public String printPage(InputTokens tokens) throws InvalidInputException {
+        int page = 1;
+        int size = DEFAULT_PAGE_SIZE;
+        try {
+            for (int i = 1; i < tokens.size(); i += 2) {
+                if (tokens.matches(i, "/page")) {
+                    page = tokens.parseInt(i + 1);
+                } else if (tokens.matches(i, "/size")) {
+                    size = tokens.parseInt(i + 1);
+                } else {
+                    throw new InvalidInputException();
                 }
             }
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            throw new InvalidInputException();
+        }
+        if (page <= 0 || size <= 0) {
+            throw new InvalidInputException();
+        }
+
+        long start = (long) (page - 1) * size;
+        int listSize;
+        List<Task> tasksOnPage = new ArrayList<>();
+        synchronized (this) {
+            listSize = tasks.size();
+            for (long i = start; i < Math.min(start + size, listSize); i++) {
+                tasksOnPage.add(store.copy(tasks.get((int) i)));
+            }
+        }
+
+        int pageCount = (int) (((long) listSize + size - 1) / size);
+        StringBuilder output;
+        if (tasksOnPage.isEmpty()) {
+            output = new StringBuilder("There are no tasks on page " + page + ". Your list has " + pageCount
+                    + " page(s) of " + size + " tasks.");
+        } else {
+            int first = (int) start + 1;
+            output = new StringBuilder("Here are tasks " + first + " to " + (first + tasksOnPage.size() - 1)
+                    + " of " + listSize + " in your list (page " + page + " of " + pageCount + "):");
+            for (int i = 0; i < tasksOnPage.size(); i++) {
+                output.append("\n").append(TaskCursor.renderTask(first + i, tasksOnPage.get(i)));
+            }
+        }
+
+        return output.toString();
+    }
+
+    /**
+     * Describes a range of dates specified by the user.
+     *
+     * @param from The first date of the range.
+     * @param to The last date of the range.
+     * @return "on <date>" if the range consists of a single date, and "from <from> to <to>" otherwise.
+     */
+    private static String describeRange(LocalDate from, LocalDate to) {
+        return from.equals(to) ? "on " + from.toString() : "from " + from.toString() + " to " + to.toString();
+    }
+
+    /**
+     * Prints the list of deadlines and events added by the user till this point, due or happening within a range
+     * of dates. The lock is only held while the deadlines and events are looked up, and they are rendered after it
+     * is released.
+     *
+     * @param from The first date of the range specified by the user.
+     * @param to The last date of the range specified by the user.
+     * @return Duke's response to the user.
+     */
+    private String printTasksBetween(LocalDate from, LocalDate to) {
+        List<Deadline> deadlines;
+        List<Event> events;
+        synchronized (this) {
+            deadlines = dateIndex.getDeadlinesBetween(from, to);
+            events = dateIndex.getEventsBetween(from, to);
         }
+        return printDeadlinesInRange(deadlines, from, to) + "\n\n" + printEventsInRange(events, from, to);
+    }
+
+    /**
+     * Prints the list of deadlines added by the user till this point, due within the range of dates specified
+     * by the user, ordered by their date, and then by the order they were added by the user.
+     *
+     * @param deadlines The deadlines due within the range.
+     * @param from The first date of the range specified by the user.
+     * @param to The last date of the range specified by the user.
+     * @return Duke's response to the user.
+     */
+    private static String printDeadlinesInRange(List<Deadline> deadlines, LocalDate from, LocalDate to) {
+        StringBuilder output;
 
         if (deadlines.size() == 0) {
-            output = new StringBuilder("You have no deadlines due on " + date.toString() + ".");
+            output = new StringBuilder("You have no deadlines due " + describeRange(from, to) + ".");
         } else {
             int i = 1;
-            output = new StringBuilder("Here are the deadlines due on " + date.toString() + ":");
+            output = new StringBuilder("Here are the deadlines due " + describeRange(from, to) + ":");
             for (Deadline d : deadlines) {
                 output.append("\n").append(i).append(". ").append(d.toString());
                 i++;
             }
         }
 
-        System.out.println(output);
         return output.toString();
     }
 
     /**
-     * Prints the list of events added by the user till this point, happening on the date specified by the user,
-     * based on the order they were added by the user.
+     * Prints the list of events added by the user till this point, happening within the range of dates specified
+     * by the user, ordered by their date, and then by the order they were added by the user.
      *
-     * @param date The date specified by the user.
+     * @param events The events happening within the range.
+     * @param from The first date of the range specified by the user.
+     * @param to The last date of the range specified by the user.
      * @return Duke's response to the user.
      */
-    private String printEventsOnDate(LocalDate date) {
+    private static String printEventsInRange(List<Event> events, LocalDate from, LocalDate to) {
         StringBuilder output;
-        ArrayList<Event> events = new ArrayList<>();
-
-        for (Task t : tasks) {
-            if (t instanceof Event) {
-                Event e = (Event) t;
-                if (e.getDateAsLocalDate().equals(date)) {
-                    events.add(e);
-                }
-            }
-        }
 
         if (events.size() == 0) {
-            output = new StringBuilder("You have no events occurring on " + date.toString() + ".");
+            output = new StringBuilder("You have no events occurring " + describeRange(from, to) + ".");
         } else {
             int i = 1;
-            output = new StringBuilder("Here are the events occurring on " + date.toString() + ":");
+            output = new StringBuilder("Here are the events occurring " + describeRange(from, to) + ":");
             for (Event e : events) {
                 output.append("\n").append(i).append(". ").append(e.toString());
                 i++;
             }
         }
 
-        System.out.println(output);
         return output.toString();
     }
 
@@ -307,14 +824,38 @@ public class TaskList {
      * @throws DateFormatException If the specified date is incorrectly formatted.
      */
     public String printTasksOnDate(String input) throws DateFormatException {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(input);
+        } catch (DateTimeParseException e) {
+            throw new DateFormatException();
+        }
+        return printTasksBetween(date, date);
+    }
+
+    /**
+     * Prints the list of deadlines and events added by the user till this point, due or happening within the
+     * range of dates specified by the user, ordered by their date, and then by the order they were added by the user.
+     *
+     * @param input The range of dates specified by the user, in the form of "<from>..<to>". Both dates are inclusive.
+     * @return Duke's response to the user.
+     * @throws DateFormatException If either of the specified dates is incorrectly formatted.
+     */
+    public String printTasksInRange(String input) throws DateFormatException {
+        int separator = input.indexOf("..");
+        if (separator < 0) {
+            return printTasksOnDate(input);
+        }
+
+        LocalDate from;
+        LocalDate to;
         try {
-            LocalDate date = LocalDate.parse(input);
-            String upperOutput = printDeadlinesOnDate(date);
-            String lowerOutput = printEventsOnDate(date);
-            return upperOutput + "\n\n" + lowerOutput;
+            from = LocalDate.parse(input.substring(0, separator));
+            to = LocalDate.parse(input.substring(separator + 2));
         } catch (DateTimeParseException e) {
             throw new DateFormatException();
         }
+        return printTasksBetween(from, to);
     }
 
     /**
@@ -327,69 +868,515 @@ public class TaskList {
     public String findTasksWithKeyword(String input) {
         int splitLimit = 2;
         String splitRegex = " ";
-        StringBuilder output;
-        ArrayList<Task> matchingTasks = new ArrayList<>();
 
-        String keyword = input.split(splitRegex, splitLimit)[1].toLowerCase();
+        String keyword = input.split(splitRegex, splitLimit)[1];
+        return printMatchingTasks(findTasks(keyword));
+    }
 
-        for (Task t : tasks) {
-            if (t.getName().toLowerCase().contains(keyword)) {
-                matchingTasks.add(t);
-            }
+    /**
+     * Returns the tasks containing the keyword specified by the user, ordered based on the current ordering of
+     * the list, reading the keyword from user input which has been split into words. The keyword is everything
+     * after the first space following "find", spaces included, so an empty keyword matches every task.
+     *
+     * @param tokens User input, in the form of "find <keyword>", split into words.
+     * @return Copies of the matching tasks.
+     * @throws InvalidInputException If nothing follows "find", not even a space.
+     */
+    public List<Task> findTasks(InputTokens tokens) throws InvalidInputException {
+        String input = tokens.getInput();
+        int keywordStart = tokens.getEnd(0) + 1;
+        if (keywordStart > input.length()) {
+            throw InvalidInputException.getInstance();
+        }
+        return findTasks(input.substring(keywordStart));
+    }
+
+    /**
+     * Returns the tasks containing a keyword, ignoring case, ordered based on the current ordering of the list.
+     * The lock is only held while the matching tasks are looked up and copied.
+     *
+     * @param keyword The keyword.
+     * @return Copies of the matching tasks.
+     */
+    private List<Task> findTasks(String keyword) {
+        synchronized (this) {
+            return List.of(copyTasks(nameIndex.find(keyword.toLowerCase(), tasks).toArray(), null));
         }
+    }
 
-        if (matchingTasks.size() == 0) {
+    /**
+     * Prints tasks which were found with a keyword, numbered in the order they were found.
+     *
+     * @param matchingTasks The matching tasks.
+     * @return Duke's response to the user.
+     */
+    public static String printMatchingTasks(List<Task> matchingTasks) {
+        StringBuilder output;
+        if (matchingTasks.isEmpty()) {
             output = new StringBuilder("You have no matching tasks in your list.");
         } else {
-            int i = 1;
             output = new StringBuilder("Here are the matching tasks in your list:");
-            for (Task t : matchingTasks) {
-                output.append("\n").append(i).append(". ").append(t.toString());
-                i++;
+            for (int i = 0; i < matchingTasks.size(); i++) {
+                output.append("\n").append(i + 1).append(". ").append(matchingTasks.get(i).toString());
             }
         }
 
-        System.out.println(output);
         return output.toString();
     }
 
     /**
-     * Returns the index specified by the user after parsing it as an int.
+     * Prints the tasks matching a query specified by the user, such as "query type:deadline done:false
+     * before:2025-01-01 text:report sort:date limit:20", together with their position in the list and their ID.
+     * If the query starts with "explain", describes how the query would be run instead of running it.
+     * The lock is only held while the query is run, and the matching tasks are rendered after it is released.
      *
-     * @param input User input.
-     * @return Index specified by the user, parsed as an int.
-     * @throws InvalidInputException If the user provided a non-integer index in the user input.
+     * @param input User input containing the query.
+     * @return Duke's response to the user.
+     * @throws QueryFormatException If a term of the query is not understood, or has an invalid value.
+     */
+    public String queryTasks(String input) throws QueryFormatException {
+        String[] sArray = input.trim().split(" +", 2);
+        String terms = sArray.length > 1 ? sArray[1] : "";
+        boolean isExplain = terms.equals("explain") || terms.startsWith("explain ");
+        Query query = Query.parse(isExplain ? terms.substring("explain".length()) : terms);
+
+        StringBuilder output;
+        if (isExplain) {
+            synchronized (this) {
+                output = new StringBuilder("This query will check: " + planner.explain(query));
+            }
+        } else {
+            Task[] matchingTasks;
+            int[] positions;
+            synchronized (this) {
+                int[] slots = planner.run(query);
+                positions = new int[slots.length];
+                matchingTasks = copyTasks(slots, positions);
+            }
+            if (matchingTasks.length == 0) {
+                output = new StringBuilder("You have no matching tasks in your list.");
+            } else {
+                output = new StringBuilder("Here are the matching tasks in your list:");
+                appendListing(output, matchingTasks, positions);
+            }
+        }
+
+        return output.toString();
+    }
+
+    /**
+     * Schedules a reminder for every pending deadline and event in the list of tasks, and for every one added
+     * afterwards, which falls due at the start of the day before its date.
+     *
+     * @param clock The clock which the reminders are timed with.
+     */
+    public synchronized void enableReminders(Clock clock) {
+        reminders = new ReminderScheduler(store, clock);
+        PrimitiveIterator.OfInt slots = tasks.iterator();
+        while (slots.hasNext()) {
+            reminders.schedule(slots.nextInt());
+        }
+    }
+
+    /**
+     * Returns the reminders which fell due since the reminders were last polled, according to their clock.
+     * Reminders of tasks whose date has passed in the meantime are dropped.
+     *
+     * @return The messages reminding the user of each task whose reminder fell due, which are empty if reminders
+     *         are disabled.
+     */
+    public synchronized List<String> pollReminders() {
+        List<String> messages = new ArrayList<>();
+        if (reminders == null) {
+            return messages;
+        }
+
+        IntList due = reminders.poll();
+        long today = reminders.today().toEpochDay();
+        for (int i = 0; i < due.size(); i++) {
+            int slot = due.get(i);
+            long days = store.getEpochDay(slot) - today;
+            if (days < 0) {
+                continue;
+            }
+            String when = days == 0 ? "today" : days == 1 ? "tomorrow" : "in " + days + " days";
+            String what = store.getType(slot) == TaskStore.DEADLINE ? "deadline is due " : "event is happening ";
+            Task task = store.get(slot);
+            messages.add("Reminder: this " + what + when + ":\n#" + task.getId() + " " + task.toString());
+        }
+        return messages;
+    }
+
+    /**
+     * Prints the pending deadlines and events which are due or happening soonest from today, without reordering
+     * the list of tasks.
+     *
+     * @param input User input, in the form of "upcoming <count>", where the count may be omitted.
+     * @return Duke's response to the user.
+     * @throws InvalidInputException If the count is not a positive integer.
+     */
+    public String printUpcomingTasks(String input) throws InvalidInputException {
+        return printUpcomingTasks(input, LocalDate.now());
+    }
+
+    /**
+     * Prints the pending deadlines and events which are due or happening soonest from a date, together with their
+     * position in the list and their ID. Only the tasks which are printed are read from the index.
+     *
+     * @param input User input, in the form of "upcoming <count>", where the count may be omitted.
+     * @param today The current date, from which the upcoming tasks are counted.
+     * @return Duke's response to the user.
+     * @throws InvalidInputException If the count is not a positive integer.
      */
-    private int getIndex(String input) throws InvalidInputException {
+    public String printUpcomingTasks(String input, LocalDate today) throws InvalidInputException {
+        int count = DEFAULT_UPCOMING_COUNT;
+        String[] sArray = input.trim().split(" +");
         try {
-            int offset = 1;
-            String splitRegex = " ";
-            String[] sArray = input.split(splitRegex);
-            return Integer.parseInt(sArray[1]) - offset;
-        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            if (sArray.length > 2) {
+                throw new InvalidInputException();
+            } else if (sArray.length == 2) {
+                count = Integer.parseInt(sArray[1]);
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidInputException();
+        }
+        if (count <= 0) {
+            throw new InvalidInputException();
+        }
+
+        Task[] upcomingTasks;
+        int[] positions;
+        synchronized (this) {
+            int[] slots = upcomingIndex.getNext(DateIndex.toEpochDay(today), count).toArray();
+            positions = new int[slots.length];
+            upcomingTasks = copyTasks(slots, positions);
+        }
+
+        StringBuilder output;
+        if (upcomingTasks.length == 0) {
+            output = new StringBuilder("You have no upcoming deadlines or events.");
+        } else {
+            output = new StringBuilder("Here are your next " + upcomingTasks.length + " deadlines and events:");
+            appendListing(output, upcomingTasks, positions);
+        }
+
+        return output.toString();
+    }
+
+    /**
+     * Prints the pending events held at a specific time which overlap with a window of time, in the order they
+     * start, together with their position in the list and their ID.
+     *
+     * @param input User input, in the form of "busy <date> <time>", where the time may be omitted to check the
+     *              whole day.
+     * @return Duke's response to the user.
+     * @throws InvalidInputException If the user input does not specify a date.
+     * @throws DateFormatException If the specified date or time is incorrectly formatted.
+     */
+    public String printBusyTimes(String input) throws InvalidInputException, DateFormatException {
+        long[] window = parseWindow(input);
+        Task[] events;
+        int[] positions;
+        synchronized (this) {
+            int[] slots = intervalIndex.getOverlapping(window[0], window[1]).toArray();
+            positions = new int[slots.length];
+            events = copyTasks(slots, positions);
+        }
+
+        StringBuilder output;
+        if (events.length == 0) {
+            output = new StringBuilder("You have no events during that time.");
+        } else {
+            output = new StringBuilder("Here are the events during that time:");
+            appendListing(output, events, positions);
+        }
+
+        return output.toString();
+    }
+
+    /**
+     * Prints the periods within a window of time during which no pending event held at a specific time is
+     * happening. The periods are found by walking the overlapping events in the order they start, so that
+     * overlapping events are merged as they are passed.
+     *
+     * @param input User input, in the form of "free <date> <time> /for <minutes>", where the time may be omitted
+     *              to check the whole day, and the minimum length of a period may be omitted.
+     * @return Duke's response to the user.
+     * @throws InvalidInputException If the user input does not specify a date, or the minimum length is not a
+     *                               positive integer.
+     * @throws DateFormatException If the specified date or time is incorrectly formatted.
+     */
+    public String printFreeTimes(String input) throws InvalidInputException, DateFormatException {
+        int splitLimit = 2;
+        String[] sArray = input.split(" /for ", splitLimit);
+        int minLength = 1;
+        if (sArray.length == 2) {
+            try {
+                minLength = Integer.parseInt(sArray[1].trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidInputException();
+            }
+            if (minLength <= 0) {
+                throw new InvalidInputException();
+            }
+        }
+        long[] window = parseWindow(sArray[0]);
+        long[] starts;
+        long[] ends;
+        synchronized (this) {
+            IntList events = intervalIndex.getOverlapping(window[0], window[1]);
+            starts = new long[events.size()];
+            ends = new long[events.size()];
+            for (int i = 0; i < events.size(); i++) {
+                starts[i] = intervalIndex.getStart(events.get(i));
+                ends[i] = intervalIndex.getEnd(events.get(i));
+            }
+        }
+
+        StringBuilder periods = new StringBuilder();
+        long freeFrom = window[0];
+        for (int i = 0; i < starts.length; i++) {
+            if (starts[i] - freeFrom >= minLength) {
+                periods.append("\n").append(renderPeriod(freeFrom, starts[i]));
+            }
+            freeFrom = Math.max(freeFrom, ends[i]);
+        }
+        if (window[1] - freeFrom >= minLength) {
+            periods.append("\n").append(renderPeriod(freeFrom, window[1]));
+        }
+
+        String output = periods.length() == 0
+                ? "You have no free time then."
+                : "Here are your free times:" + periods;
+        return output;
+    }
+
+    /**
+     * Returns the window of time specified in the user input.
+     *
+     * @param input User input, in the form of "<command> <date> <time>", where the time may be omitted to specify
+     *              the whole day.
+     * @return The start and end of the window, in epoch minutes.
+     * @throws InvalidInputException If the user input does not specify a date.
+     * @throws DateFormatException If the specified date or time is incorrectly formatted.
+     */
+    private static long[] parseWindow(String input) throws InvalidInputException, DateFormatException {
+        String[] sArray = input.trim().split(" +");
+        if (sArray.length < 2 || sArray.length > 3) {
             throw new InvalidInputException();
         }
+
+        try {
+            long epochDay = parseDate(sArray[1]).toEpochDay();
+            int[] time = sArray.length == 3 ? Event.parseTime(sArray[2]) : new int[] {0, Event.MINUTES_PER_DAY};
+            long from = epochDay * Event.MINUTES_PER_DAY + time[0];
+            return new long[] {from, from + time[1]};
+        } catch (DateTimeParseException e) {
+            throw new DateFormatException();
+        }
+    }
+
+    /**
+     * Formats a period of time in the same way as the date and time of an event.
+     *
+     * @param from The start of the period, in epoch minutes.
+     * @param to The end of the period, in epoch minutes.
+     * @return The period, formatted as in "Mar 1 2021 09:30-12:00".
+     */
+    private static String renderPeriod(long from, long to) {
+        LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(from, Event.MINUTES_PER_DAY));
+        return date.format(DateTimeFormatter.ofPattern("MMM d yyyy")) + " "
+                + Event.formatTime(Math.floorMod(from, Event.MINUTES_PER_DAY), Math.toIntExact(to - from));
+    }
+
+    /**
+     * Returns the index of the task specified by the user. The user either specifies the 1-based position of the
+     * task in the list, or its ID preceded by '#', which refers to the same task however the list is reordered.
+     *
+     * @param tokens User input, split into words, whose second word specifies the task.
+     * @return The 0-based index of the task specified by the user.
+     * @throws InvalidInputException If the user provided a non-integer index or ID in the user input.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
+     */
+    private int resolveIndex(InputTokens tokens) throws InvalidInputException, TaskNotFoundException {
+        if (tokens.size() < 2) {
+            throw InvalidInputException.getInstance();
+        }
+        return resolveIndex(tokens.getInput(), tokens.getStart(1), tokens.getEnd(1));
+    }
+
+    /**
+     * Returns the index of the task specified by part of the user input, which is read in place.
+     *
+     * @param input User input.
+     * @param start Position of the first character of the index or ID.
+     * @param end Position following the last character of the index or ID.
+     * @return The 0-based index of the task specified by the user.
+     * @throws InvalidInputException If the user provided a non-integer index or ID in the user input.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
+     */
+    private int resolveIndex(String input, int start, int end) throws InvalidInputException, TaskNotFoundException {
+        int offset = 1;
+        boolean isId = start < end && input.charAt(start) == '#';
+        int number = InputTokens.parseNumber(input, isId ? start + 1 : start, end);
+        if (number < 0) {
+            throw InvalidInputException.getInstance();
+        } else if (!isId) {
+            return number - offset;
+        }
+
+        int slot = idIndex.getSlot(number);
+        if (slot == IdIndex.NO_SLOT) {
+            throw new TaskNotFoundException(number);
+        }
+        return tasks.indexOf(slot);
+    }
+
+    /**
+     * Checks whether the user specified several tasks, as a comma-separated list of indices, IDs, and ranges
+     * of indices such as "3,5,9-200".
+     *
+     * @param tokens User input, split into words.
+     * @return True if the user specified several tasks, and false otherwise.
+     */
+    private static boolean isBatch(InputTokens tokens) {
+        return tokens.size() > 1 && (tokens.indexOf(',', tokens.getStart(1), tokens.getEnd(1)) >= 0
+                || tokens.indexOf('-', tokens.getStart(1) + 1, tokens.getEnd(1)) >= 0);
+    }
+
+    /**
+     * Returns the indices of the tasks specified by the user, as a comma-separated list of 1-based indices,
+     * IDs preceded by '#', and inclusive ranges of 1-based indices such as "9-200".
+     *
+     * @param tokens User input, split into words, whose second word is the list.
+     * @return The distinct 0-based indices of the tasks specified by the user, in increasing order.
+     * @throws InvalidInputException If the user provided an incorrectly formatted list.
+     * @throws ListOutOfBoundsException If the user provided an index which is not in the list.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
+     */
+    private int[] resolveIndices(InputTokens tokens) throws InvalidInputException, ListOutOfBoundsException,
+            TaskNotFoundException {
+        String input = tokens.getInput();
+        int end = tokens.getEnd(1);
+        BitSet selected = new BitSet(tasks.size());
+
+        int partStart = tokens.getStart(1);
+        while (partStart < end) {
+            int partEnd = tokens.indexOf(',', partStart, end);
+            partEnd = partEnd < 0 ? end : partEnd;
+            int dash = tokens.indexOf('-', partStart + 1, partEnd);
+            if (dash < 0) {
+                int index = resolveIndex(input, partStart, partEnd);
+                if (index < 0 || index >= tasks.size()) {
+                    throw new ListOutOfBoundsException(tasks.size());
+                }
+                selected.set(index);
+                partStart = partEnd + 1;
+                continue;
+            }
+
+            int from = InputTokens.parseNumber(input, partStart, dash) - 1;
+            int to = InputTokens.parseNumber(input, dash + 1, partEnd) - 1;
+            partStart = partEnd + 1;
+            if (from < -1 || to < -1 || from > to) {
+                throw InvalidInputException.getInstance();
+            } else if (from < 0 || to >= tasks.size()) {
+                throw new ListOutOfBoundsException(tasks.size());
+            }
+            selected.set(from, to + 1);
+        }
+        return selected.stream().toArray();
     }
 
     /**
-     * Marks a task that is specified by the user as done. The user should specify the index of the task
+     * Marks several tasks that are specified by the user as done in one pass, and records them in the journal
+     * as a single change.
+     *
+     * @param tokens User input containing the indices, IDs, or ranges of indices of the tasks, split into words.
+     * @return The result of the change, whose response to the user summarises the change.
+     * @throws InvalidInputException If the user provided an incorrectly formatted list.
+     * @throws ListOutOfBoundsException If the user provided an index which is not in the list.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
+     */
+    private CommandResult markDoneBatch(InputTokens tokens) throws InvalidInputException, ListOutOfBoundsException,
+            TaskNotFoundException {
+        int[] indices = resolveIndices(tokens);
+        int newlyDone = 0;
+        for (int index : indices) {
+            newlyDone += store.isDone(tasks.get(index)) ? 0 : 1;
+            setDone(index);
+        }
+        record(Journal.doneRecord(indices));
+
+        int alreadyDone = indices.length - newlyDone;
+        Supplier<String> output = () -> "Nice! I've marked " + indices.length + " tasks as done ("
+                + alreadyDone + " of them were already done).";
+        return new CommandResult(CommandResult.SUCCESS, List.of(), indices.length, tasks.size(), output);
+    }
+
+    /**
+     * Deletes several tasks that are specified by the user from the list of tasks in one pass, and records them
+     * in the journal as a single change.
+     *
+     * @param tokens User input containing the indices, IDs, or ranges of indices of the tasks, split into words.
+     * @return The result of the change, whose response to the user summarises the change.
+     * @throws InvalidInputException If the user provided an incorrectly formatted list.
+     * @throws ListOutOfBoundsException If the user provided an index which is not in the list.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
+     */
+    private CommandResult deleteBatch(InputTokens tokens) throws InvalidInputException, ListOutOfBoundsException,
+            TaskNotFoundException {
+        int[] indices = resolveIndices(tokens);
+        removeTasks(indices);
+        record(Journal.deleteRecord(indices));
+
+        int size = tasks.size();
+        Supplier<String> output = () -> "Noted. I've removed " + indices.length + " tasks.\n"
+                + "Now you have " + size + " tasks in the list.";
+        return new CommandResult(CommandResult.SUCCESS, List.of(), indices.length, size, output);
+    }
+
+    /**
+     * Marks a task that is specified by the user as done. The user should specify the index or ID of the task
      * in the list which he or she intends to mark as done.
      *
-     * @param input User input containing the index of the task to be marked as done in the list of tasks,
+     * @param input User input containing the index or ID of the task to be marked as done in the list of tasks,
      *              in String format.
      * @return Duke's response to the user.
      * @throws InvalidInputException If the user provided a non-integer index in the user input.
      * @throws ListOutOfBoundsException If the user provided an index which is not in the list.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
      */
-    public String markDone(String input) throws InvalidInputException, ListOutOfBoundsException {
-        int index = getIndex(input);
+    public synchronized String markDone(String input) throws InvalidInputException, ListOutOfBoundsException,
+            TaskNotFoundException {
+        return markDone(new InputTokens(input)).getText();
+    }
+
+    /**
+     * Marks a task, or several tasks, that are specified by the user as done, reading their indices or IDs from
+     * user input which has been split into words.
+     *
+     * @param tokens User input containing the index or ID of the task to be marked as done in the list of tasks,
+     *               split into words.
+     * @return The result of the change, whose response to the user is only rendered when it is displayed.
+     * @throws InvalidInputException If the user provided a non-integer index in the user input.
+     * @throws ListOutOfBoundsException If the user provided an index which is not in the list.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
+     */
+    public synchronized CommandResult markDone(InputTokens tokens) throws InvalidInputException,
+            ListOutOfBoundsException, TaskNotFoundException {
+        if (isBatch(tokens)) {
+            return markDoneBatch(tokens);
+        }
+        int index = resolveIndex(tokens);
 
         try {
-            tasks.get(index).setDone();
+            setDone(index);
+            record(Journal.doneRecord(index));
 
-            String output = "Nice! I've marked this task as done:\n" + tasks.get(index).toString();
-            System.out.println(output);
-            return output;
+            Task done = store.copy(tasks.get(index));
+            Supplier<String> output = () -> "Nice! I've marked this task as done:\n" + done.toString();
+            return new CommandResult(CommandResult.SUCCESS, List.of(done), 1, tasks.size(), output);
         } catch (IndexOutOfBoundsException e) {
             throw new ListOutOfBoundsException(tasks.size());
         }
@@ -397,25 +1384,47 @@ public class TaskList {
 
     /**
      * Deletes a task that is specified by the user from the list of tasks. The user should specify the index
-     * of the task in the list which he or she intends to delete.
+     * or ID of the task in the list which he or she intends to delete.
      *
-     * @param input User input containing the index of the task to be deleted from the list of tasks,
+     * @param input User input containing the index or ID of the task to be deleted from the list of tasks,
      *              in String format.
      * @return Duke's response to the user.
      * @throws InvalidInputException If the user provided a non-integer index in the user input.
      * @throws ListOutOfBoundsException If the user provided an index which is not in the list.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
      */
-    public String deleteTask(String input) throws InvalidInputException, ListOutOfBoundsException {
-        int index = getIndex(input);
+    public synchronized String deleteTask(String input) throws InvalidInputException, ListOutOfBoundsException,
+            TaskNotFoundException {
+        return deleteTask(new InputTokens(input)).getText();
+    }
+
+    /**
+     * Deletes a task, or several tasks, that are specified by the user from the list of tasks, reading their
+     * indices or IDs from user input which has been split into words.
+     *
+     * @param tokens User input containing the index or ID of the task to be deleted from the list of tasks,
+     *               split into words.
+     * @return The result of the change, whose response to the user is only rendered when it is displayed.
+     * @throws InvalidInputException If the user provided a non-integer index in the user input.
+     * @throws ListOutOfBoundsException If the user provided an index which is not in the list.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
+     */
+    public synchronized CommandResult deleteTask(InputTokens tokens) throws InvalidInputException,
+            ListOutOfBoundsException, TaskNotFoundException {
+        if (isBatch(tokens)) {
+            return deleteBatch(tokens);
+        }
+        int index = resolveIndex(tokens);
 
         try {
-            Task t = tasks.remove(index);
+            Task t = removeTask(index);
+            record(Journal.deleteRecord(index));
 
-            String output = "Noted. I've removed this task:\n"
+            int size = tasks.size();
+            Supplier<String> output = () -> "Noted. I've removed this task:\n"
                     + t.toString() + "\n"
-                    + "Now you have " + tasks.size() + " tasks in the list.";
-            System.out.println(output);
-            return output;
+                    + "Now you have " + size + " tasks in the list.";
+            return new CommandResult(CommandResult.SUCCESS, List.of(t), 1, size, output);
         } catch (IndexOutOfBoundsException e) {
             throw new ListOutOfBoundsException(tasks.size());
         }
@@ -424,180 +1433,266 @@ public class TaskList {
     /**
      * Modifies the date of a deadline or event.
      *
-     * @param task The task which the user is trying to modify.
+     * @param index The 0-based index of the task which the user is trying to modify.
      * @param date The new date of the deadline or event.
      * @throws TaskTypeErrorException If the user attempts to modify the date of a non-deadline and non-event.
      * @throws DateFormatException If the specified date is incorrectly formatted.
+     * @throws IndexOutOfBoundsException If there is no task at the specified index.
      */
-    private void editTaskDate(Task task, String date) throws TaskTypeErrorException, DateFormatException {
-        try {
-            if (task instanceof Deadline) {
-                Deadline d = (Deadline) task;
-                d.setDate(LocalDate.parse(date));
-            } else if (task instanceof Event) {
-                Event e = (Event) task;
-                e.setDate(LocalDate.parse(date));
-            } else {
-                throw new TaskTypeErrorException();
-            }
-        } catch (DateTimeParseException e) {
-            throw new DateFormatException();
+    private void editTaskDate(int index, String date) throws TaskTypeErrorException, DateFormatException {
+        int slot = tasks.get(index);
+        if (store.getType(slot) == TaskStore.TODO) {
+            throw new TaskTypeErrorException();
+        }
+
+        long epochDay = TaskInputParser.parseEpochDay(date);
+        if (epochDay == TaskInputParser.INVALID_DAY) {
+            throw DateFormatException.getInstance();
+        }
+
+        int oldEpochDay = store.getEpochDay(slot);
+        store.setDate(slot, LocalDate.ofEpochDay(epochDay));
+        dateIndex.move(slot, oldEpochDay);
+        stats.move(slot, oldEpochDay);
+        upcomingIndex.move(slot, oldEpochDay);
+        intervalIndex.move(slot);
+        if (reminders != null) {
+            reminders.reschedule(slot);
         }
     }
 
     /**
      * Modifies the description of a task.
      *
-     * @param task The task which the user is trying to modify.
+     * @param index The 0-based index of the task which the user is trying to modify.
      * @param description The new description of the task.
+     * @throws IndexOutOfBoundsException If there is no task at the specified index.
      */
-    private void editTaskDescription(Task task, String description) {
-        task.setName(description);
+    private void editTaskDescription(int index, String description) {
+        int slot = tasks.get(index);
+        String oldName = store.getName(slot);
+        store.setName(slot, description);
+        nameIndex.rename(slot, oldName);
     }
 
     /**
      * Edit a task that is specified by the user from the list of tasks. The user should specify the index
-     * of the task in the list which he or she intends to edit, and the new description or date.
+     * or ID of the task in the list which he or she intends to edit, and the new description or date.
      *
-     * @param input User input containing the index of the task to be edited, in String format.
+     * @param input User input containing the index or ID of the task to be edited, in String format.
      * @return Duke's response to the user.
      * @throws InvalidInputException If the user provided a non-integer index in the user input.
      * @throws ListOutOfBoundsException If the user provided an index which is not in the list.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
      * @throws TaskTypeErrorException If the user attempts to modify the date of a non-deadline and non-event.
      * @throws DateFormatException If the specified date is incorrectly formatted.
      */
-    public String editTask(String input) throws InvalidInputException, ListOutOfBoundsException,
-            TaskTypeErrorException, DateFormatException {
-        int index = getIndex(input);
-        int splitLimit = 4;
-        String splitRegex = " ";
-        String[] sArray = input.split(splitRegex, splitLimit);
+    public synchronized String editTask(String input) throws InvalidInputException, ListOutOfBoundsException,
+            TaskNotFoundException, TaskTypeErrorException, DateFormatException {
+        return editTask(new InputTokens(input)).getText();
+    }
 
-        try {
-            int commandType = 2;
-            int leftover = 3;
-            String typeDate = "/date";
-            String typeDescription = "/desc";
-            Task t = tasks.get(index);
-            String originalOutput = t.toString();
-
-            if (sArray.length < 4) {
-                throw new InvalidInputException();
-            }
+    /**
+     * Edit a task that is specified by the user from the list of tasks, reading its index or ID, and the new
+     * description or date, from user input which has been split into words.
+     *
+     * @param tokens User input containing the index or ID of the task to be edited, split into words.
+     * @return The result of the change, whose response to the user is only rendered when it is displayed.
+     * @throws InvalidInputException If the user provided a non-integer index in the user input.
+     * @throws ListOutOfBoundsException If the user provided an index which is not in the list.
+     * @throws TaskNotFoundException If the user provided an ID which no task in the list has.
+     * @throws TaskTypeErrorException If the user attempts to modify the date of a non-deadline and non-event.
+     * @throws DateFormatException If the specified date is incorrectly formatted.
+     */
+    public synchronized CommandResult editTask(InputTokens tokens) throws InvalidInputException,
+            ListOutOfBoundsException, TaskNotFoundException, TaskTypeErrorException, DateFormatException {
+        int index = resolveIndex(tokens);
+        if (index < 0 || index >= tasks.size()) {
+            throw new ListOutOfBoundsException(tasks.size());
+        }
 
-            if (sArray[commandType].equals(typeDate)) {
-                editTaskDate(t, sArray[leftover]);
-            } else if (sArray[commandType].equals(typeDescription)) {
-                editTaskDescription(t, sArray[leftover]);
-            } else {
-                throw new InvalidInputException();
-            }
+        int commandType = 2;
+        int leftover = 3;
+        String typeDate = "/date";
+        String typeDescription = "/desc";
+        int slot = tasks.get(index);
+        String originalOutput = store.get(slot).toString();
 
-            String output = "Noted. I've edited this task:\n"
-                    + originalOutput + "\n \uD83E\uDC13 \n"
-                    + t.toString() + "\n";
-            System.out.println(output);
-            return output;
-        } catch (IndexOutOfBoundsException e) {
-            throw new ListOutOfBoundsException(tasks.size());
+        if (tokens.size() <= leftover) {
+            throw InvalidInputException.getInstance();
         }
+
+        if (tokens.matches(commandType, typeDate)) {
+            editTaskDate(index, tokens.getRest(leftover));
+            record(Journal.dateRecord(index, tokens.getRest(leftover)));
+        } else if (tokens.matches(commandType, typeDescription)) {
+            editTaskDescription(index, tokens.getRest(leftover));
+            record(Journal.descriptionRecord(index, tokens.getRest(leftover)));
+        } else {
+            throw InvalidInputException.getInstance();
+        }
+
+        Task edited = store.copy(slot);
+        Supplier<String> output = () -> "Noted. I've edited this task:\n"
+                + originalOutput + "\n \uD83E\uDC13 \n"
+                + edited.toString() + "\n";
+        return new CommandResult(CommandResult.SUCCESS, List.of(edited), 1, tasks.size(), output);
     }
 
     /**
      * Returns the list of tasks which the user currently has in his/her task list.
      *
-     * @return The list of tasks which the user currently has.
+     * @return A snapshot of the list of tasks which the user currently has.
      */
-    public ArrayList<Task> getTasks() {
-        return tasks;
+    public List<Task> getTasks() {
+        return snapshot();
     }
 
     /**
-     * Function which helps to separate the list of tasks into three separate lists, based on their type.
+     * Returns an immutable snapshot of the list of tasks after the latest complete change, which can be read
+     * while the list of tasks is being changed. The snapshot is copied for each call and is not kept by the task
+     * list, so it is only held in memory for as long as the caller needs it. The tasks are copied a chunk at a
+     * time, so that changes never wait for a long list to be copied, and the copy is started over if a change
+     * was made in between. After a few attempts, the tasks are copied while holding the lock throughout, so that
+     * a reader is never starved by a steady stream of changes.
      *
-     * @param todos The list which will be containing the to-dos.
-     * @param deadlines The list which will be containing the deadlines.
-     * @param events The list which will be containing the events.
+     * @return A snapshot of the list of tasks which the user currently has.
      */
-    private void separateTasksByType(ArrayList<ToDo> todos, ArrayList<Deadline> deadlines, ArrayList<Event> events) {
-        while (!tasks.isEmpty()) {
-            Task t = tasks.remove(0);
-            if (t instanceof ToDo) {
-                todos.add((ToDo) t);
-            } else if (t instanceof Deadline) {
-                deadlines.add((Deadline) t);
-            } else if (t instanceof Event) {
-                events.add((Event) t);
+    public TaskSnapshot snapshot() {
+        for (int i = 0; i < SNAPSHOT_ATTEMPTS; i++) {
+            TaskSnapshot copy = copyTasks(SNAPSHOT_CHUNK_SIZE);
+            if (copy != null) {
+                return copy;
             }
         }
+
+        synchronized (this) {
+            TaskSnapshot copy = copyTasks(Integer.MAX_VALUE);
+            assert(copy != null);
+            return copy;
+        }
     }
 
     /**
-     * Sorts the list of tasks first based on their type, followed by their date.
+     * Copies the tasks in the list of tasks into a snapshot, holding the lock only while each chunk is copied.
+     * If the caller already holds the lock, no change can be made while the tasks are copied.
+     *
+     * @param chunkSize The maximum number of tasks copied while holding the lock, which is positive.
+     * @return A snapshot of the list of tasks, or null if a change was made while it was being copied, which
+     *         never happens if the caller holds the lock.
      */
-    public void sortTasksByTypeAndDate() {
-        ArrayList<ToDo> todos = new ArrayList<>();
-        ArrayList<Deadline> deadlines = new ArrayList<>();
-        ArrayList<Event> events = new ArrayList<>();
+    private TaskSnapshot copyTasks(int chunkSize) {
+        ArrayList<Task> copies = new ArrayList<>();
+        long expectedVersion;
+        synchronized (this) {
+            expectedVersion = version;
+            copies.ensureCapacity(tasks.size());
+        }
 
-        separateTasksByType(todos, deadlines, events);
+        while (true) {
+            synchronized (this) {
+                if (version != expectedVersion) {
+                    return null;
+                }
+                int end = (int) Math.min((long) copies.size() + chunkSize, tasks.size());
+                for (int i = copies.size(); i < end; i++) {
+                    copies.add(store.copy(tasks.get(i)));
+                }
+                if (copies.size() == tasks.size()) {
+                    return TaskSnapshot.of(copies, version, nextId);
+                }
+            }
+        }
+    }
 
-        Collections.sort(deadlines);
-        Collections.sort(events);
+    /**
+     * Replaces the list of tasks with the same tasks in a new order, and rebuilds the indices.
+     *
+     * @param sorted The slots of the tasks in the list of tasks, in their new order.
+     */
+    private void reorder(int[] sorted) {
+        tasks.clear();
+        tasks.addAll(sorted);
+        reindex();
+    }
 
-        tasks.addAll(todos);
-        tasks.addAll(deadlines);
-        tasks.addAll(events);
+    /**
+     * Sorts the list of tasks first based on their type, followed by their date.
+     */
+    public synchronized void sortTasksByTypeAndDate() {
+        reorder(TaskSorter.sortByTypeAndDate(tasks, store));
+        record(Journal.sortRecord("date"));
     }
 
     /**
      * Sorts the list of tasks based on their type.
      */
-    public void sortTasksByType() {
-        ArrayList<ToDo> todos = new ArrayList<>();
-        ArrayList<Deadline> deadlines = new ArrayList<>();
-        ArrayList<Event> events = new ArrayList<>();
-
-        separateTasksByType(todos, deadlines, events);
-
-        tasks.addAll(todos);
-        tasks.addAll(deadlines);
-        tasks.addAll(events);
+    public synchronized void sortTasksByType() {
+        reorder(TaskSorter.sortByType(tasks, store));
+        record(Journal.sortRecord("type"));
     }
 
     /**
      * Sorts the list of tasks based on their name, in alphabetical ordering.
      */
-    public void sortTasksByName() {
-        tasks.sort(new TaskComparator());
+    public synchronized void sortTasksByName() {
+        reorder(TaskSorter.sortByName(tasks, store));
+        record(Journal.sortRecord("name"));
     }
 
     /**
-     * Displays the number of to-dos, deadlines, and events that the user currently has.
+     * Displays the number of to-dos, deadlines, and events that the user currently has, as of today.
      *
      * @return The number of to-dos, deadlines, and events that the user currently has.
      */
     public String displayStats() {
-        int numTodos = 0;
-        int numDeadlines = 0;
-        int numEvents = 0;
-
-        for (Task t : tasks) {
-            if (t instanceof ToDo) {
-                numTodos++;
-            } else if (t instanceof Deadline) {
-                numDeadlines++;
-            } else if (t instanceof Event) {
-                numEvents++;
+        return displayStats(LocalDate.now());
+    }
+
+    /**
+     * Displays the number of to-dos, deadlines, and events that the user currently has, how many of each are done,
+     * the number of overdue deadlines, and the number of upcoming events. The counts are kept up to date as the
+     * list of tasks changes, rather than recounted, and the lock is only held while they are read.
+     *
+     * @param today The current date, which determines the overdue deadlines and upcoming events.
+     * @return The number of to-dos, deadlines, and events that the user currently has.
+     */
+    public String displayStats(LocalDate today) {
+        int[] totals = new int[TaskStore.EVENT + 1];
+        int[] done = new int[TaskStore.EVENT + 1];
+        int overdue;
+        int eventsInWeek;
+        int eventsInMonth;
+        synchronized (this) {
+            for (int type = 0; type < totals.length; type++) {
+                totals[type] = stats.getTotal(type);
+                done[type] = stats.getDone(type);
             }
+            overdue = stats.getOverdue(today, dateIndex);
+            eventsInWeek = dateIndex.countEventsBetween(today, today.plusDays(6));
+            eventsInMonth = dateIndex.countEventsBetween(today, today.plusDays(29));
         }
 
         String output = "Your task list currently consists of:\n"
-                + numTodos + " to-dos,\n"
-                + numDeadlines + " deadlines, and\n"
-                + numEvents + " events.";
-        System.out.println(output);
+                + describeCount(totals[TaskStore.TODO], done[TaskStore.TODO], " to-dos") + ",\n"
+                + describeCount(totals[TaskStore.DEADLINE], done[TaskStore.DEADLINE], " deadlines") + ", and\n"
+                + describeCount(totals[TaskStore.EVENT], done[TaskStore.EVENT], " events") + ".\n\n"
+                + "Overdue deadlines: " + overdue + "\n"
+                + "Events in the next 7 days: " + eventsInWeek + "\n"
+                + "Events in the next 30 days: " + eventsInMonth;
         return output;
     }
 
+    /**
+     * Describes the number of tasks of a type, and how many of them are done.
+     *
+     * @param total The number of tasks of the type.
+     * @param done The number of tasks of the type which are done.
+     * @param label The plural name of the type, preceded by a space.
+     * @return The description of the number of tasks of the type.
+     */
+    private static String describeCount(int total, int done, String label) {
+        return total + label + " (" + done + " done, " + (total - done) + " pending)";
+    }
+
 }
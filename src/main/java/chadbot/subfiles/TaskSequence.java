@@ -0,0 +1,535 @@
+package chadbot.subfiles;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import chadbot.task.Task;
+import chadbot.task.TaskStore;
+
+/**
+ * The TaskSequence class is the order of the tasks in a task list, as a sequence of the slots the tasks occupy in
+ * a TaskStore. It is backed by an implicit treap, which is a randomly balanced binary tree ordered by position.
+ * Each node stores the size of its subtree, so that getting, setting, inserting, and removing the slot at any
+ * position takes O(log n) time, instead of shifting the tail of an array. Each node also knows its parent, so that
+ * the position of a slot can be found in O(log n) time by walking up to the root. The nodes are kept in parallel
+ * arrays, and the nodes of removed slots are reused for later insertions.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class TaskSequence {
+    /** Index of the node which represents an empty subtree. */
+    private static final int NIL = 0;
+
+    /** Initial number of nodes which space is allocated for. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Slot stored at each node. */
+    private int[] values;
+
+    /** Left child of each node. For a free node, this is the next free node instead. */
+    private int[] left;
+
+    /** Right child of each node. */
+    private int[] right;
+
+    /** Parent of each node, which is only meaningful for nodes other than the root. */
+    private int[] parents;
+
+    /** Node which stores each slot, which is only meaningful for slots in the sequence. */
+    private int[] nodesBySlot;
+
+    /** Number of nodes in the subtree rooted at each node. */
+    private int[] sizes;
+
+    /** Random priority of each node. A node never has a higher priority than its parent. */
+    private int[] priorities;
+
+    /** Root of the tree. */
+    private int root;
+
+    /** First node of the list of free nodes. */
+    private int freeList;
+
+    /** Number of nodes which have ever been allocated, including the NIL node. */
+    private int allocated;
+
+    /** State of the generator of node priorities. */
+    private int seed;
+
+    /** Number of times the sequence has been structurally modified, which allows iterators to fail fast. */
+    private int modCount;
+
+    /**
+     * Default constructor for the TaskSequence class, which creates an empty sequence.
+     */
+    public TaskSequence() {
+        values = new int[INITIAL_CAPACITY];
+        left = new int[INITIAL_CAPACITY];
+        right = new int[INITIAL_CAPACITY];
+        parents = new int[INITIAL_CAPACITY];
+        nodesBySlot = new int[INITIAL_CAPACITY];
+        sizes = new int[INITIAL_CAPACITY];
+        priorities = new int[INITIAL_CAPACITY];
+        root = NIL;
+        freeList = NIL;
+        allocated = 1;
+        seed = 0x2545F491;
+    }
+
+    /**
+     * Returns the next node priority, using a xorshift generator.
+     *
+     * @return A pseudo-random priority.
+     */
+    private int nextPriority() {
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        return seed;
+    }
+
+    /**
+     * Allocates a node containing a slot, reusing a free node if there is one.
+     *
+     * @param value The slot stored at the node.
+     * @return The index of the node.
+     */
+    private int newNode(int value) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            if (allocated == values.length) {
+                int capacity = values.length * 2;
+                values = Arrays.copyOf(values, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                sizes = Arrays.copyOf(sizes, capacity);
+                priorities = Arrays.copyOf(priorities, capacity);
+            }
+            node = allocated++;
+        }
+
+        values[node] = value;
+        mapSlot(value, node);
+        left[node] = NIL;
+        right[node] = NIL;
+        sizes[node] = 1;
+        priorities[node] = nextPriority();
+        return node;
+    }
+
+    /**
+     * Records the node which stores a slot.
+     *
+     * @param slot The slot, which is non-negative.
+     * @param node The node which stores the slot.
+     */
+    private void mapSlot(int slot, int node) {
+        if (slot >= nodesBySlot.length) {
+            nodesBySlot = Arrays.copyOf(nodesBySlot, Math.max(slot + 1, nodesBySlot.length * 2));
+        }
+        nodesBySlot[slot] = node;
+    }
+
+    /**
+     * Returns a node to the list of free nodes.
+     *
+     * @param node The node to be freed.
+     */
+    private void freeNode(int node) {
+        right[node] = NIL;
+        left[node] = freeList;
+        freeList = node;
+    }
+
+    /**
+     * Recomputes the size of the subtree rooted at a node from the sizes of its children, and points the children
+     * back at the node.
+     *
+     * @param node The node.
+     */
+    private void update(int node) {
+        sizes[node] = sizes[left[node]] + sizes[right[node]] + 1;
+        parents[left[node]] = node;
+        parents[right[node]] = node;
+    }
+
+    /**
+     * Merges two trees, where every node of the first tree precedes every node of the second tree.
+     *
+     * @param a Root of the first tree.
+     * @param b Root of the second tree.
+     * @return Root of the merged tree.
+     */
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        } else if (b == NIL) {
+            return a;
+        }
+
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        } else {
+            left[b] = merge(a, left[b]);
+            update(b);
+            return b;
+        }
+    }
+
+    /**
+     * Splits a tree into the nodes preceding a position, and the remaining nodes.
+     *
+     * @param node Root of the tree.
+     * @param index The position to split at, which is the number of nodes placed in the first tree.
+     * @param result Array in which the roots of the first and second trees are stored.
+     */
+    private void split(int node, int index, int[] result) {
+        if (node == NIL) {
+            result[0] = NIL;
+            result[1] = NIL;
+            return;
+        }
+
+        if (sizes[left[node]] >= index) {
+            split(left[node], index, result);
+            left[node] = result[1];
+            update(node);
+            result[1] = node;
+        } else {
+            split(right[node], index - sizes[left[node]] - 1, result);
+            right[node] = result[0];
+            update(node);
+            result[0] = node;
+        }
+    }
+
+    /**
+     * Returns the node at a position.
+     *
+     * @param index The 0-based position, which must be within the sequence.
+     * @return The node at the position.
+     */
+    private int nodeAt(int index) {
+        int node = root;
+        while (true) {
+            int leftSize = sizes[left[node]];
+            if (index < leftSize) {
+                node = left[node];
+            } else if (index == leftSize) {
+                return node;
+            } else {
+                index -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * Builds a tree from slots in order, in O(n) time.
+     *
+     * @param slots The slots, in order.
+     * @return Root of the tree.
+     */
+    private int build(int[] slots) {
+        int[] stack = new int[slots.length];
+        int depth = 0;
+        for (int slot : slots) {
+            int node = newNode(slot);
+            int last = NIL;
+            while (depth > 0 && priorities[stack[depth - 1]] < priorities[node]) {
+                last = stack[--depth];
+            }
+            left[node] = last;
+            if (depth > 0) {
+                right[stack[depth - 1]] = node;
+            }
+            stack[depth++] = node;
+        }
+
+        int subtreeRoot = depth > 0 ? stack[0] : NIL;
+        updateAll(subtreeRoot);
+        return subtreeRoot;
+    }
+
+    /**
+     * Recomputes the sizes of every subtree within a tree.
+     *
+     * @param node Root of the tree.
+     */
+    private void updateAll(int node) {
+        if (node == NIL) {
+            return;
+        }
+        updateAll(left[node]);
+        updateAll(right[node]);
+        update(node);
+    }
+
+    /**
+     * Checks that a position refers to a slot within the sequence.
+     *
+     * @param index The 0-based position.
+     * @throws IndexOutOfBoundsException If the position is not within the sequence.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+    }
+
+    /**
+     * Returns the number of slots in the sequence.
+     *
+     * @return The number of slots in the sequence.
+     */
+    public int size() {
+        return sizes[root];
+    }
+
+    /**
+     * Checks whether the sequence contains no slots.
+     *
+     * @return True if the sequence contains no slots, and false otherwise.
+     */
+    public boolean isEmpty() {
+        return root == NIL;
+    }
+
+    /**
+     * Returns the slot at a position, in O(log n) time.
+     *
+     * @param index The 0-based position of the slot.
+     * @return The slot at the position.
+     * @throws IndexOutOfBoundsException If the position is not within the sequence.
+     */
+    public int get(int index) {
+        checkIndex(index);
+        return values[nodeAt(index)];
+    }
+
+    /**
+     * Returns the position of a slot, in O(log n) time.
+     *
+     * @param slot A slot in the sequence.
+     * @return The 0-based position of the slot.
+     */
+    public int indexOf(int slot) {
+        int node = nodesBySlot[slot];
+        assert(values[node] == slot);
+
+        int index = sizes[left[node]];
+        while (node != root) {
+            int parent = parents[node];
+            if (right[parent] == node) {
+                index += sizes[left[parent]] + 1;
+            }
+            node = parent;
+        }
+        return index;
+    }
+
+    /**
+     * Replaces the slot at a position, in O(log n) time.
+     *
+     * @param index The 0-based position of the slot.
+     * @param slot The slot to be stored at the position.
+     * @return The slot which was previously at the position.
+     * @throws IndexOutOfBoundsException If the position is not within the sequence.
+     */
+    public int set(int index, int slot) {
+        checkIndex(index);
+        int node = nodeAt(index);
+        int previous = values[node];
+        values[node] = slot;
+        mapSlot(slot, node);
+        return previous;
+    }
+
+    /**
+     * Appends a slot to the end of the sequence, in O(log n) time.
+     *
+     * @param slot The slot to be appended.
+     */
+    public void add(int slot) {
+        add(size(), slot);
+    }
+
+    /**
+     * Inserts a slot at a position, in O(log n) time.
+     *
+     * @param index The 0-based position which the slot is inserted at.
+     * @param slot The slot to be inserted.
+     * @throws IndexOutOfBoundsException If the position is not within the sequence or at its end.
+     */
+    public void add(int index, int slot) {
+        if (index < 0 || index > size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        int node = newNode(slot);
+        if (index == size()) {
+            root = merge(root, node);
+        } else {
+            int[] parts = new int[2];
+            split(root, index, parts);
+            root = merge(merge(parts[0], node), parts[1]);
+        }
+        modCount++;
+    }
+
+    /**
+     * Removes the slot at a position, in O(log n) time.
+     *
+     * @param index The 0-based position of the slot.
+     * @return The slot which was removed.
+     * @throws IndexOutOfBoundsException If the position is not within the sequence.
+     */
+    public int remove(int index) {
+        checkIndex(index);
+
+        int[] parts = new int[2];
+        split(root, index, parts);
+        int head = parts[0];
+        split(parts[1], 1, parts);
+        int node = parts[0];
+        root = merge(head, parts[1]);
+
+        int slot = values[node];
+        freeNode(node);
+        modCount++;
+        return slot;
+    }
+
+    /**
+     * Appends slots to the end of the sequence, building a tree from them in O(n) time and merging it into
+     * the sequence.
+     *
+     * @param slots The slots to be appended, in order.
+     */
+    public void addAll(int[] slots) {
+        if (slots.length == 0) {
+            return;
+        }
+        root = merge(root, build(slots));
+        modCount++;
+    }
+
+    /**
+     * Removes every slot from the sequence.
+     */
+    public void clear() {
+        root = NIL;
+        freeList = NIL;
+        allocated = 1;
+        modCount++;
+    }
+
+    /**
+     * Returns the slots in the sequence as an array, in order.
+     *
+     * @return A new array containing the slots in the sequence.
+     */
+    public int[] toArray() {
+        int[] slots = new int[size()];
+        PrimitiveIterator.OfInt iterator = iterator();
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = iterator.nextInt();
+        }
+        return slots;
+    }
+
+    /**
+     * Returns an iterator over the slots in the sequence, which walks the tree in order in O(n) time overall.
+     *
+     * @return An iterator over the slots in the sequence.
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int[] stack = new int[16];
+            private int depth = 0;
+            private int expectedModCount = modCount;
+
+            {
+                pushLeft(root);
+            }
+
+            private void pushLeft(int node) {
+                while (node != NIL) {
+                    if (depth == stack.length) {
+                        stack = Arrays.copyOf(stack, depth * 2);
+                    }
+                    stack[depth++] = node;
+                    node = left[node];
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return depth > 0;
+            }
+
+            @Override
+            public int nextInt() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                } else if (depth == 0) {
+                    throw new NoSuchElementException();
+                }
+                int node = stack[--depth];
+                pushLeft(right[node]);
+                return values[node];
+            }
+        };
+    }
+
+    /**
+     * Returns a read-only view of the sequence as a list of tasks, whose elements are views over the tasks
+     * in a store.
+     *
+     * @param store The store which holds the tasks in the sequence.
+     * @return A view of the sequence as a list of tasks.
+     */
+    public List<Task> asTasks(TaskStore store) {
+        return new AbstractList<Task>() {
+            @Override
+            public Task get(int index) {
+                return store.get(TaskSequence.this.get(index));
+            }
+
+            @Override
+            public int size() {
+                return TaskSequence.this.size();
+            }
+
+            @Override
+            public Iterator<Task> iterator() {
+                PrimitiveIterator.OfInt slots = TaskSequence.this.iterator();
+                return new Iterator<Task>() {
+                    @Override
+                    public boolean hasNext() {
+                        return slots.hasNext();
+                    }
+
+                    @Override
+                    public Task next() {
+                        return store.get(slots.nextInt());
+                    }
+                };
+            }
+        };
+    }
+
+}
@@ -0,0 +1,96 @@
+package chadbot.subfiles;
+
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import chadbot.task.Task;
+
+/**
+ * The TaskSnapshot class is an immutable list of tasks, which captures the list of tasks of a task list as it was
+ * after a particular change. A snapshot is copied for whoever asks for it, and is not kept up to date by the task
+ * list, so readers can hold on to a snapshot for as long as they like without blocking or being affected by later
+ * changes, and the copy is released once they are done with it. The tasks in a snapshot are copies which must not
+ * be modified.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class TaskSnapshot extends AbstractList<Task> implements RandomAccess {
+    /** Copies of the tasks, in the order of the list. */
+    private final Task[] tasks;
+
+    /** Number of changes made to the task list before the snapshot was taken. */
+    private final long version;
+
+    /** ID which the task list gives to the next task added to it, or 0 if it is unknown. */
+    private final int nextId;
+
+    /**
+     * Constructor for the TaskSnapshot class.
+     *
+     * @param tasks Copies of the tasks, in the order of the list.
+     * @param version Number of changes made to the task list before the snapshot was taken.
+     * @param nextId ID which the task list gives to the next task added to it.
+     */
+    private TaskSnapshot(Task[] tasks, long version, int nextId) {
+        this.tasks = tasks;
+        this.version = version;
+        this.nextId = nextId;
+    }
+
+    /**
+     * Returns a snapshot which contains the specified tasks.
+     *
+     * @param tasks The tasks, which must not be modified afterwards.
+     * @param version Number of changes made to the task list before the snapshot was taken.
+     * @param nextId ID which the task list gives to the next task added to it, or 0 if it is unknown.
+     * @return A snapshot containing the tasks, in the same order.
+     */
+    static TaskSnapshot of(List<Task> tasks, long version, int nextId) {
+        return new TaskSnapshot(tasks.toArray(new Task[0]), version, nextId);
+    }
+
+    /**
+     * Returns the number of changes made to the task list before the snapshot was taken.
+     *
+     * @return The version of the task list which the snapshot captures.
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the ID which the task list gave to the next task added to it when the snapshot was taken.
+     * Saving it ensures that the IDs of deleted tasks are never given out again.
+     *
+     * @return The next ID, or 0 if it is unknown.
+     */
+    public int getNextId() {
+        return nextId;
+    }
+
+    @Override
+    public Task get(int index) {
+        return tasks[index];
+    }
+
+    @Override
+    public int size() {
+        return tasks.length;
+    }
+
+    /**
+     * Returns an iterator over the tasks in the snapshot, starting from a position, without visiting the tasks
+     * before it.
+     *
+     * @param from The position of the first task to be returned, which may be the size of the snapshot.
+     * @return An iterator over the tasks from the position onwards.
+     */
+    public Iterator<Task> iterator(int from) {
+        return listIterator(from);
+    }
+
+}
@@ -0,0 +1,212 @@
+package chadbot.subfiles;
+
+import java.util.Arrays;
+
+import chadbot.task.TaskStore;
+
+/**
+ * The TaskSorter class sorts the tasks in a task list by their name, type, or type and date. Rather than comparing
+ * tasks through their Comparable implementations, it first partitions the tasks by type in linear time, and then
+ * sorts compact primitive keys read from the columns of the store, each of which packs the sort key of a task
+ * together with its position in the list. Since the position breaks ties, every sort is stable. Large lists of
+ * keys are sorted in parallel.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class TaskSorter {
+    /** Number of keys from which the keys are sorted in parallel. */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Mask which extracts the position of a task from a key. */
+    private static final long POSITION_MASK = 0xFFFFFFFFL;
+
+    /**
+     * Sorts an array of keys, in parallel if it is large.
+     *
+     * @param keys The keys to be sorted.
+     */
+    private static void sortKeys(long[] keys) {
+        if (keys.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+    }
+
+    /**
+     * Partitions tasks by their type in a single pass, keeping their relative order within each type.
+     *
+     * @param tasks The slots of the tasks to be partitioned, in order.
+     * @param store The store which holds the tasks.
+     * @param bounds Array of length TYPE_COUNT + 1, in which the position of the first task of each type is stored,
+     *               followed by the number of tasks.
+     * @return The slots of the partitioned tasks.
+     */
+    private static int[] partitionByType(int[] tasks, TaskStore store, int[] bounds) {
+        int[] counts = new int[TaskStore.TYPE_COUNT];
+        for (int slot : tasks) {
+            counts[store.getType(slot)]++;
+        }
+
+        int[] next = new int[TaskStore.TYPE_COUNT];
+        for (int type = 1; type < TaskStore.TYPE_COUNT; type++) {
+            next[type] = next[type - 1] + counts[type - 1];
+        }
+        System.arraycopy(next, 0, bounds, 0, TaskStore.TYPE_COUNT);
+        bounds[TaskStore.TYPE_COUNT] = tasks.length;
+
+        int[] partitioned = new int[tasks.length];
+        for (int slot : tasks) {
+            partitioned[next[store.getType(slot)]++] = slot;
+        }
+        return partitioned;
+    }
+
+    /**
+     * Stably sorts a range of deadlines or events by their date, using keys which pack the epoch day of each task
+     * above its position within the range.
+     *
+     * @param tasks The slots of the tasks containing the range.
+     * @param store The store which holds the tasks.
+     * @param from Position of the first task in the range.
+     * @param to Position following the last task in the range.
+     */
+    private static void sortRangeByDate(int[] tasks, TaskStore store, int from, int to) {
+        long[] keys = new long[to - from];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) store.getEpochDay(tasks[from + i]) << 32) | i;
+        }
+
+        sortKeys(keys);
+        int[] range = Arrays.copyOfRange(tasks, from, to);
+        for (int i = 0; i < keys.length; i++) {
+            tasks[from + i] = range[(int) (keys[i] & POSITION_MASK)];
+        }
+    }
+
+    /**
+     * Sorts tasks based on their name, in alphabetical ordering. Names are first sorted by a key made of their
+     * first two characters, and only names which share a key are compared in full.
+     *
+     * @param tasks The slots of the tasks to be sorted, in order.
+     * @param store The store which holds the tasks.
+     * @return The slots of the sorted tasks.
+     */
+    public static int[] sortByName(TaskSequence tasks, TaskStore store) {
+        return sortByName(tasks.toArray(), store);
+    }
+
+    /**
+     * Sorts some of the tasks of a task list based on their name, in alphabetical ordering.
+     *
+     * @param unsorted The slots of the tasks to be sorted, in order, which are left unmodified.
+     * @param store The store which holds the tasks.
+     * @return The slots of the sorted tasks.
+     */
+    public static int[] sortByName(int[] unsorted, TaskStore store) {
+        long[] keys = new long[unsorted.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) (store.getNamePrefix(unsorted[i]) ^ Integer.MIN_VALUE) << 32) | i;
+        }
+
+        sortKeys(keys);
+        int[] sorted = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = unsorted[(int) (keys[i] & POSITION_MASK)];
+        }
+
+        int runStart = 0;
+        for (int i = 1; i <= keys.length; i++) {
+            if (i == keys.length || (keys[i] >> 32) != (keys[runStart] >> 32)) {
+                if (i - runStart > 1) {
+                    sortRunByName(sorted, store, runStart, i);
+                }
+                runStart = i;
+            }
+        }
+        return sorted;
+    }
+
+    /**
+     * Stably sorts a range of tasks whose names share the same first two characters, by comparing their names
+     * in full.
+     *
+     * @param tasks The slots of the tasks containing the range.
+     * @param store The store which holds the tasks.
+     * @param from Position of the first task in the range.
+     * @param to Position following the last task in the range.
+     */
+    private static void sortRunByName(int[] tasks, TaskStore store, int from, int to) {
+        Integer[] run = new Integer[to - from];
+        for (int i = 0; i < run.length; i++) {
+            run[i] = tasks[from + i];
+        }
+        Arrays.sort(run, store::compareNames);
+        for (int i = 0; i < run.length; i++) {
+            tasks[from + i] = run[i];
+        }
+    }
+
+    /**
+     * Sorts tasks based on their type, keeping their relative order within each type.
+     *
+     * @param tasks The slots of the tasks to be sorted, in order.
+     * @param store The store which holds the tasks.
+     * @return The slots of the sorted tasks.
+     */
+    public static int[] sortByType(TaskSequence tasks, TaskStore store) {
+        return sortByType(tasks.toArray(), store);
+    }
+
+    /**
+     * Sorts some of the tasks of a task list based on their type, keeping their relative order within each type.
+     *
+     * @param tasks The slots of the tasks to be sorted, in order, which are left unmodified.
+     * @param store The store which holds the tasks.
+     * @return The slots of the sorted tasks.
+     */
+    public static int[] sortByType(int[] tasks, TaskStore store) {
+        return partitionByType(tasks, store, new int[TaskStore.TYPE_COUNT + 1]);
+    }
+
+    /**
+     * Sorts tasks first based on their type, followed by their date. To-dos keep their relative order.
+     *
+     * @param tasks The slots of the tasks to be sorted, in order.
+     * @param store The store which holds the tasks.
+     * @return The slots of the sorted tasks.
+     */
+    public static int[] sortByTypeAndDate(TaskSequence tasks, TaskStore store) {
+        int[] bounds = new int[TaskStore.TYPE_COUNT + 1];
+        int[] sorted = partitionByType(tasks.toArray(), store, bounds);
+        sortRangeByDate(sorted, store, bounds[TaskStore.DEADLINE], bounds[TaskStore.DEADLINE + 1]);
+        sortRangeByDate(sorted, store, bounds[TaskStore.EVENT], bounds[TaskStore.EVENT + 1]);
+        return sorted;
+    }
+
+    /**
+     * Sorts some of the tasks of a task list based on their date alone, so that deadlines and events on the same
+     * date keep their relative order. To-dos have no date, and follow every other task in their relative order.
+     *
+     * @param tasks The slots of the tasks to be sorted, in order, which are left unmodified.
+     * @param store The store which holds the tasks.
+     * @return The slots of the sorted tasks.
+     */
+    public static int[] sortByDate(int[] tasks, TaskStore store) {
+        long[] keys = new long[tasks.length];
+        for (int i = 0; i < keys.length; i++) {
+            long day = store.getType(tasks[i]) == TaskStore.TODO ? Integer.MAX_VALUE : store.getEpochDay(tasks[i]);
+            keys[i] = (day << 32) | i;
+        }
+
+        sortKeys(keys);
+        int[] sorted = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = tasks[(int) (keys[i] & POSITION_MASK)];
+        }
+        return sorted;
+    }
+
+}
@@ -0,0 +1,156 @@
+package chadbot.subfiles;
+
+import java.time.LocalDate;
+
+import chadbot.task.TaskStore;
+
+/**
+ * The TaskStats class keeps the statistics of a task list up to date as the list changes, so that they never
+ * have to be recounted by scanning the list. The number of overdue deadlines depends on the current date, and is
+ * only recounted from the date index when the date changes.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class TaskStats {
+    /** Store which holds the counted tasks. */
+    private TaskStore store;
+
+    /** Number of tasks of each type, indexed by type ordinal. */
+    private int[] totals;
+
+    /** Number of done tasks of each type, indexed by type ordinal. */
+    private int[] done;
+
+    /** Epoch day which the number of overdue deadlines was counted for, if it has been counted. */
+    private long overdueDay;
+
+    /** Indicates whether the number of overdue deadlines has been counted. */
+    private boolean isOverdueCounted;
+
+    /** Number of pending deadlines due before overdueDay. */
+    private int overdue;
+
+    /**
+     * Default constructor for the TaskStats class.
+     *
+     * @param store Store which holds the counted tasks.
+     */
+    public TaskStats(TaskStore store) {
+        this.store = store;
+        totals = new int[TaskStore.TYPE_COUNT];
+        done = new int[TaskStore.TYPE_COUNT];
+    }
+
+    /**
+     * Adjusts the number of overdue deadlines, if a task is a pending deadline which is overdue.
+     *
+     * @param slot The slot of the task.
+     * @param epochDay The date of the task as an epoch day, if it is a deadline.
+     * @param delta 1 if the task was added, and -1 if it was removed or marked as done.
+     */
+    private void countOverdue(int slot, int epochDay, int delta) {
+        if (isOverdueCounted && store.getType(slot) == TaskStore.DEADLINE && !store.isDone(slot)
+                && epochDay < overdueDay) {
+            overdue += delta;
+        }
+    }
+
+    /**
+     * Returns the date of a task as an epoch day, or 0 if it is a to-do.
+     *
+     * @param slot The slot of the task.
+     * @return The date of the task as an epoch day, or 0 if it is a to-do.
+     */
+    private int epochDayOf(int slot) {
+        return store.getType(slot) == TaskStore.TODO ? 0 : store.getEpochDay(slot);
+    }
+
+    /**
+     * Counts a task which was added to the task list.
+     *
+     * @param slot The slot of the task which was added.
+     */
+    public void add(int slot) {
+        byte type = store.getType(slot);
+        totals[type]++;
+        if (store.isDone(slot)) {
+            done[type]++;
+        }
+        countOverdue(slot, epochDayOf(slot), 1);
+    }
+
+    /**
+     * Stops counting a task which is about to be deleted from the task list.
+     *
+     * @param slot The slot of the task which is being deleted.
+     */
+    public void remove(int slot) {
+        byte type = store.getType(slot);
+        totals[type]--;
+        if (store.isDone(slot)) {
+            done[type]--;
+        }
+        countOverdue(slot, epochDayOf(slot), -1);
+    }
+
+    /**
+     * Updates the statistics before a pending task is marked as done.
+     *
+     * @param slot The slot of the task which is about to be marked as done.
+     */
+    public void markDone(int slot) {
+        done[store.getType(slot)]++;
+        countOverdue(slot, epochDayOf(slot), -1);
+    }
+
+    /**
+     * Updates the statistics after the date of a task was modified.
+     *
+     * @param slot The slot of the task whose date was modified.
+     * @param oldEpochDay The date of the task before it was modified, as an epoch day.
+     */
+    public void move(int slot, int oldEpochDay) {
+        countOverdue(slot, oldEpochDay, -1);
+        countOverdue(slot, epochDayOf(slot), 1);
+    }
+
+    /**
+     * Returns the number of tasks of a type.
+     *
+     * @param type The type ordinal.
+     * @return The number of tasks of the type.
+     */
+    public int getTotal(int type) {
+        return totals[type];
+    }
+
+    /**
+     * Returns the number of done tasks of a type.
+     *
+     * @param type The type ordinal.
+     * @return The number of done tasks of the type.
+     */
+    public int getDone(int type) {
+        return done[type];
+    }
+
+    /**
+     * Returns the number of pending deadlines which are due before a date. The number is recounted from
+     * the date index only if it was last counted for a different date.
+     *
+     * @param today The current date.
+     * @param dateIndex The date index of the task list.
+     * @return The number of overdue deadlines.
+     */
+    public int getOverdue(LocalDate today, DateIndex dateIndex) {
+        if (!isOverdueCounted || today.toEpochDay() != overdueDay) {
+            overdue = dateIndex.countPendingDeadlinesBefore(today);
+            overdueDay = today.toEpochDay();
+            isOverdueCounted = true;
+        }
+        return overdue;
+    }
+
+}
@@ -0,0 +1,165 @@
+package chadbot.subfiles;
+
+import java.util.function.IntConsumer;
+
+/**
+ * The TimingWheel class is a hashed timing wheel, which holds timers that expire at a point in time, each carrying
+ * an int. Time is divided into ticks, and each timer is kept in a doubly linked list in the bucket of the tick it
+ * expires at, modulo the number of buckets, so that scheduling and cancelling a timer take O(1) time however many
+ * timers there are. Timers which expire more than one revolution of the wheel away share buckets with nearer ones,
+ * and are skipped until their tick is reached. The wheel never reads the time itself: it is advanced to the current
+ * time by its owner, so that it can be driven by any clock.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class TimingWheel {
+    /** Length of a tick, in milliseconds. */
+    private long tickMillis;
+
+    /** Time at which tick 0 starts, in milliseconds since the epoch. */
+    private long startMillis;
+
+    /** Last tick whose timers have expired. */
+    private long currentTick;
+
+    /** Sentinel of the list of timers in each bucket, of which there are a power of two. */
+    private Timer[] buckets;
+
+    /** Number of timers which are scheduled. */
+    private int size;
+
+    /**
+     * Default constructor for the TimingWheel class.
+     *
+     * @param tickMillis Length of a tick, in milliseconds, which is positive.
+     * @param bucketCount Number of buckets, which is a power of two.
+     * @param startMillis The current time, in milliseconds since the epoch.
+     */
+    public TimingWheel(long tickMillis, int bucketCount, long startMillis) {
+        assert(tickMillis > 0 && bucketCount > 0 && Integer.bitCount(bucketCount) == 1);
+
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        buckets = new Timer[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Timer(0, 0);
+            buckets[i].previous = buckets[i];
+            buckets[i].next = buckets[i];
+        }
+    }
+
+    /**
+     * Returns the number of timers which are scheduled.
+     *
+     * @return The number of timers which have neither expired nor been cancelled.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Schedules a timer. A timer which should already have expired expires when the wheel next moves to a new tick.
+     *
+     * @param value The value carried by the timer.
+     * @param atMillis The time at which the timer expires, in milliseconds since the epoch.
+     * @return The timer, which can be cancelled.
+     */
+    public Timer schedule(int value, long atMillis) {
+        long tick = Math.max(Math.floorDiv(atMillis - startMillis + tickMillis - 1, tickMillis), currentTick + 1);
+        Timer timer = new Timer(value, tick);
+        Timer bucket = buckets[(int) (tick & (buckets.length - 1))];
+        timer.previous = bucket.previous;
+        timer.next = bucket;
+        bucket.previous.next = timer;
+        bucket.previous = timer;
+        size++;
+        return timer;
+    }
+
+    /**
+     * Cancels a timer, if it has neither expired nor been cancelled yet.
+     *
+     * @param timer The timer.
+     */
+    public void cancel(Timer timer) {
+        if (timer.next == null) {
+            return;
+        }
+        timer.previous.next = timer.next;
+        timer.next.previous = timer.previous;
+        timer.previous = null;
+        timer.next = null;
+        size--;
+    }
+
+    /**
+     * Advances the wheel to the current time, expiring every timer whose time has come. If more than a whole
+     * revolution has passed, every bucket is visited once instead of once per revolution.
+     *
+     * @param nowMillis The current time, in milliseconds since the epoch.
+     * @param action The action performed with the value of each timer which expires.
+     */
+    public void advanceTo(long nowMillis, IntConsumer action) {
+        long targetTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (targetTick - currentTick >= buckets.length) {
+            for (Timer bucket : buckets) {
+                expire(bucket, targetTick, action);
+            }
+        } else {
+            for (long tick = currentTick + 1; tick <= targetTick; tick++) {
+                expire(buckets[(int) (tick & (buckets.length - 1))], tick, action);
+            }
+        }
+        currentTick = Math.max(currentTick, targetTick);
+    }
+
+    /**
+     * Expires the timers of a bucket which expire at or before a tick.
+     *
+     * @param bucket The sentinel of the bucket.
+     * @param tick The tick.
+     * @param action The action performed with the value of each timer which expires.
+     */
+    private void expire(Timer bucket, long tick, IntConsumer action) {
+        Timer timer = bucket.next;
+        while (timer != bucket) {
+            Timer next = timer.next;
+            if (timer.tick <= tick) {
+                cancel(timer);
+                action.accept(timer.value);
+            }
+            timer = next;
+        }
+    }
+
+    /**
+     * The Timer class is a timer scheduled on a timing wheel, which is a node of the list of its bucket.
+     */
+    public static class Timer {
+        /** Value carried by the timer. */
+        private int value;
+
+        /** Tick at which the timer expires. */
+        private long tick;
+
+        /** Previous node of the list of the bucket, or null if the timer is not scheduled. */
+        private Timer previous;
+
+        /** Next node of the list of the bucket, or null if the timer is not scheduled. */
+        private Timer next;
+
+        /**
+         * Default constructor for the Timer class.
+         *
+         * @param value Value carried by the timer.
+         * @param tick Tick at which the timer expires.
+         */
+        private Timer(int value, long tick) {
+            this.value = value;
+            this.tick = tick;
+        }
+    }
+
+}
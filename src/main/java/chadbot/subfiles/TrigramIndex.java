@@ -0,0 +1,256 @@
+package chadbot.subfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+
+import chadbot.task.TaskStore;
+
+/**
+ * The TrigramIndex class is an inverted index from every sequence of three consecutive characters in the
+ * lowercased descriptions of tasks, to the slots of the tasks whose description contains it. A keyword search
+ * only checks the tasks which contain every trigram of the keyword, instead of every task in the task list.
+ * Search results match a case-insensitive substring search, and are in the order they appear in the task list.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class TrigramIndex {
+    /** Number of characters in each indexed sequence. */
+    private static final int GRAM_LENGTH = 3;
+
+    /** Store which holds the indexed tasks. */
+    private TaskStore store;
+
+    /** Slots of the tasks containing each trigram, in the order they appear in the task list. */
+    private HashMap<Long, IntList> postings;
+
+    /** Keys which order the indexed tasks in the same way as the task list, indexed by slot. */
+    private long[] orderKeys;
+
+    /** Order key which is given to the next task added to the end of the task list. */
+    private long nextOrderKey;
+
+    /**
+     * Default constructor for the TrigramIndex class.
+     *
+     * @param store Store which holds the indexed tasks.
+     */
+    public TrigramIndex(TaskStore store) {
+        this.store = store;
+        postings = new HashMap<>();
+        orderKeys = new long[16];
+    }
+
+    /**
+     * Packs the trigram starting at a position of a String into a single key.
+     *
+     * @param s The String containing the trigram.
+     * @param start Position of the first character of the trigram.
+     * @return The key of the trigram.
+     */
+    private static long gramAt(String s, int start) {
+        return ((long) s.charAt(start) << 32) | ((long) s.charAt(start + 1) << 16) | s.charAt(start + 2);
+    }
+
+    /**
+     * Returns the distinct trigrams of the lowercased form of a description.
+     *
+     * @param name The description.
+     * @return The keys of the distinct trigrams of the description in lowercase.
+     */
+    private static Set<Long> gramsOf(String name) {
+        String s = name.toLowerCase();
+        Set<Long> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= s.length(); i++) {
+            grams.add(gramAt(s, i));
+        }
+        return grams;
+    }
+
+    /**
+     * Returns the position of the first slot within a posting list, starting from a position, whose order key
+     * is not less than the specified one.
+     *
+     * @param posting The posting list, in the order of the task list.
+     * @param from The position to start searching from.
+     * @param orderKey The order key.
+     * @return The position of the first slot whose order key is not less than the specified one.
+     */
+    private int search(IntList posting, int from, long orderKey) {
+        int low = from;
+        int high = posting.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (orderKeys[posting.get(mid)] < orderKey) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Indexes a task which was added to the end of the task list.
+     *
+     * @param slot The slot of the task which was added.
+     */
+    public void add(int slot) {
+        if (slot >= orderKeys.length) {
+            orderKeys = Arrays.copyOf(orderKeys, Math.max(slot + 1, orderKeys.length * 2));
+        }
+        orderKeys[slot] = nextOrderKey++;
+        for (long gram : gramsOf(store.getName(slot))) {
+            postings.computeIfAbsent(gram, g -> new IntList()).add(slot);
+        }
+    }
+
+    /**
+     * Removes a task which is about to be deleted from the task list from the index.
+     *
+     * @param slot The slot of the task which is being deleted.
+     */
+    public void remove(int slot) {
+        unlink(slot, store.getName(slot));
+    }
+
+    /**
+     * Re-indexes a task whose description was modified, keeping its position relative to the other tasks in the
+     * task list.
+     *
+     * @param slot The slot of the task whose description was modified.
+     * @param oldName The description of the task before it was modified.
+     */
+    public void rename(int slot, String oldName) {
+        unlink(slot, oldName);
+        for (long gram : gramsOf(store.getName(slot))) {
+            IntList posting = postings.computeIfAbsent(gram, g -> new IntList());
+            posting.add(search(posting, 0, orderKeys[slot]), slot);
+        }
+    }
+
+    /**
+     * Rebuilds the index after the task list was reordered.
+     *
+     * @param tasks The slots of the tasks in the task list, in their new order.
+     */
+    public void rebuild(TaskSequence tasks) {
+        postings.clear();
+        nextOrderKey = 0;
+        PrimitiveIterator.OfInt slots = tasks.iterator();
+        while (slots.hasNext()) {
+            add(slots.nextInt());
+        }
+    }
+
+    /**
+     * Removes a task from the posting lists of the trigrams of its indexed description.
+     *
+     * @param slot The slot of the task to be removed.
+     * @param name The indexed description of the task.
+     */
+    private void unlink(int slot, String name) {
+        for (long gram : gramsOf(name)) {
+            IntList posting = postings.get(gram);
+            posting.remove(search(posting, 0, orderKeys[slot]));
+            if (posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Returns the slots of the tasks whose description contains a keyword, ignoring case, in the order they
+     * appear in the task list.
+     *
+     * @param keyword The keyword, in lowercase.
+     * @param tasks The slots of the tasks in the task list, which are scanned if the keyword is too short to be
+     *              looked up.
+     * @return The slots of the tasks whose description contains the keyword.
+     */
+    public IntList find(String keyword, TaskSequence tasks) {
+        IntList matchingTasks = new IntList();
+        if (keyword.length() < GRAM_LENGTH) {
+            PrimitiveIterator.OfInt slots = tasks.iterator();
+            while (slots.hasNext()) {
+                int slot = slots.nextInt();
+                if (store.nameContains(slot, keyword)) {
+                    matchingTasks.add(slot);
+                }
+            }
+            return matchingTasks;
+        }
+
+        IntList candidates = intersect(keyword);
+        for (int i = 0; i < candidates.size(); i++) {
+            if (store.nameContains(candidates.get(i), keyword)) {
+                matchingTasks.add(candidates.get(i));
+            }
+        }
+        return matchingTasks;
+    }
+
+    /**
+     * Estimates the number of tasks which a search for a keyword checks, which is the length of the shortest
+     * posting list of its trigrams, without checking any task.
+     *
+     * @param keyword The keyword, in lowercase.
+     * @return An upper bound on the number of tasks whose description contains the keyword, or -1 if the keyword
+     *         is too short to be looked up.
+     */
+    public int estimate(String keyword) {
+        if (keyword.length() < GRAM_LENGTH) {
+            return -1;
+        }
+
+        int shortest = Integer.MAX_VALUE;
+        for (long gram : gramsOf(keyword)) {
+            IntList posting = postings.get(gram);
+            shortest = Math.min(shortest, posting == null ? 0 : posting.size());
+        }
+        return shortest;
+    }
+
+    /**
+     * Returns the slots of the tasks containing every trigram of a keyword, starting from the shortest
+     * posting list, so that as few tasks as possible are checked.
+     *
+     * @param keyword The keyword, containing at least one trigram.
+     * @return The slots of the tasks containing every trigram of the keyword, in the order of the task list.
+     */
+    private IntList intersect(String keyword) {
+        List<IntList> lists = new ArrayList<>();
+        for (long gram : gramsOf(keyword)) {
+            IntList posting = postings.get(gram);
+            if (posting == null) {
+                return new IntList();
+            }
+            lists.add(posting);
+        }
+        lists.sort(Comparator.comparingInt(IntList::size));
+
+        IntList candidates = lists.get(0);
+        for (int i = 1; i < lists.size() && !candidates.isEmpty(); i++) {
+            IntList posting = lists.get(i);
+            IntList remaining = new IntList();
+            int from = 0;
+            for (int j = 0; j < candidates.size(); j++) {
+                int slot = candidates.get(j);
+                from = search(posting, from, orderKeys[slot]);
+                if (from < posting.size() && posting.get(from) == slot) {
+                    remaining.add(slot);
+                }
+            }
+            candidates = remaining;
+        }
+        return candidates;
+    }
+
+}
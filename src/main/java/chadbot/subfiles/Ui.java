@@ -1,9 +1,13 @@
 package chadbot.subfiles;
 
+import java.io.Writer;
 import java.util.Scanner;
 
+import chadbot.command.CommandResult;
+
 /**
- * The Ui class manages interactions with the user, based on user input.
+ * The Ui class manages interactions with the user, based on user input. Every message displayed to the user goes
+ * through the output sink owned by the Ui, which discards them until another sink is set, as in the GUI.
  *
  * @author  arsatis
  * @version 1.2
@@ -13,18 +17,58 @@ public class Ui {
     /** Scanner class used to read user input. */
     private Scanner sc;
 
+    /** Sink which every message displayed to the user is written to. */
+    private OutputSink sink;
+
     /**
      * Default constructor for the Ui class.
      */
     public Ui() {
         sc = new Scanner(System.in);
+        sink = new NullSink();
+    }
+
+    /**
+     * Replaces the sink which every message displayed to the user is written to.
+     *
+     * @param sink The new sink.
+     */
+    public void setSink(OutputSink sink) {
+        assert(sink != null);
+        this.sink = sink;
+    }
+
+    /**
+     * Checks whether long responses, such as the list of tasks, are streamed to the sink instead of being built
+     * as a single String.
+     *
+     * @return True if long responses are streamed, and false otherwise.
+     */
+    public boolean isStreaming() {
+        return sink.getWriter() != null;
+    }
+
+    /**
+     * Returns the writer which long responses are streamed to.
+     *
+     * @return The writer of the sink, or null if responses are not streamed.
+     */
+    public Writer getWriter() {
+        return sink.getWriter();
+    }
+
+    /**
+     * Writes every message displayed so far, and releases the sink.
+     */
+    public void close() {
+        sink.close();
     }
 
     /**
      * Greets the user upon execution of the program.
      */
     public void greet() {
-        System.out.println("Welcome to Chadbot.\nWhat can I do for you?");
+        sink.print("Welcome to Chadbot.\nWhat can I do for you?");
         showLine();
     }
 
@@ -32,8 +76,9 @@ public class Ui {
      * Bids the user farewell before termination of the program.
      */
     public void bye() {
-        System.out.println("Bye. Hope to see you again soon!");
+        sink.print("Bye. Hope to see you again soon!");
         sc.close();
+        close();
     }
 
     /**
@@ -49,23 +94,41 @@ public class Ui {
      * Displays a horizontal line on the GUI.
      */
     public void showLine() {
-        System.out.println("__________");
+        sink.print("__________");
     }
 
     /**
      * Displays a horizontal line of dots on the GUI.
      */
     public void showDots() {
-        System.out.println("..........");
+        sink.print("..........");
     }
 
     /**
-     * Displays the error message produced by a command.
+     * Displays the response of a command, unless it is empty because the response was streamed. The response
+     * is not rendered at all if the sink discards it.
      *
-     * @param s The error message produced by the command.
+     * @param result The result of the command.
      */
-    public void showError(String s) {
-        System.out.println(s);
+    public void showResponse(CommandResult result) {
+        if (sink.isDiscarding()) {
+            return;
+        }
+
+        String s = result.getText();
+        if (!s.isEmpty()) {
+            sink.print(s);
+        }
+    }
+
+    /**
+     * Displays a reminder which fell due, while the program waits for user input.
+     *
+     * @param s The message of the reminder.
+     */
+    public void showReminder(String s) {
+        sink.print(s);
+        showLine();
     }
 
     /**
@@ -84,15 +147,21 @@ public class Ui {
                 + " and date into your list of tasks.\n"
                 + "Enter \"event <description> /at <date>\" to add an event with the specified description"
                 + " and date into your list of tasks.\n"
+                + "Enter \"event <description> /at <date> HH:mm-HH:mm\" to add an event held at the specified"
+                + " time, which may end with \"+<days>\" if it ends on a later day.\n"
                 + "--------------------------------------------------\n"
                 + "Enter \"list\" to display the list of tasks you currently have.\n"
+                + "Enter \"list /page <page> /size <size>\" to display a single page of your list of tasks.\n"
                 + "Enter \"list <date>\" to display the list of deadlines due and events happening on your"
                 + " specified date.\n"
+                + "Enter \"list <from>..<to>\" to display the list of deadlines due and events happening between"
+                + " your specified dates, inclusive.\n"
                 + "--------------------------------------------------\n"
                 + "Enter \"delete <index>\" to delete a task at the specified index.\n"
+                + "Enter \"delete #<id>\" to delete the task with the specified ID, as shown by \"list\".\n"
+                + "Enter \"delete 3,5,9-20\" to delete several tasks at once.\n"
                 + "--------------------------------------------------\n"
                 + "Enter \"bye\" to terminate the program.\n";
-        System.out.println(helpPage);
         return helpPage;
     }
 
@@ -113,15 +182,25 @@ public class Ui {
                 + " index.\n"
                 + "--------------------------------------------------\n"
                 + "Enter \"done <index>\" to mark a task at the specified index as done.\n"
+                + "Enter \"done 1-5,#8\" to mark several tasks as done at once.\n"
+                + "You may also refer to a task by its ID, as in \"edit #<id>\" or \"done #<id>\", which stays the"
+                + " same when your list is sorted.\n"
                 + "--------------------------------------------------\n"
                 + "Enter \"find <keyword>\" to find tasks containing the specified keyword.\n"
+                + "Enter \"query type:deadline done:false before:2025-01-01 text:report sort:date limit:20\" to find"
+                + " tasks matching every term, where each term is optional.\n"
+                + "Enter \"upcoming <count>\" to see your pending deadlines and events which are due soonest.\n"
+                + "Enter \"busy <date> HH:mm-HH:mm\" to see your events during that time, or on that date if the"
+                + " time is omitted.\n"
+                + "Enter \"free <date> HH:mm-HH:mm /for <minutes>\" to see when you have at least that many"
+                + " minutes free.\n"
                 + "--------------------------------------------------\n"
                 + "Enter \"sort\" to sort your list of tasks into alphabetical ordering.\n"
                 + "Enter \"sort /by type\" to sort your list of tasks by their type.\n"
                 + "Enter \"sort /by date\" to sort your list of tasks first by their type, then by their date.\n"
                 + "--------------------------------------------------\n"
-                + "Enter \"stats\" to see the number of to-dos, deadlines, and events you currently have.\n";
-        System.out.println(helpPage);
+                + "Enter \"stats\" to see the number of to-dos, deadlines, and events you currently have,"
+                + " as well as your overdue deadlines and upcoming events.\n";
         return helpPage;
     }
 
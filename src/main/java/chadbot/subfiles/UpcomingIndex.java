@@ -0,0 +1,110 @@
+package chadbot.subfiles;
+
+import java.util.Iterator;
+import java.util.TreeSet;
+
+import chadbot.task.TaskStore;
+
+/**
+ * The UpcomingIndex class keeps the pending deadlines and events of a task list ordered by their date, so that
+ * the ones due or happening soonest from a date can be read without sorting or scanning the task list. Each task
+ * is kept as a key which packs its epoch day above its slot, so tasks on the same date are ordered by slot, and
+ * the index is updated in O(log n) time whenever a task is added, removed, marked as done, or moved to a new date.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class UpcomingIndex {
+    /** Mask which extracts the slot of a task from a key. */
+    private static final long SLOT_MASK = 0xFFFFFFFFL;
+
+    /** Store which holds the indexed tasks. */
+    private TaskStore store;
+
+    /** Keys of the pending deadlines and events, in order of their date. */
+    private TreeSet<Long> keys;
+
+    /**
+     * Default constructor for the UpcomingIndex class.
+     *
+     * @param store Store which holds the indexed tasks.
+     */
+    public UpcomingIndex(TaskStore store) {
+        this.store = store;
+        keys = new TreeSet<>();
+    }
+
+    /**
+     * Returns the key of a task on a date.
+     *
+     * @param slot The slot of the task.
+     * @param epochDay The date of the task, as an epoch day.
+     * @return The key of the task.
+     */
+    private static long keyOf(int slot, int epochDay) {
+        return ((long) epochDay << 32) | slot;
+    }
+
+    /**
+     * Checks whether a task belongs in the index, which it does if it is a pending deadline or event.
+     *
+     * @param slot The slot of the task.
+     * @return True if the task is a pending deadline or event, and false otherwise.
+     */
+    private boolean isIndexed(int slot) {
+        return store.getType(slot) != TaskStore.TODO && !store.isDone(slot);
+    }
+
+    /**
+     * Indexes a task which was added to the task list, if it is a pending deadline or event.
+     *
+     * @param slot The slot of the task which was added.
+     */
+    public void add(int slot) {
+        if (isIndexed(slot)) {
+            keys.add(keyOf(slot, store.getEpochDay(slot)));
+        }
+    }
+
+    /**
+     * Removes a task which is about to be deleted from the task list, or marked as done, from the index.
+     *
+     * @param slot The slot of the task which is being deleted or marked as done.
+     */
+    public void remove(int slot) {
+        if (isIndexed(slot)) {
+            keys.remove(keyOf(slot, store.getEpochDay(slot)));
+        }
+    }
+
+    /**
+     * Moves a task whose date was modified to its new position in the index.
+     *
+     * @param slot The slot of the task whose date was modified.
+     * @param oldEpochDay The date of the task before it was modified, as an epoch day.
+     */
+    public void move(int slot, int oldEpochDay) {
+        if (isIndexed(slot)) {
+            keys.remove(keyOf(slot, oldEpochDay));
+            keys.add(keyOf(slot, store.getEpochDay(slot)));
+        }
+    }
+
+    /**
+     * Returns the pending deadlines and events which are due or happening soonest, on or after a date.
+     *
+     * @param fromDay The first epoch day which is considered.
+     * @param count The maximum number of tasks to be returned.
+     * @return The slots of the tasks, in order of their date.
+     */
+    public IntList getNext(int fromDay, int count) {
+        IntList slots = new IntList();
+        Iterator<Long> iterator = keys.tailSet(keyOf(0, fromDay), true).iterator();
+        while (slots.size() < count && iterator.hasNext()) {
+            slots.add((int) (iterator.next() & SLOT_MASK));
+        }
+        return slots;
+    }
+
+}
@@ -0,0 +1,156 @@
+package chadbot.subfiles;
+
+/**
+ * The WriteBehindSaver class saves a task list on a background thread, so that the thread handling user input
+ * never waits for the save file to be written. Bursts of changes are coalesced into a single save, which happens
+ * once no change has been made for a quiet period, or once the oldest unsaved change reaches a maximum delay.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class WriteBehindSaver implements Runnable {
+    /** Storage which the task list is saved with. */
+    private Storage storage;
+
+    /** The task list which is saved. */
+    private TaskList taskList;
+
+    /** Number of milliseconds without changes after which the task list is saved. */
+    private long quietPeriod;
+
+    /** Maximum number of milliseconds a change may remain unsaved. */
+    private long maxDelay;
+
+    /** Version of the task list which was last saved. */
+    private long savedVersion;
+
+    /** Time at which the oldest unsaved change was reported, or -1 if every change has been saved. */
+    private long firstChange;
+
+    /** Time at which the latest unsaved change was reported. */
+    private long lastChange;
+
+    /** Indicates whether the saver has been shut down. */
+    private boolean isShutdown;
+
+    /** The background thread which saves the task list. */
+    private Thread thread;
+
+    /**
+     * Default constructor for the WriteBehindSaver class.
+     *
+     * @param storage Storage which the task list is saved with.
+     * @param taskList The task list which is saved.
+     * @param quietPeriod Number of milliseconds without changes after which the task list is saved.
+     * @param maxDelay Maximum number of milliseconds a change may remain unsaved.
+     */
+    public WriteBehindSaver(Storage storage, TaskList taskList, long quietPeriod, long maxDelay) {
+        assert(quietPeriod >= 0 && maxDelay >= quietPeriod);
+
+        this.storage = storage;
+        this.taskList = taskList;
+        this.quietPeriod = quietPeriod;
+        this.maxDelay = maxDelay;
+        savedVersion = taskList.getVersion();
+        firstChange = -1;
+    }
+
+    /**
+     * Starts the background thread which saves the task list.
+     */
+    public void start() {
+        thread = new Thread(this, "chadbot-saver");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reports that the task list may have changed. This never waits for a save to complete.
+     */
+    public synchronized void markDirty() {
+        if (taskList.getVersion() == savedVersion) {
+            return;
+        }
+
+        lastChange = System.currentTimeMillis();
+        if (firstChange < 0) {
+            firstChange = lastChange;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Waits until a save is due, and saves the task list, until the saver is shut down.
+     */
+    @Override
+    public void run() {
+        try {
+            while (awaitSave()) {
+                save();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits until either the quiet period has passed since the latest change, or the maximum delay has passed
+     * since the oldest unsaved change.
+     *
+     * @return True if a save is due, and false if the saver has been shut down.
+     * @throws InterruptedException If the background thread is interrupted while waiting.
+     */
+    private synchronized boolean awaitSave() throws InterruptedException {
+        while (!isShutdown) {
+            if (firstChange < 0) {
+                wait();
+                continue;
+            }
+
+            long due = Math.min(lastChange + quietPeriod, firstChange + maxDelay);
+            long remaining = due - System.currentTimeMillis();
+            if (remaining <= 0) {
+                firstChange = -1;
+                return true;
+            }
+            wait(remaining);
+        }
+        return false;
+    }
+
+    /**
+     * Saves the task list if it has changed since it was last saved.
+     */
+    private void save() {
+        long version = taskList.getVersion();
+        if (version == savedVersion) {
+            return;
+        }
+
+        storage.saveData(taskList);
+        synchronized (this) {
+            savedVersion = version;
+        }
+    }
+
+    /**
+     * Stops the background thread, and saves any change which has not been saved yet.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            isShutdown = true;
+            notifyAll();
+        }
+
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        save();
+    }
+
+}
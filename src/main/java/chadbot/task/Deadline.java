@@ -29,13 +29,23 @@ public class Deadline extends Task implements Comparable<Deadline> {
         assert(this.name != null && this.date != null);
     }
 
+    /**
+     * Constructor for the Deadline class, which creates a view over a slot of a TaskStore.
+     *
+     * @param store Store which holds the fields of the deadline.
+     * @param slot Slot of the deadline in the store.
+     */
+    Deadline(TaskStore store, int slot) {
+        super(store, slot);
+    }
+
     /**
      * Returns the date the Deadline is due on, formatted as a String.
      *
      * @return The date the Deadline is due on, formatted as a String.
      */
     public String getDate() {
-        return date.toString();
+        return getDateAsLocalDate().toString();
     }
 
     /**
@@ -44,14 +54,18 @@ public class Deadline extends Task implements Comparable<Deadline> {
      * @return The date the Deadline is due on, formatted as a LocalDate.
      */
     public LocalDate getDateAsLocalDate() {
-        return date;
+        return store == null ? date : store.getDate(slot);
     }
 
     /**
      * Modifies the date the Deadline is due on.
      */
     public void setDate(LocalDate date) {
-        this.date = date;
+        if (store == null) {
+            this.date = date;
+        } else {
+            store.setDate(slot, date);
+        }
     }
 
     /**
@@ -62,8 +76,8 @@ public class Deadline extends Task implements Comparable<Deadline> {
      */
     @Override
     public String toString() {
-        return "[D][" + (isDone ? "X" : " ") + "] " + name + " (by: "
-                + date.format(DateTimeFormatter.ofPattern("MMM d yyyy")) + ")";
+        return "[D][" + (isDone() ? "X" : " ") + "] " + getName() + " (by: "
+                + getDateAsLocalDate().format(DateTimeFormatter.ofPattern("MMM d yyyy")) + ")";
     }
 
     /**
@@ -74,7 +88,7 @@ public class Deadline extends Task implements Comparable<Deadline> {
      */
     @Override
     public int compareTo(Deadline other) {
-        return date.compareTo(other.getDateAsLocalDate());
+        return getDateAsLocalDate().compareTo(other.getDateAsLocalDate());
     }
 
 }
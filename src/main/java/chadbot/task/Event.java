@@ -1,32 +1,191 @@
 package chadbot.task;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
 
 /**
  * The Event class represents a single event created by the user via user input to the Duke program.
  * It contains functions which enable the user to mark the task as done,
- * and a date which the event is held on.
+ * and a date which the event is held on. An event is either held all day, or from a start time for a duration,
+ * which may run past midnight.
  *
  * @author  arsatis
  * @version 1.2
  * @since   2021-02-08
  */
 public class Event extends Task implements Comparable<Event> {
+    /** Duration of an event which is held all day, rather than at a specific time. */
+    public static final int ALL_DAY = 0;
+
+    /** Number of minutes in a day. */
+    public static final int MINUTES_PER_DAY = 24 * 60;
+
     /** Date which the event is held on. */
     private LocalDate date;
 
+    /** Time of day at which the event starts, in minutes since midnight. */
+    private int startMinute;
+
+    /** Duration of the event in minutes, or ALL_DAY. */
+    private int duration;
+
     /**
-     * Default constructor for the Event class.
+     * Default constructor for the Event class, which creates an event held all day.
      *
      * @param name Description of the event.
      * @param date Date which the event is held on.
      */
     public Event(String name, LocalDate date) {
+        this(name, date, 0, ALL_DAY);
+    }
+
+    /**
+     * Constructor for the Event class, which creates an event held at a specific time.
+     *
+     * @param name Description of the event.
+     * @param date Date which the event starts on.
+     * @param startMinute Time of day at which the event starts, in minutes since midnight.
+     * @param duration Duration of the event in minutes, or ALL_DAY if it is held all day.
+     */
+    public Event(String name, LocalDate date, int startMinute, int duration) {
         super(name);
         this.date = date;
+        this.startMinute = startMinute;
+        this.duration = duration;
 
         assert(this.name != null && this.date != null);
+        assert(startMinute >= 0 && startMinute < MINUTES_PER_DAY && duration >= 0);
+    }
+
+    /**
+     * Constructor for the Event class, which creates an event held from a start date-time to an end date-time.
+     *
+     * @param name Description of the event.
+     * @param start Date-time at which the event starts.
+     * @param end Date-time at which the event ends, which is after the start.
+     */
+    public Event(String name, LocalDateTime start, LocalDateTime end) {
+        this(name, start.toLocalDate(), start.getHour() * 60 + start.getMinute(),
+                Math.toIntExact(ChronoUnit.MINUTES.between(start.truncatedTo(ChronoUnit.MINUTES), end)));
+
+        assert(end.isAfter(start));
+    }
+
+    /**
+     * Constructor for the Event class, which creates a view over a slot of a TaskStore.
+     *
+     * @param store Store which holds the fields of the event.
+     * @param slot Slot of the event in the store.
+     */
+    Event(TaskStore store, int slot) {
+        super(store, slot);
+    }
+
+    /**
+     * Parses the time of an event, formatted as "HH:mm-HH:mm", optionally followed by "+<days>" if the event ends
+     * that many days after it starts. An event whose end is not after its start ends on the following day.
+     *
+     * @param time The time of the event.
+     * @return The start of the event in minutes since midnight, followed by its duration in minutes.
+     * @throws DateTimeParseException If the time is incorrectly formatted.
+     */
+    public static int[] parseTime(String time) throws DateTimeParseException {
+        int[] parsed = parseTimeOrNull(time);
+        if (parsed == null) {
+            throw new DateTimeParseException("Invalid time range", time, 0);
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses the time of an event in the same way as parseTime, without throwing an exception if it is
+     * incorrectly formatted.
+     *
+     * @param time The time of the event.
+     * @return The start of the event in minutes since midnight, followed by its duration in minutes,
+     *         or null if the time is incorrectly formatted.
+     */
+    public static int[] parseTimeOrNull(String time) {
+        int timeLength = 11;
+        if (time.length() < timeLength || time.charAt(5) != '-') {
+            return null;
+        }
+        int start = parseMinute(time, 0);
+        int end = parseMinute(time, 6);
+        if (start < 0 || end < 0) {
+            return null;
+        }
+
+        long days = end > start ? 0 : 1;
+        if (time.length() > timeLength) {
+            int maxDigits = 6;
+            if (time.charAt(timeLength) != '+' || time.length() == timeLength + 1
+                    || time.length() > timeLength + 1 + maxDigits) {
+                return null;
+            }
+            days = 0;
+            for (int i = timeLength + 1; i < time.length(); i++) {
+                char c = time.charAt(i);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                days = days * 10 + (c - '0');
+            }
+        }
+        long duration = days * MINUTES_PER_DAY + end - start;
+        if (duration <= 0 || duration > Integer.MAX_VALUE) {
+            return null;
+        }
+        return new int[] {start, (int) duration};
+    }
+
+    /**
+     * Parses a time of day formatted as "HH:mm".
+     *
+     * @param time The text containing the time of day.
+     * @param position Position of the time of day within the text.
+     * @return The time of day in minutes since midnight, or -1 if it is incorrectly formatted.
+     */
+    private static int parseMinute(String time, int position) {
+        int hours = parseTwoDigits(time, position);
+        int minutes = parseTwoDigits(time, position + 3);
+        if (time.charAt(position + 2) != ':' || hours < 0 || hours > 23 || minutes < 0 || minutes > 59) {
+            return -1;
+        }
+        return hours * 60 + minutes;
+    }
+
+    /**
+     * Parses two decimal digits.
+     *
+     * @param time The text containing the digits.
+     * @param position Position of the first digit within the text.
+     * @return The value of the digits, or -1 if either character is not a digit.
+     */
+    private static int parseTwoDigits(String time, int position) {
+        char tens = time.charAt(position);
+        char ones = time.charAt(position + 1);
+        if (tens < '0' || tens > '9' || ones < '0' || ones > '9') {
+            return -1;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    /**
+     * Formats the time of an event in the same way as it is parsed by parseTime.
+     *
+     * @param startMinute Time of day at which the event starts, in minutes since midnight.
+     * @param duration Duration of the event in minutes, which is not ALL_DAY.
+     * @return The time of the event, formatted as "HH:mm-HH:mm", followed by "+<days>" if it ends on a later day.
+     */
+    public static String formatTime(int startMinute, int duration) {
+        long end = (long) startMinute + duration;
+        long days = end / MINUTES_PER_DAY;
+        return String.format("%02d:%02d-%02d:%02d", startMinute / 60, startMinute % 60,
+                end % MINUTES_PER_DAY / 60, end % 60) + (days > 0 ? "+" + days : "");
     }
 
     /**
@@ -35,7 +194,7 @@ public class Event extends Task implements Comparable<Event> {
      * @return The date the Event is held on, formatted as a String.
      */
     public String getDate() {
-        return date.toString();
+        return getDateAsLocalDate().toString();
     }
 
     /**
@@ -44,14 +203,72 @@ public class Event extends Task implements Comparable<Event> {
      * @return The date the Event is held on, formatted as a LocalDate.
      */
     public LocalDate getDateAsLocalDate() {
-        return date;
+        return store == null ? date : store.getDate(slot);
     }
 
     /**
-     * Modifies the date the Event is held on.
+     * Modifies the date the Event is held on, keeping its time.
      */
     public void setDate(LocalDate date) {
-        this.date = date;
+        if (store == null) {
+            this.date = date;
+        } else {
+            store.setDate(slot, date);
+        }
+    }
+
+    /**
+     * Returns the time of day at which the Event starts.
+     *
+     * @return The start of the Event in minutes since midnight, which is 0 if it is held all day.
+     */
+    public int getStartMinute() {
+        return store == null ? startMinute : store.getStartMinute(slot);
+    }
+
+    /**
+     * Returns the duration of the Event.
+     *
+     * @return The duration of the Event in minutes, or ALL_DAY if it is held all day.
+     */
+    public int getDuration() {
+        return store == null ? duration : store.getDuration(slot);
+    }
+
+    /**
+     * Checks whether the Event is held all day, rather than at a specific time.
+     *
+     * @return True if the Event is held all day, and false otherwise.
+     */
+    public boolean isAllDay() {
+        return getDuration() == ALL_DAY;
+    }
+
+    /**
+     * Returns the time of the Event, formatted as a String.
+     *
+     * @return The time of the Event formatted as "HH:mm-HH:mm", or an empty String if it is held all day.
+     */
+    public String getTime() {
+        return isAllDay() ? "" : formatTime(getStartMinute(), getDuration());
+    }
+
+    /**
+     * Returns the date-time at which the Event starts.
+     *
+     * @return The start of the Event, which is the start of its date if it is held all day.
+     */
+    public LocalDateTime getStart() {
+        return getDateAsLocalDate().atStartOfDay().plusMinutes(getStartMinute());
+    }
+
+    /**
+     * Returns the date-time at which the Event ends.
+     *
+     * @return The end of the Event, which is the start of the following day if it is held all day.
+     */
+    public LocalDateTime getEnd() {
+        return getStart().plusMinutes(isAllDay() ? MINUTES_PER_DAY : getDuration());
     }
 
     /**
@@ -62,18 +279,20 @@ public class Event extends Task implements Comparable<Event> {
      */
     @Override
     public String toString() {
-        return "[E][" + (isDone ? "X" : " ") + "] " + name + " (at: "
-                + date.format(DateTimeFormatter.ofPattern("MMM d yyyy")) + ")";
+        return "[E][" + (isDone() ? "X" : " ") + "] " + getName() + " (at: "
+                + getDateAsLocalDate().format(DateTimeFormatter.ofPattern("MMM d yyyy"))
+                + (isAllDay() ? "" : " " + getTime()) + ")";
     }
 
     /**
-     * Compares this event with another event, by comparing the dates they are held on.
+     * Compares this event with another event, by comparing the date-times they start at.
      *
      * @param other The event that is being compared to.
-     * @return The difference between this event and the event that is being compared to, in terms of days.
+     * @return A negative integer, zero, or a positive integer, as this event starts before, at the same time as,
+     *         or after the event that is being compared to.
      */
     @Override
     public int compareTo(Event other) {
-        return date.compareTo(other.getDateAsLocalDate());
+        return getStart().compareTo(other.getStart());
     }
 }
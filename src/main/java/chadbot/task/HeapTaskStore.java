@@ -0,0 +1,201 @@
+package chadbot.task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The HeapTaskStore class is a TaskStore which keeps its records in columns of primitive arrays, and the
+ * descriptions of its tasks in a single byte array arena on the heap. The arena is compacted once most of it
+ * is taken up by descriptions which are no longer used.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class HeapTaskStore extends TaskStore {
+    /** Initial number of slots which space is allocated for. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Minimum number of unused bytes in the arena before it is compacted. */
+    private static final int MIN_GARBAGE = 1 << 16;
+
+    /** Type of the task in each slot. */
+    private byte[] types;
+
+    /** Done flag of the task in each slot. */
+    private BitSet done;
+
+    /** Date of the task in each slot as an epoch day, if it is a deadline or an event. */
+    private int[] epochDays;
+
+    /** ID of the task in each slot. */
+    private int[] ids;
+
+    /** Start of the event in each slot, in minutes since midnight. */
+    private short[] startMinutes;
+
+    /** Duration of the event in each slot in minutes, or Event.ALL_DAY. */
+    private int[] durations;
+
+    /** Position of the description of the task in each slot within the arena. */
+    private int[] nameOffsets;
+
+    /** Length of the description of the task in each slot, in bytes. */
+    private int[] nameLengths;
+
+    /** UTF-8 encoded descriptions of the tasks, followed by unused space. */
+    private byte[] arena;
+
+    /** Number of bytes of the arena which have been written to. */
+    private int arenaSize;
+
+    /** Number of bytes of the arena which hold descriptions which are no longer used. */
+    private int garbage;
+
+    /**
+     * Default constructor for the HeapTaskStore class, which creates an empty store.
+     */
+    public HeapTaskStore() {
+        types = new byte[INITIAL_CAPACITY];
+        done = new BitSet();
+        epochDays = new int[INITIAL_CAPACITY];
+        ids = new int[INITIAL_CAPACITY];
+        startMinutes = new short[INITIAL_CAPACITY];
+        durations = new int[INITIAL_CAPACITY];
+        nameOffsets = new int[INITIAL_CAPACITY];
+        nameLengths = new int[INITIAL_CAPACITY];
+        arena = new byte[INITIAL_CAPACITY * 16];
+    }
+
+    @Override
+    protected void ensureCapacity(int slots) {
+        if (slots > types.length) {
+            int capacity = Math.max(slots, types.length * 2);
+            types = Arrays.copyOf(types, capacity);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            startMinutes = Arrays.copyOf(startMinutes, capacity);
+            durations = Arrays.copyOf(durations, capacity);
+            nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+            nameLengths = Arrays.copyOf(nameLengths, capacity);
+        }
+    }
+
+    @Override
+    protected void writeType(int slot, byte type) {
+        types[slot] = type;
+    }
+
+    @Override
+    protected void writeDone(int slot, boolean isDone) {
+        done.set(slot, isDone);
+    }
+
+    @Override
+    protected int readEpochDay(int slot) {
+        return epochDays[slot];
+    }
+
+    @Override
+    protected void writeEpochDay(int slot, int epochDay) {
+        epochDays[slot] = epochDay;
+    }
+
+    @Override
+    protected void writeId(int slot, int id) {
+        ids[slot] = id;
+    }
+
+    @Override
+    protected int readStartMinute(int slot) {
+        return startMinutes[slot];
+    }
+
+    @Override
+    protected int readDuration(int slot) {
+        return durations[slot];
+    }
+
+    @Override
+    protected void writeTime(int slot, int startMinute, int duration) {
+        startMinutes[slot] = (short) startMinute;
+        durations[slot] = duration;
+    }
+
+    @Override
+    protected void writeName(int slot, byte[] name) {
+        if (arenaSize + name.length > arena.length) {
+            if (garbage >= MIN_GARBAGE && garbage > arenaSize / 2) {
+                compact();
+            }
+            if (arenaSize + name.length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + name.length));
+            }
+        }
+
+        System.arraycopy(name, 0, arena, arenaSize, name.length);
+        nameOffsets[slot] = arenaSize;
+        nameLengths[slot] = name.length;
+        arenaSize += name.length;
+    }
+
+    @Override
+    protected void releaseName(int slot) {
+        garbage += nameLengths[slot];
+    }
+
+    /**
+     * Moves the descriptions of the tasks in the store to the start of the arena, discarding unused descriptions.
+     */
+    private void compact() {
+        byte[] compacted = new byte[arena.length];
+        int size = 0;
+        for (int slot = 0; slot < getSlotCount(); slot++) {
+            if (types[slot] != FREE) {
+                System.arraycopy(arena, nameOffsets[slot], compacted, size, nameLengths[slot]);
+                nameOffsets[slot] = size;
+                size += nameLengths[slot];
+            }
+        }
+        arena = compacted;
+        arenaSize = size;
+        garbage = 0;
+    }
+
+    @Override
+    protected long nameAddress(int slot) {
+        return nameOffsets[slot];
+    }
+
+    @Override
+    protected int nameLength(int slot) {
+        return nameLengths[slot];
+    }
+
+    @Override
+    protected byte byteAt(long address) {
+        return arena[(int) address];
+    }
+
+    @Override
+    public byte getType(int slot) {
+        return types[slot];
+    }
+
+    @Override
+    public boolean isDone(int slot) {
+        return done.get(slot);
+    }
+
+    @Override
+    public int getId(int slot) {
+        return ids[slot];
+    }
+
+    @Override
+    public String getName(int slot) {
+        return new String(arena, nameOffsets[slot], nameLengths[slot], StandardCharsets.UTF_8);
+    }
+
+}
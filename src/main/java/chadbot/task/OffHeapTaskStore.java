@@ -0,0 +1,304 @@
+package chadbot.task;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The OffHeapTaskStore class is a TaskStore which keeps its records and the descriptions of its tasks in segments
+ * of direct memory outside the heap, so that very large task lists neither take up the heap nor lengthen garbage
+ * collection pauses. Only the tasks which are being read are materialised as objects. Descriptions never span
+ * two segments, and are moved into fresh segments once most of the space they take up is no longer used, which
+ * lets the old segments be freed.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public class OffHeapTaskStore extends TaskStore {
+    /** Number of bytes in each record. */
+    private static final int RECORD_SIZE = 28;
+
+    /** Position of the type within a record. */
+    private static final int TYPE = 0;
+
+    /** Position of the done flag within a record. */
+    private static final int DONE = 1;
+
+    /** Position of the start of an event within a record, in minutes since midnight. */
+    private static final int START_MINUTE = 2;
+
+    /** Position of the epoch day within a record. */
+    private static final int EPOCH_DAY = 4;
+
+    /** Position of the segment which holds the description within a record. */
+    private static final int NAME_SEGMENT = 8;
+
+    /** Position of the description within its segment, within a record. */
+    private static final int NAME_POSITION = 12;
+
+    /** Position of the length of the description within a record. */
+    private static final int NAME_LENGTH = 16;
+
+    /** Position of the ID within a record. */
+    private static final int ID = 20;
+
+    /** Position of the duration of an event within a record. */
+    private static final int DURATION = 24;
+
+    /** Number of records in each record segment, which is a power of two. */
+    private static final int RECORDS_PER_SEGMENT = 1 << 14;
+
+    /** Number of bits to shift a slot by to obtain its record segment. */
+    private static final int RECORD_SHIFT = Integer.numberOfTrailingZeros(RECORDS_PER_SEGMENT);
+
+    /** Number of bytes in each description segment, unless it holds a single longer description. */
+    private static final int NAME_SEGMENT_SIZE = 1 << 20;
+
+    /** Minimum number of unused bytes in the description segments before they are compacted. */
+    private static final long MIN_GARBAGE = 1 << 22;
+
+    /** Segments which hold the records. */
+    private ByteBuffer[] records;
+
+    /** Segments which hold the UTF-8 encoded descriptions, where freed segments are null. */
+    private ByteBuffer[] names;
+
+    /** Number of entries of names which are in use. */
+    private int nameSegmentCount;
+
+    /** Number of bytes which have been written to each description segment. */
+    private int[] nameSegmentSizes;
+
+    /** Number of bytes of each description segment which hold descriptions which are no longer used. */
+    private int[] nameSegmentGarbage;
+
+    /** Total number of bytes which have been written to the description segments which are not freed. */
+    private long namesSize;
+
+    /** Total number of bytes of the description segments which hold descriptions which are no longer used. */
+    private long garbage;
+
+    /**
+     * Default constructor for the OffHeapTaskStore class, which creates an empty store.
+     */
+    public OffHeapTaskStore() {
+        records = new ByteBuffer[1];
+        names = new ByteBuffer[1];
+        nameSegmentSizes = new int[1];
+        nameSegmentGarbage = new int[1];
+    }
+
+    /**
+     * Returns the segment which holds the record of a slot.
+     *
+     * @param slot The slot.
+     * @return The segment which holds the record.
+     */
+    private ByteBuffer segmentOf(int slot) {
+        return records[slot >>> RECORD_SHIFT];
+    }
+
+    /**
+     * Returns the position of the record of a slot within its segment.
+     *
+     * @param slot The slot.
+     * @return The position of the record.
+     */
+    private static int positionOf(int slot) {
+        return (slot & (RECORDS_PER_SEGMENT - 1)) * RECORD_SIZE;
+    }
+
+    @Override
+    protected void ensureCapacity(int slots) {
+        int segments = (slots + RECORDS_PER_SEGMENT - 1) >>> RECORD_SHIFT;
+        if (segments > records.length) {
+            records = Arrays.copyOf(records, Math.max(segments, records.length * 2));
+        }
+        for (int i = 0; i < segments; i++) {
+            if (records[i] == null) {
+                records[i] = ByteBuffer.allocateDirect(RECORDS_PER_SEGMENT * RECORD_SIZE);
+            }
+        }
+    }
+
+    @Override
+    protected void writeType(int slot, byte type) {
+        segmentOf(slot).put(positionOf(slot) + TYPE, type);
+    }
+
+    @Override
+    protected void writeDone(int slot, boolean isDone) {
+        segmentOf(slot).put(positionOf(slot) + DONE, (byte) (isDone ? 1 : 0));
+    }
+
+    @Override
+    protected int readEpochDay(int slot) {
+        return segmentOf(slot).getInt(positionOf(slot) + EPOCH_DAY);
+    }
+
+    @Override
+    protected void writeEpochDay(int slot, int epochDay) {
+        segmentOf(slot).putInt(positionOf(slot) + EPOCH_DAY, epochDay);
+    }
+
+    @Override
+    protected void writeId(int slot, int id) {
+        segmentOf(slot).putInt(positionOf(slot) + ID, id);
+    }
+
+    @Override
+    protected int readStartMinute(int slot) {
+        return segmentOf(slot).getShort(positionOf(slot) + START_MINUTE);
+    }
+
+    @Override
+    protected int readDuration(int slot) {
+        return segmentOf(slot).getInt(positionOf(slot) + DURATION);
+    }
+
+    @Override
+    protected void writeTime(int slot, int startMinute, int duration) {
+        segmentOf(slot).putShort(positionOf(slot) + START_MINUTE, (short) startMinute);
+        segmentOf(slot).putInt(positionOf(slot) + DURATION, duration);
+    }
+
+    @Override
+    protected void writeName(int slot, byte[] name) {
+        if (!fitsInLastSegment(name.length) && garbage >= MIN_GARBAGE && garbage > namesSize / 2) {
+            compact(slot);
+        }
+        if (!fitsInLastSegment(name.length)) {
+            appendNameSegment(name.length);
+        }
+        int segment = nameSegmentCount - 1;
+
+        ByteBuffer buffer = names[segment];
+        int position = nameSegmentSizes[segment];
+        for (int i = 0; i < name.length; i++) {
+            buffer.put(position + i, name[i]);
+        }
+        nameSegmentSizes[segment] += name.length;
+        namesSize += name.length;
+
+        ByteBuffer record = segmentOf(slot);
+        int offset = positionOf(slot);
+        record.putInt(offset + NAME_SEGMENT, segment);
+        record.putInt(offset + NAME_POSITION, position);
+        record.putInt(offset + NAME_LENGTH, name.length);
+    }
+
+    /**
+     * Checks whether a description fits in the space left in the last description segment.
+     *
+     * @param length The length of the description.
+     * @return True if there is a last description segment with enough space left, and false otherwise.
+     */
+    private boolean fitsInLastSegment(int length) {
+        int segment = nameSegmentCount - 1;
+        return segment >= 0 && nameSegmentSizes[segment] + length <= names[segment].capacity();
+    }
+
+    /**
+     * Adds a description segment, which is large enough to hold a description of the specified length.
+     *
+     * @param length The length of the description.
+     */
+    private void appendNameSegment(int length) {
+        if (nameSegmentCount == names.length) {
+            int capacity = nameSegmentCount * 2;
+            names = Arrays.copyOf(names, capacity);
+            nameSegmentSizes = Arrays.copyOf(nameSegmentSizes, capacity);
+            nameSegmentGarbage = Arrays.copyOf(nameSegmentGarbage, capacity);
+        }
+        names[nameSegmentCount++] = ByteBuffer.allocateDirect(Math.max(NAME_SEGMENT_SIZE, length));
+    }
+
+    @Override
+    protected void releaseName(int slot) {
+        int segment = readNameSegment(slot);
+        int length = nameLength(slot);
+        nameSegmentGarbage[segment] += length;
+        garbage += length;
+
+        if (nameSegmentGarbage[segment] == nameSegmentSizes[segment] && segment != nameSegmentCount - 1) {
+            names[segment] = null;
+            namesSize -= nameSegmentSizes[segment];
+            garbage -= nameSegmentGarbage[segment];
+            nameSegmentSizes[segment] = 0;
+            nameSegmentGarbage[segment] = 0;
+        }
+    }
+
+    /**
+     * Moves the descriptions of the tasks in the store into fresh segments, discarding unused descriptions,
+     * so that the old segments can be freed.
+     *
+     * @param writtenSlot The slot whose description is being written, and whose record holds no description.
+     */
+    private void compact(int writtenSlot) {
+        ByteBuffer[] oldNames = names;
+        names = new ByteBuffer[1];
+        nameSegmentCount = 0;
+        nameSegmentSizes = new int[1];
+        nameSegmentGarbage = new int[1];
+        namesSize = 0;
+        garbage = 0;
+
+        for (int slot = 0; slot < getSlotCount(); slot++) {
+            if (slot != writtenSlot && getType(slot) != FREE) {
+                ByteBuffer record = segmentOf(slot);
+                int offset = positionOf(slot);
+                ByteBuffer buffer = oldNames[record.getInt(offset + NAME_SEGMENT)];
+                int position = record.getInt(offset + NAME_POSITION);
+                byte[] name = new byte[record.getInt(offset + NAME_LENGTH)];
+                for (int i = 0; i < name.length; i++) {
+                    name[i] = buffer.get(position + i);
+                }
+                writeName(slot, name);
+            }
+        }
+    }
+
+    /**
+     * Returns the segment which holds the description of a task.
+     *
+     * @param slot The slot of the task.
+     * @return The index of the segment.
+     */
+    private int readNameSegment(int slot) {
+        return segmentOf(slot).getInt(positionOf(slot) + NAME_SEGMENT);
+    }
+
+    @Override
+    protected long nameAddress(int slot) {
+        ByteBuffer record = segmentOf(slot);
+        int offset = positionOf(slot);
+        return ((long) record.getInt(offset + NAME_SEGMENT) << 32) | record.getInt(offset + NAME_POSITION);
+    }
+
+    @Override
+    protected int nameLength(int slot) {
+        return segmentOf(slot).getInt(positionOf(slot) + NAME_LENGTH);
+    }
+
+    @Override
+    protected byte byteAt(long address) {
+        return names[(int) (address >>> 32)].get((int) address);
+    }
+
+    @Override
+    public byte getType(int slot) {
+        return segmentOf(slot).get(positionOf(slot) + TYPE);
+    }
+
+    @Override
+    public boolean isDone(int slot) {
+        return segmentOf(slot).get(positionOf(slot) + DONE) != 0;
+    }
+
+    @Override
+    public int getId(int slot) {
+        return segmentOf(slot).getInt(positionOf(slot) + ID);
+    }
+
+}
@@ -3,6 +3,7 @@ package chadbot.task;
 /**
  * The Task class represents a single task created by the user via user input to the Duke program.
  * It contains functions which enable the user to mark the task as done.
+ * A task either holds its own fields, or is a view over a slot of a TaskStore, which holds its fields instead.
  *
  * @author  arsatis
  * @version 1.1
@@ -15,6 +16,15 @@ public abstract class Task {
     /** Indicates whether the task has been done by the user. */
     protected boolean isDone;
 
+    /** Persistent ID of the task, or 0 if it has not been given one yet. */
+    protected int id;
+
+    /** Store which holds the fields of the task, or null if the task holds its own fields. */
+    protected TaskStore store;
+
+    /** Slot of the task in the store. */
+    protected int slot;
+
     /**
      * Default constructor for the Task class.
      *
@@ -25,20 +35,35 @@ public abstract class Task {
         isDone = false;
     }
 
+    /**
+     * Constructor for the Task class, which creates a view over a slot of a TaskStore.
+     *
+     * @param store Store which holds the fields of the task.
+     * @param slot Slot of the task in the store.
+     */
+    Task(TaskStore store, int slot) {
+        this.store = store;
+        this.slot = slot;
+    }
+
     /**
      * Checks whether the task has been marked as done.
      *
      * @return True if the task has been marked as done, and false otherwise.
      */
     public boolean isDone() {
-        return isDone;
+        return store == null ? isDone : store.isDone(slot);
     }
 
     /**
      * Sets the isDone field to true, indicating that the task has been marked as done.
      */
     public void setDone() {
-        isDone = true;
+        if (store == null) {
+            isDone = true;
+        } else {
+            store.setDone(slot);
+        }
     }
 
     /**
@@ -47,14 +72,41 @@ public abstract class Task {
      * @return The name (description) of the task.
      */
     public String getName() {
-        return name;
+        return store == null ? name : store.getName(slot);
+    }
+
+    /**
+     * Returns the persistent ID of the task, which stays the same however the list of tasks is reordered.
+     *
+     * @return The ID of the task, or 0 if it has not been given one yet.
+     */
+    public int getId() {
+        return store == null ? id : store.getId(slot);
+    }
+
+    /**
+     * Modifies the persistent ID of the task.
+     *
+     * @param id The new ID of the task, which is positive.
+     */
+    public void setId(int id) {
+        assert(id > 0);
+        if (store == null) {
+            this.id = id;
+        } else {
+            store.setId(slot, id);
+        }
     }
 
     /**
      * Modifies the description of the Task.
      */
     public void setName(String name) {
-        this.name = name;
+        if (store == null) {
+            this.name = name;
+        } else {
+            store.setName(slot, name);
+        }
     }
 
 }
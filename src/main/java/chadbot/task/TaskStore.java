@@ -0,0 +1,556 @@
+package chadbot.task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+
+/**
+ * The TaskStore class holds the fields of many tasks as fixed-size records, rather than as separate objects.
+ * Each task occupies a slot, which indexes its type, done flag, epoch day, ID, the time of day and duration of an
+ * event which is not held all day, and the position of its UTF-8 encoded description. Tasks are read and modified
+ * through their slot, or through lightweight Task views which are created on demand. Subclasses decide where the
+ * records and descriptions are kept, while the slots of removed tasks are reused
+ * through a free list threaded through the records themselves.
+ *
+ * @author  arsatis
+ * @version 1.3
+ * @since   2021-02-15
+ */
+public abstract class TaskStore {
+    /** Type of a to-do. */
+    public static final byte TODO = 0;
+
+    /** Type of a deadline. */
+    public static final byte DEADLINE = 1;
+
+    /** Type of an event. */
+    public static final byte EVENT = 2;
+
+    /** Number of types of tasks. */
+    public static final int TYPE_COUNT = 3;
+
+    /** Type of a slot which does not contain a task. */
+    protected static final byte FREE = -1;
+
+    /** Slot which ends the free list. */
+    private static final int NO_SLOT = -1;
+
+    /** Indicates whether the default locale lowercases ASCII letters to ASCII letters, as most locales do. */
+    private static final boolean IS_ASCII_LOWERCASE = "ABCDEFGHIJKLMNOPQRSTUVWXYZ".toLowerCase()
+            .equals("abcdefghijklmnopqrstuvwxyz");
+
+    /** First slot of the free list, whose records hold the next free slot in place of their epoch day. */
+    private int freeHead = NO_SLOT;
+
+    /** Number of slots which have ever been used. */
+    private int slotCount;
+
+    /**
+     * Returns the type of a task.
+     *
+     * @param task The task.
+     * @return TODO, DEADLINE, or EVENT.
+     */
+    public static byte typeOf(Task task) {
+        if (task instanceof ToDo) {
+            return TODO;
+        } else if (task instanceof Deadline) {
+            return DEADLINE;
+        }
+        assert(task instanceof Event);
+        return EVENT;
+    }
+
+    /**
+     * Checks whether a date can be held by a store, whose epoch days are ints.
+     *
+     * @param date The date.
+     * @return True if the epoch day of the date fits in an int, and false otherwise.
+     */
+    public static boolean isStorable(LocalDate date) {
+        return date.toEpochDay() == (int) date.toEpochDay();
+    }
+
+    /**
+     * Returns the number of slots which have ever been used.
+     *
+     * @return The number of slots which have ever been used, including those which are free.
+     */
+    protected int getSlotCount() {
+        return slotCount;
+    }
+
+    /**
+     * Adds a copy of a task to the store.
+     *
+     * @param task The task to be copied.
+     * @return The slot which the task occupies.
+     */
+    public int add(Task task) {
+        int slot = allocate();
+        byte type = typeOf(task);
+        writeType(slot, type);
+        writeDone(slot, task.isDone());
+        if (type == DEADLINE) {
+            writeEpochDay(slot, Math.toIntExact(((Deadline) task).getDateAsLocalDate().toEpochDay()));
+        }
+        if (type == EVENT) {
+            Event event = (Event) task;
+            writeEpochDay(slot, Math.toIntExact(event.getDateAsLocalDate().toEpochDay()));
+            writeTime(slot, event.getStartMinute(), event.getDuration());
+        } else {
+            writeTime(slot, 0, Event.ALL_DAY);
+        }
+        writeId(slot, task.getId());
+        writeName(slot, task.getName().getBytes(StandardCharsets.UTF_8));
+        return slot;
+    }
+
+    /**
+     * Removes a task from the store, and frees its slot.
+     *
+     * @param slot The slot of the task.
+     */
+    public void remove(int slot) {
+        assert(getType(slot) != FREE);
+        releaseName(slot);
+        writeType(slot, FREE);
+        writeDone(slot, false);
+        writeEpochDay(slot, freeHead);
+        freeHead = slot;
+    }
+
+    /**
+     * Returns a slot which is not in use, allocating space for more slots if necessary.
+     *
+     * @return A slot which is not in use.
+     */
+    private int allocate() {
+        if (freeHead != NO_SLOT) {
+            int slot = freeHead;
+            freeHead = readEpochDay(slot);
+            return slot;
+        }
+
+        ensureCapacity(slotCount + 1);
+        return slotCount++;
+    }
+
+    /**
+     * Makes space for the records of at least the specified number of slots.
+     *
+     * @param slots The number of slots.
+     */
+    protected abstract void ensureCapacity(int slots);
+
+    /**
+     * Sets the type in the record of a slot.
+     *
+     * @param slot The slot.
+     * @param type TODO, DEADLINE, EVENT, or FREE.
+     */
+    protected abstract void writeType(int slot, byte type);
+
+    /**
+     * Sets the done flag in the record of a slot.
+     *
+     * @param slot The slot.
+     * @param isDone The done flag.
+     */
+    protected abstract void writeDone(int slot, boolean isDone);
+
+    /**
+     * Returns the epoch day in the record of a slot.
+     *
+     * @param slot The slot.
+     * @return The epoch day in the record.
+     */
+    protected abstract int readEpochDay(int slot);
+
+    /**
+     * Sets the epoch day in the record of a slot.
+     *
+     * @param slot The slot.
+     * @param epochDay The epoch day.
+     */
+    protected abstract void writeEpochDay(int slot, int epochDay);
+
+    /**
+     * Returns the time of day at which the event in a slot starts, in minutes since midnight.
+     *
+     * @param slot The slot.
+     * @return The start of the event, in minutes since midnight.
+     */
+    protected abstract int readStartMinute(int slot);
+
+    /**
+     * Returns the duration of the event in a slot, in minutes.
+     *
+     * @param slot The slot.
+     * @return The duration of the event, or Event.ALL_DAY if it is held all day.
+     */
+    protected abstract int readDuration(int slot);
+
+    /**
+     * Sets the time of day at which the event in a slot starts, and its duration.
+     *
+     * @param slot The slot.
+     * @param startMinute The start of the event, in minutes since midnight.
+     * @param duration The duration of the event in minutes, or Event.ALL_DAY if it is held all day.
+     */
+    protected abstract void writeTime(int slot, int startMinute, int duration);
+
+    /**
+     * Sets the ID in the record of a slot.
+     *
+     * @param slot The slot.
+     * @param id The ID.
+     */
+    protected abstract void writeId(int slot, int id);
+
+    /**
+     * Stores the UTF-8 encoded description of a task, replacing the description in its record.
+     *
+     * @param slot The slot of the task.
+     * @param name The encoded description.
+     */
+    protected abstract void writeName(int slot, byte[] name);
+
+    /**
+     * Marks the description of a task as no longer used, so that its space can be reclaimed.
+     *
+     * @param slot The slot of the task.
+     */
+    protected abstract void releaseName(int slot);
+
+    /**
+     * Returns the address of the first byte of the description of a task. The bytes of a description are stored
+     * contiguously, so the address of every following byte is one more than that of the byte before it.
+     *
+     * @param slot The slot of the task.
+     * @return The address of the description of the task.
+     */
+    protected abstract long nameAddress(int slot);
+
+    /**
+     * Returns the length of the description of a task, in bytes.
+     *
+     * @param slot The slot of the task.
+     * @return The length of the encoded description of the task.
+     */
+    protected abstract int nameLength(int slot);
+
+    /**
+     * Returns a byte of a description.
+     *
+     * @param address The address of the byte.
+     * @return The byte.
+     */
+    protected abstract byte byteAt(long address);
+
+    /**
+     * Returns the type of a task.
+     *
+     * @param slot The slot of the task.
+     * @return TODO, DEADLINE, or EVENT.
+     */
+    public abstract byte getType(int slot);
+
+    /**
+     * Checks whether a task has been marked as done.
+     *
+     * @param slot The slot of the task.
+     * @return True if the task has been marked as done, and false otherwise.
+     */
+    public abstract boolean isDone(int slot);
+
+    /**
+     * Marks a task as done.
+     *
+     * @param slot The slot of the task.
+     */
+    public void setDone(int slot) {
+        writeDone(slot, true);
+    }
+
+    /**
+     * Returns the persistent ID of a task.
+     *
+     * @param slot The slot of the task.
+     * @return The ID of the task, or 0 if it has not been given one.
+     */
+    public abstract int getId(int slot);
+
+    /**
+     * Modifies the persistent ID of a task.
+     *
+     * @param slot The slot of the task.
+     * @param id The new ID of the task.
+     */
+    public void setId(int slot, int id) {
+        writeId(slot, id);
+    }
+
+    /**
+     * Returns the date of a deadline or event as an epoch day.
+     *
+     * @param slot The slot of the deadline or event.
+     * @return The date of the task as an epoch day.
+     */
+    public int getEpochDay(int slot) {
+        assert(getType(slot) == DEADLINE || getType(slot) == EVENT);
+        return readEpochDay(slot);
+    }
+
+    /**
+     * Returns the date of a deadline or event.
+     *
+     * @param slot The slot of the deadline or event.
+     * @return The date of the task.
+     */
+    public LocalDate getDate(int slot) {
+        return LocalDate.ofEpochDay(getEpochDay(slot));
+    }
+
+    /**
+     * Modifies the date of a deadline or event.
+     *
+     * @param slot The slot of the deadline or event.
+     * @param date The new date of the task.
+     */
+    public void setDate(int slot, LocalDate date) {
+        assert(getType(slot) == DEADLINE || getType(slot) == EVENT);
+        writeEpochDay(slot, Math.toIntExact(date.toEpochDay()));
+    }
+
+    /**
+     * Returns the time of day at which an event starts.
+     *
+     * @param slot The slot of the event.
+     * @return The start of the event, in minutes since midnight, which is 0 if it is held all day.
+     */
+    public int getStartMinute(int slot) {
+        assert(getType(slot) == EVENT);
+        return readStartMinute(slot);
+    }
+
+    /**
+     * Returns the duration of an event.
+     *
+     * @param slot The slot of the event.
+     * @return The duration of the event in minutes, or Event.ALL_DAY if it is held all day.
+     */
+    public int getDuration(int slot) {
+        assert(getType(slot) == EVENT);
+        return readDuration(slot);
+    }
+
+    /**
+     * Modifies the time of day at which an event starts, and its duration.
+     *
+     * @param slot The slot of the event.
+     * @param startMinute The new start of the event, in minutes since midnight.
+     * @param duration The new duration of the event in minutes, or Event.ALL_DAY if it is held all day.
+     */
+    public void setTime(int slot, int startMinute, int duration) {
+        assert(getType(slot) == EVENT);
+        writeTime(slot, startMinute, duration);
+    }
+
+    /**
+     * Returns the description of a task.
+     *
+     * @param slot The slot of the task.
+     * @return The description of the task.
+     */
+    public String getName(int slot) {
+        long address = nameAddress(slot);
+        byte[] bytes = new byte[nameLength(slot)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = byteAt(address + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Modifies the description of a task.
+     *
+     * @param slot The slot of the task.
+     * @param name The new description of the task.
+     */
+    public void setName(int slot, String name) {
+        releaseName(slot);
+        writeName(slot, name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the first two UTF-16 characters of the description of a task, decoded straight from its encoding.
+     *
+     * @param slot The slot of the task.
+     * @return The first character in the upper 16 bits and the second in the lower 16 bits, where a missing
+     *         character is 0.
+     */
+    public int getNamePrefix(int slot) {
+        long position = nameAddress(slot);
+        long end = position + nameLength(slot);
+        int prefix = 0;
+        int chars = 0;
+        while (chars < 2) {
+            if (position >= end) {
+                prefix <<= 16;
+                chars++;
+                continue;
+            }
+
+            int b = byteAt(position) & 0xFF;
+            int length = b < 0x80 ? 1 : b < 0xE0 ? 2 : b < 0xF0 ? 3 : 4;
+            int codePoint = length == 1 ? b : b & (0xFF >> (length + 1));
+            for (int i = 1; i < length; i++) {
+                codePoint = (codePoint << 6) | (byteAt(position + i) & 0x3F);
+            }
+            position += length;
+
+            if (length == 4) {
+                prefix = (prefix << 16) | Character.highSurrogate(codePoint);
+                chars++;
+                if (chars < 2) {
+                    prefix = (prefix << 16) | Character.lowSurrogate(codePoint);
+                    chars++;
+                }
+            } else {
+                prefix = (prefix << 16) | codePoint;
+                chars++;
+            }
+        }
+        return prefix;
+    }
+
+    /**
+     * Compares the descriptions of two tasks in the same way as String.compareTo, which compares UTF-16
+     * characters, straight from their UTF-8 encoding.
+     *
+     * @param a The slot of the first task.
+     * @param b The slot of the second task.
+     * @return A negative integer, zero, or a positive integer, as the first description is less than, equal to,
+     *         or greater than the second.
+     */
+    public int compareNames(int a, int b) {
+        long addressA = nameAddress(a);
+        long addressB = nameAddress(b);
+        int length = Math.min(nameLength(a), nameLength(b));
+        for (int i = 0; i < length; i++) {
+            int byteA = byteAt(addressA + i) & 0xFF;
+            int byteB = byteAt(addressB + i) & 0xFF;
+            if (byteA == byteB) {
+                continue;
+            }
+
+            int lead = i;
+            while ((byteAt(addressA + lead) & 0xC0) == 0x80) {
+                lead--;
+            }
+            int leadA = byteAt(addressA + lead) & 0xFF;
+            int leadB = byteAt(addressB + lead) & 0xFF;
+            if (leadA >= 0xF0 && (leadB == 0xEE || leadB == 0xEF)) {
+                return -1;
+            } else if (leadB >= 0xF0 && (leadA == 0xEE || leadA == 0xEF)) {
+                return 1;
+            }
+            return byteA - byteB;
+        }
+        return nameLength(a) - nameLength(b);
+    }
+
+    /**
+     * Checks whether the description of a task contains a keyword, ignoring case, with the same result as
+     * lowercasing the description and searching it for the keyword. Descriptions and keywords consisting only
+     * of ASCII characters are searched straight from their encoding.
+     *
+     * @param slot The slot of the task.
+     * @param keyword The keyword, in lowercase.
+     * @return True if the description of the task contains the keyword, and false otherwise.
+     */
+    public boolean nameContains(int slot, String keyword) {
+        long address = nameAddress(slot);
+        int length = nameLength(slot);
+        boolean isAscii = IS_ASCII_LOWERCASE;
+        for (int i = 0; i < length && isAscii; i++) {
+            isAscii = byteAt(address + i) >= 0;
+        }
+        for (int i = 0; i < keyword.length() && isAscii; i++) {
+            isAscii = keyword.charAt(i) < 0x80;
+        }
+        if (!isAscii) {
+            return getName(slot).toLowerCase().contains(keyword);
+        }
+
+        for (int start = 0; start + keyword.length() <= length; start++) {
+            int i = 0;
+            while (i < keyword.length() && toLowerCase(byteAt(address + start + i)) == keyword.charAt(i)) {
+                i++;
+            }
+            if (i == keyword.length()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lowercases an ASCII character.
+     *
+     * @param b The ASCII character.
+     * @return The character in lowercase.
+     */
+    private static char toLowerCase(byte b) {
+        return (char) (b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b);
+    }
+
+    /**
+     * Returns a view over a task in the store, which reads and modifies the task in the store.
+     *
+     * @param slot The slot of the task.
+     * @return A view over the task.
+     */
+    public Task get(int slot) {
+        switch (getType(slot)) {
+        case DEADLINE:
+            return new Deadline(this, slot);
+        case EVENT:
+            return new Event(this, slot);
+        default:
+            assert(getType(slot) == TODO);
+            return new ToDo(this, slot);
+        }
+    }
+
+    /**
+     * Returns a copy of a task in the store, which holds its own fields and is unaffected by later changes
+     * to the store.
+     *
+     * @param slot The slot of the task.
+     * @return A copy of the task.
+     */
+    public Task copy(int slot) {
+        Task t;
+        switch (getType(slot)) {
+        case DEADLINE:
+            t = new Deadline(getName(slot), getDate(slot));
+            break;
+        case EVENT:
+            t = new Event(getName(slot), getDate(slot), getStartMinute(slot), getDuration(slot));
+            break;
+        default:
+            t = new ToDo(getName(slot));
+            break;
+        }
+
+        if (isDone(slot)) {
+            t.setDone();
+        }
+        if (getId(slot) > 0) {
+            t.setId(getId(slot));
+        }
+        return t;
+    }
+
+}
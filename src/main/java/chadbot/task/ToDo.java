@@ -21,6 +21,16 @@ public class ToDo extends Task {
         assert(this.name != null);
     }
 
+    /**
+     * Constructor for the ToDo class, which creates a view over a slot of a TaskStore.
+     *
+     * @param store Store which holds the fields of the to-do.
+     * @param slot Slot of the to-do in the store.
+     */
+    ToDo(TaskStore store, int slot) {
+        super(store, slot);
+    }
+
     /**
      * Returns a description of the to-do, formatted with its type,
      * followed by an "X" if it has been marked as done.
@@ -29,7 +39,7 @@ public class ToDo extends Task {
      */
     @Override
     public String toString() {
-        return "[T][" + (isDone ? "X" : " ") + "] " + name;
+        return "[T][" + (isDone() ? "X" : " ") + "] " + getName();
     }
 
 }
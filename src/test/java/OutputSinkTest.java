@@ -0,0 +1,138 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chadbot.command.CommandResult;
+import chadbot.subfiles.AsyncSink;
+import chadbot.subfiles.ConsoleSink;
+import chadbot.subfiles.InputTokens;
+import chadbot.subfiles.OutputSink;
+import chadbot.subfiles.Parser;
+import chadbot.subfiles.TaskList;
+import chadbot.subfiles.Ui;
+
+public class OutputSinkTest {
+    private static String read(ByteArrayOutputStream out) {
+        return out.toString(Charset.defaultCharset()).replace(System.lineSeparator(), "\n");
+    }
+
+    @Test
+    public void consoleSink_buffersUntilFlushed() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        OutputSink sink = new ConsoleSink(out, 1024, false);
+        sink.print("a");
+        sink.print("b");
+        assertEquals("", read(out));
+        sink.flush();
+        assertEquals("a\nb\n", read(out));
+
+        OutputSink interactive = new ConsoleSink(out, 1024, true);
+        interactive.print("c");
+        assertEquals("a\nb\nc\n", read(out));
+    }
+
+    @Test
+    public void asyncSink_writesInOrderBeforeClosing() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncSink sink = new AsyncSink(new ConsoleSink(out, 1 << 16, false), 4);
+        sink.start();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sink.print(Integer.toString(i));
+            expected.append(i).append('\n');
+        }
+        sink.flush();
+        assertEquals(expected.toString(), read(out));
+
+        sink.print("last");
+        sink.close();
+        sink.print("discarded");
+        assertEquals(expected + "last\n", read(out));
+    }
+
+    @Test
+    public void asyncSink_streamsAfterEarlierMessages() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AsyncSink sink = new AsyncSink(new ConsoleSink(out, 1 << 16, false), 4);
+        sink.start();
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            sink.print(Integer.toString(i));
+            expected.append(i).append('\n');
+        }
+
+        Writer writer = sink.getWriter();
+        assertNotNull(writer);
+        writer.write("streamed\n");
+        writer.flush();
+        assertEquals(expected + "streamed\n", read(out));
+
+        sink.print("after");
+        sink.close();
+        assertEquals(expected + "streamed\nafter\n", read(out));
+    }
+
+    @Test
+    public void ui_rendersResponsesOnlyForSinksWhichKeepThem() throws Exception {
+        int[] renders = new int[1];
+        CommandResult result = CommandResult.of(() -> "rendered " + ++renders[0]);
+        Ui ui = new Ui();
+        assertFalse(ui.isStreaming());
+        ui.showResponse(result);
+        assertEquals(0, renders[0]);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ui.setSink(new ConsoleSink(out, 1024, true));
+        assertTrue(ui.isStreaming());
+        ui.showResponse(result);
+        ui.showResponse(result);
+        ui.showResponse(CommandResult.of(""));
+        assertEquals("rendered 1\nrendered 1\n", read(out));
+        assertEquals(1, renders[0]);
+    }
+
+    @Test
+    public void commandResult_carriesTasksAndCounts() throws Exception {
+        TaskList taskList = new TaskList();
+        CommandResult added = taskList.addTask(new InputTokens("todo a"));
+        assertEquals(CommandResult.SUCCESS, added.getStatus());
+        assertEquals("a", added.getTasks().get(0).getName());
+        assertEquals(1, added.getListSize());
+        taskList.addTask("todo b");
+
+        CommandResult done = taskList.markDone(new InputTokens("done 1-2"));
+        assertEquals(2, done.getAffectedCount());
+        assertEquals("Nice! I've marked 2 tasks as done (0 of them were already done).", done.getText());
+
+        CommandResult event = taskList.addTask(new InputTokens("event c /at 2021-03-01 10:00-12:00"));
+        CommandResult overlapping = taskList.addTask(new InputTokens("event d /at 2021-03-01 11:00-13:00"));
+        taskList.deleteTask("delete 1-4");
+        taskList.addTask("todo e");
+        taskList.addTask("event f /at 2021-03-01 11:30-12:30");
+        assertEquals("Got it. I've added this task:\n[T][ ] a\nNow you have 1 tasks in the list.", added.getText());
+        assertEquals("[E][ ] c (at: Mar 1 2021 10:00-12:00)", event.getTasks().get(0).toString());
+        assertTrue(overlapping.getText().endsWith(
+                "Note: this event overlaps with:\n3. #3 [E][ ] c (at: Mar 1 2021 10:00-12:00)"));
+
+        CommandResult found = Parser.parse("find c").execute(taskList, new Ui());
+        CommandResult listed = Parser.parse("list").execute(taskList, new Ui());
+        taskList.addTask("todo c");
+        assertEquals(List.of(), found.getTasks());
+        assertEquals("You have no matching tasks in your list.", found.getText());
+        assertEquals(2, listed.getText().split("\n").length - 1);
+        assertTrue(Parser.parse("find").execute(taskList, new Ui()).isError());
+
+        CommandResult error = Parser.parse("delete 9").execute(taskList, new Ui());
+        assertTrue(error.isError());
+        assertEquals(CommandResult.EXIT, Parser.parse("bye").execute(taskList, new Ui()).getStatus());
+        assertEquals(CommandResult.HELP, Parser.parse("help").execute(taskList, new Ui()).getStatus());
+    }
+}
@@ -1,3 +1,6 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -7,6 +10,9 @@ import chadbot.command.DeleteCommand;
 import chadbot.command.DoneCommand;
 import chadbot.command.ExitCommand;
 import chadbot.command.PrintCommand;
+import chadbot.command.ScheduleCommand;
+import chadbot.command.StatsCommand;
+import chadbot.subfiles.InputTokens;
 import chadbot.subfiles.Parser;
 
 public class ParseTest {
@@ -46,4 +52,33 @@ public class ParseTest {
         assertTrue(Parser.parse("event abcde") instanceof AddCommand);
         assertTrue(Parser.parse("event abcde /at 1111-11-11") instanceof AddCommand);
     }
+
+    @Test
+    public void parseByKeyword_wholeFirstWordOnly() {
+        assertTrue(Parser.parse("busy 2021-03-01") instanceof ScheduleCommand);
+        assertTrue(Parser.parse("free 2021-03-01 /for 30") instanceof ScheduleCommand);
+        assertTrue(Parser.parse("stats") instanceof StatsCommand);
+        assertTrue(Parser.parse("byebye") instanceof AddCommand);
+        assertTrue(Parser.parse("Bye") instanceof AddCommand);
+        assertTrue(Parser.parse("\u00e9vent a") instanceof AddCommand);
+    }
+
+    @Test
+    public void inputTokens_readsWordsInPlace() {
+        InputTokens tokens = new InputTokens("deadline return  book /by 2021-02-12");
+        assertEquals(5, tokens.size());
+        assertTrue(tokens.matches(0, "deadline"));
+        assertFalse(tokens.matches(0, "dead"));
+        assertEquals("book", tokens.get(2));
+        assertEquals("return  book", tokens.getTextBeforeParameter(tokens.getEnd(0) + 1));
+        assertEquals("2021-02-12", tokens.getParameterValue());
+        assertEquals("book /by 2021-02-12", tokens.getRest(2));
+
+        tokens.reset("list /page 12 /size x");
+        assertEquals(5, tokens.size());
+        assertEquals(12, tokens.parseInt(2));
+        assertThrows(NumberFormatException.class, () -> tokens.parseInt(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> tokens.get(5));
+        assertEquals(0, new InputTokens("  ").size());
+    }
 }
@@ -0,0 +1,108 @@
+import java.lang.management.ManagementFactory;
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import chadbot.subfiles.RecordParser;
+import chadbot.task.Deadline;
+import chadbot.task.Event;
+import chadbot.task.Task;
+import chadbot.task.ToDo;
+
+/**
+ * Compares the time taken and memory allocated when parsing a large save file with RecordParser, against
+ * splitting each line with a regular expression and parsing its date with LocalDate.parse.
+ * Run with: java -cp build/classes/java/main:build/classes/java/test RecordParserBenchmark [lines]
+ */
+public class RecordParserBenchmark {
+    private static final int ROUNDS = 5;
+
+    private static String generate(int lines) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            switch (i % 3) {
+            case 0:
+                sb.append("T | ").append(i % 2).append(" | todo number ").append(i);
+                break;
+            case 1:
+                sb.append("D | ").append(i % 2).append(" | deadline number ").append(i).append(" | 2021-02-")
+                        .append(10 + i % 18);
+                break;
+            default:
+                sb.append("E | ").append(i % 2).append(" | event number ").append(i).append(" | 2021-03-")
+                        .append(10 + i % 18);
+                break;
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static List<Task> parseWithSplit(String contents) {
+        List<Task> tasks = new ArrayList<>();
+        for (String line : contents.split("\\R")) {
+            String[] sArray = line.split(" \\| ");
+            Task t;
+            try {
+                switch (sArray[0]) {
+                case "T":
+                    t = new ToDo(sArray[2]);
+                    break;
+                case "D":
+                    t = new Deadline(sArray[2], LocalDate.parse(sArray[3]));
+                    break;
+                default:
+                    t = new Event(sArray[2], LocalDate.parse(sArray[3]));
+                    break;
+                }
+            } catch (DateTimeParseException e) {
+                throw new IllegalStateException(e);
+            }
+            if (sArray[1].equals("1")) {
+                t.setDone();
+            }
+            tasks.add(t);
+        }
+        return tasks;
+    }
+
+    private static List<Task> parseWithRecordParser(String contents) {
+        List<Task> tasks = new ArrayList<>();
+        RecordParser parser = new RecordParser(CharBuffer.wrap(contents));
+        while (parser.hasNextLine()) {
+            if (parser.parseLine() != RecordParser.VALID) {
+                throw new IllegalStateException();
+            }
+            tasks.add(parser.toTask());
+        }
+        return tasks;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void measure(String name, String contents, Function<String, List<Task>> f) {
+        for (int i = 0; i < ROUNDS; i++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            int size = f.apply(contents).size();
+            long elapsed = System.nanoTime() - start;
+            bytes = allocatedBytes() - bytes;
+            System.out.printf("%-14s round %d: %6d ms, %6d MB allocated, %d tasks%n", name, i + 1,
+                    elapsed / 1_000_000, bytes >> 20, size);
+        }
+    }
+
+    public static void main(String[] args) {
+        int lines = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        String contents = generate(lines);
+
+        measure("split", contents, RecordParserBenchmark::parseWithSplit);
+        measure("RecordParser", contents, RecordParserBenchmark::parseWithRecordParser);
+    }
+}
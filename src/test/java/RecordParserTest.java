@@ -0,0 +1,93 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.CharBuffer;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+import org.junit.jupiter.api.Test;
+
+import chadbot.subfiles.RecordParser;
+
+public class RecordParserTest {
+    private int parse(String line) {
+        RecordParser parser = new RecordParser(line);
+        assertTrue(parser.hasNextLine());
+        return parser.parseLine();
+    }
+
+    @Test
+    public void parseLine_validRecords() {
+        RecordParser parser = new RecordParser(CharBuffer.wrap("T | 1 | read book\r\n\r\n"
+                + "D | 0 | return book | 2021-02-12\nE | 0 | book | fair | 2021-03-01\n"));
+
+        assertTrue(parser.hasNextLine());
+        assertEquals(RecordParser.VALID, parser.parseLine());
+        assertEquals("[T][X] read book", parser.toTask().toString());
+
+        assertTrue(parser.hasNextLine());
+        assertEquals(RecordParser.VALID, parser.parseLine());
+        assertEquals('D', parser.getType());
+        assertFalse(parser.isDone());
+        assertEquals("return book", parser.getName());
+        assertEquals(LocalDate.parse("2021-02-12").toEpochDay(), parser.getEpochDay());
+
+        assertTrue(parser.hasNextLine());
+        assertEquals(RecordParser.INVALID_DATE, parser.parseLine());
+        assertFalse(parser.hasNextLine());
+    }
+
+    @Test
+    public void parseLine_invalidRecords() {
+        assertEquals(RecordParser.INVALID_RECORD, parse("X | 0 | read book"));
+        assertEquals(RecordParser.INVALID_RECORD, parse("TT | 0 | read book"));
+        assertEquals(RecordParser.INVALID_RECORD, parse("T | 0"));
+        assertEquals(RecordParser.INVALID_RECORD, parse("D | 0 | return book"));
+        assertEquals(RecordParser.INVALID_DATE, parse("D | 0 | return book | 2021-2-12"));
+        assertEquals(RecordParser.INVALID_DATE, parse("E | 0 | book fair | 2021-02-29"));
+        assertEquals(RecordParser.INVALID_DATE, parse("E | 0 | book fair | 2021-03-01 | 09:00-25:00"));
+        assertEquals(RecordParser.INVALID_DATE, parse("E | 0 | book fair | 2021-03-01 | 09:00-09:00+0"));
+        assertEquals(RecordParser.INVALID_RECORD, parse("#0 | T | 0 | read book"));
+        assertEquals(RecordParser.INVALID_RECORD, parse("#x | T | 0 | read book"));
+        assertEquals(RecordParser.INVALID_RECORD, parse("next | -1"));
+    }
+
+    @Test
+    public void parseLine_ids() {
+        RecordParser parser = new RecordParser("next | 12\n#7 | D | 1 | return book | 2021-02-12\nT | 0 | a\n");
+
+        assertTrue(parser.hasNextLine());
+        assertEquals(RecordParser.NEXT_ID, parser.parseLine());
+        assertEquals(12, parser.getNextId());
+
+        assertTrue(parser.hasNextLine());
+        assertEquals(RecordParser.VALID, parser.parseLine());
+        assertEquals("return book", parser.getName());
+        assertEquals(7, parser.toTask().getId());
+
+        assertTrue(parser.hasNextLine());
+        assertEquals(RecordParser.VALID, parser.parseLine());
+        assertEquals(0, parser.toTask().getId());
+    }
+
+    @Test
+    public void parseLine_datesMatchLocalDateParse() {
+        String[] dates = {"0000-01-01", "0001-12-31", "1111-11-11", "1900-02-29", "1969-12-31", "1970-01-01",
+            "2000-02-29", "2020-02-29", "2021-02-28", "2021-04-31", "2021-13-01", "2021-00-10", "9999-12-31",
+            "+10000-01-01", "-0001-01-01", "2021-1a-01"};
+
+        for (String date : dates) {
+            RecordParser parser = new RecordParser("D | 0 | d | " + date);
+            parser.hasNextLine();
+            int result = parser.parseLine();
+            try {
+                long expected = LocalDate.parse(date).toEpochDay();
+                assertEquals(RecordParser.VALID, result, date);
+                assertEquals(expected, parser.getEpochDay(), date);
+            } catch (DateTimeParseException e) {
+                assertEquals(RecordParser.INVALID_DATE, result, date);
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chadbot.subfiles.TaskList;
+import chadbot.subfiles.TimingWheel;
+
+public class ReminderSchedulerTest {
+    /** Clock which only moves when it is fast-forwarded. */
+    private static class ManualClock extends Clock {
+        private Instant now;
+
+        ManualClock(String now) {
+            this.now = Instant.parse(now);
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    public void timingWheel_manyTimers_expireInTimeUnlessCancelled() {
+        TimingWheel wheel = new TimingWheel(1000, 256, 0);
+        List<TimingWheel.Timer> timers = new ArrayList<>();
+        for (int i = 0; i < 200000; i++) {
+            timers.add(wheel.schedule(i, (long) i * 37));
+        }
+        for (int i = 0; i < timers.size(); i += 2) {
+            wheel.cancel(timers.get(i));
+        }
+        assertEquals(100000, wheel.size());
+
+        long[] expired = new long[2];
+        wheel.advanceTo(999_999, value -> expired[0]++);
+        wheel.advanceTo(7_400_000, value -> expired[1] = Math.max(expired[1], value));
+        assertEquals(13500, expired[0]);
+        assertEquals(199999, expired[1]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void taskList_remindsDayBeforeEachPendingTask() throws Exception {
+        ManualClock clock = new ManualClock("2021-03-01T12:00:00Z");
+        TaskList taskList = new TaskList();
+        taskList.addTask("deadline b /by 2021-03-05");
+        taskList.addTask("event d /at 2021-03-01");
+        taskList.addTask("deadline a /by 2021-02-01");
+        taskList.addTask("deadline e /by 2021-04-01");
+        taskList.enableReminders(clock);
+        assertEquals(List.of(), taskList.pollReminders());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(List.of("Reminder: this event is happening today:\n#2 [E][ ] d (at: Mar 1 2021)"),
+                taskList.pollReminders());
+
+        taskList.markDone("done 1");
+        taskList.editTask("edit 4 /date 2021-03-03");
+        taskList.addTask("deadline f /by 2021-03-04");
+        taskList.addTask("event g /at 2021-03-20");
+        taskList.deleteTask("delete 6");
+        clock.advance(Duration.ofHours(12));
+        assertEquals(List.of("Reminder: this deadline is due tomorrow:\n#4 [D][ ] e (by: Mar 3 2021)"),
+                taskList.pollReminders());
+
+        clock.advance(Duration.ofDays(1));
+        assertEquals(List.of("Reminder: this deadline is due tomorrow:\n#5 [D][ ] f (by: Mar 4 2021)"),
+                taskList.pollReminders());
+        clock.advance(Duration.ofDays(30));
+        assertEquals(List.of(), taskList.pollReminders());
+    }
+}
@@ -0,0 +1,327 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import chadbot.exceptions.LoadFailureException;
+import chadbot.subfiles.BinarySnapshot;
+import chadbot.subfiles.Storage;
+import chadbot.subfiles.TaskList;
+import chadbot.task.Task;
+
+public class StorageTest {
+    @TempDir
+    Path tempDir;
+
+    private Storage newStorage() {
+        return new Storage(tempDir.toString() + File.separator, "duke.txt");
+    }
+
+    private TaskList load() {
+        TaskList taskList = new TaskList();
+        newStorage().loadData(taskList);
+        return taskList;
+    }
+
+    private List<String> describe(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        for (Task t : tasks) {
+            descriptions.add(t.toString());
+        }
+        return descriptions;
+    }
+
+    @Test
+    public void loadData_replaysJournalWithoutSave() throws Exception {
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        taskList.addTask("todo read book");
+        taskList.addTask("deadline return book /by 2021-02-12");
+        taskList.addTask("event book fair /at 2021-03-01");
+        storage.commit();
+        taskList.markDone("done 2");
+        taskList.deleteTask("delete 1");
+        taskList.editTask("edit 2 /desc library fair");
+        storage.commit();
+
+        TaskList reloaded = load();
+        assertEquals(2, reloaded.getTasks().size());
+        assertEquals("[D][X] return book (by: Feb 12 2021)", reloaded.getTasks().get(0).toString());
+        assertEquals("[E][ ] library fair (at: Mar 1 2021)", reloaded.getTasks().get(1).toString());
+    }
+
+    @Test
+    public void loadData_replaysDescriptionsContainingSeparator() throws Exception {
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        taskList.addTask("todo a | b \\| c\\");
+        taskList.addTask("deadline x | y /by 2021-02-12");
+        taskList.addTask("todo z");
+        taskList.editTask("edit 3 /desc 1 | 2");
+        storage.commit();
+
+        Storage reopened = newStorage();
+        TaskList reloaded = new TaskList();
+        assertTrue(reopened.loadData(reloaded));
+        assertEquals(List.of("[T][ ] a | b \\| c\\", "[D][ ] x | y (by: Feb 12 2021)", "[T][ ] 1 | 2"),
+                describe(reloaded.getTasks()));
+        reloaded.addTask("todo after");
+        reopened.commit();
+        assertEquals(4, load().getTasks().size());
+    }
+
+    @Test
+    public void loadData_replaysBatchRecords() throws Exception {
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        for (int i = 1; i <= 10; i++) {
+            taskList.addTask("todo t" + i);
+        }
+        storage.saveData(taskList);
+        taskList.markDone("done 1-4");
+        taskList.deleteTask("delete 2,3,6-9");
+        storage.commit();
+        assertEquals(2, Files.readAllLines(tempDir.resolve("duke.txt.journal")).size() - 1);
+
+        TaskList reloaded = load();
+        assertEquals(List.of("[T][X] t1", "[T][X] t4", "[T][ ] t5", "[T][ ] t10"),
+                describe(reloaded.getTasks()));
+    }
+
+    @Test
+    public void loadData_uncommittedChanges_notReplayed() throws Exception {
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        taskList.addTask("todo read book");
+        storage.commit();
+        taskList.addTask("todo write book");
+
+        assertEquals(1, load().getTasks().size());
+    }
+
+    @Test
+    public void saveData_foldsJournalIntoSaveFile() throws Exception {
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        taskList.addTask("todo b");
+        taskList.addTask("todo a");
+        taskList.sortTasksByName();
+        storage.commit();
+        storage.saveData(taskList);
+
+        List<String> lines = Files.readAllLines(tempDir.resolve("duke.txt"));
+        assertEquals(List.of("next | 3", "#2 | T | 0 | a", "#1 | T | 0 | b"), lines);
+        assertEquals(1, Files.readAllLines(tempDir.resolve("duke.txt.journal")).size());
+
+        TaskList reloaded = load();
+        assertEquals(2, reloaded.getTasks().size());
+        assertEquals("a", reloaded.getTasks().get(0).getName());
+    }
+
+    @Test
+    public void saveData_idsPersist_deletedIdsNotReused() throws Exception {
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        taskList.addTask("todo a");
+        taskList.addTask("todo b");
+        taskList.addTask("todo c");
+        taskList.sortTasksByName();
+        taskList.deleteTask("delete #3");
+        storage.commit();
+        storage.saveData(taskList);
+
+        TaskList reloaded = load();
+        reloaded.markDone("done #2");
+        assertTrue(reloaded.getTasks().get(1).isDone());
+        reloaded.addTask("todo d");
+        assertEquals(4, reloaded.getTasks().get(2).getId());
+    }
+
+    @Test
+    public void loadData_staleJournal_ignored() throws Exception {
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        taskList.addTask("todo a");
+        storage.commit();
+
+        Files.write(tempDir.resolve("duke.txt"), List.of("T | 1 | b"));
+
+        TaskList reloaded = load();
+        assertEquals(1, reloaded.getTasks().size());
+        assertTrue(reloaded.getTasks().get(0).isDone());
+    }
+
+    @Test
+    public void loadData_corruptSaveFile_journalDetached() throws Exception {
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        taskList.addTask("todo a");
+        storage.commit();
+        List<String> journal = Files.readAllLines(tempDir.resolve("duke.txt.journal"));
+
+        Files.write(tempDir.resolve("duke.txt"), List.of("X | corrupt"));
+        Storage corrupted = newStorage();
+        TaskList partial = new TaskList();
+        corrupted.loadData(partial);
+        partial.addTask("todo b");
+        corrupted.commit();
+        assertEquals(journal, Files.readAllLines(tempDir.resolve("duke.txt.journal")));
+
+        corrupted.saveData(partial);
+        assertEquals(List.of("[T][ ] b"), describe(load().getTasks()));
+    }
+
+    private List<String> generateLines(int count) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            switch (i % 3) {
+            case 0:
+                lines.add("T | " + (i % 2) + " | todo " + i);
+                break;
+            case 1:
+                lines.add("D | " + (i % 2) + " | deadline " + i + " | 2021-02-" + (10 + i % 18));
+                break;
+            default:
+                lines.add("E | " + (i % 2) + " | event " + i + " | 2021-03-" + (10 + i % 18));
+                break;
+            }
+        }
+        return lines;
+    }
+
+    @Test
+    public void loadData_largeFile_keepsFileOrder() throws Exception {
+        List<String> lines = generateLines(150000);
+        Files.write(tempDir.resolve("duke.txt"), lines);
+
+        TaskList taskList = load();
+        assertEquals(lines.size(), taskList.getTasks().size());
+        for (int i = 0; i < lines.size(); i += 997) {
+            assertTrue(taskList.getTasks().get(i).getName().endsWith(" " + i));
+        }
+    }
+
+    @Test
+    public void loadData_largeFileWithInvalidDate_keepsPrecedingTasks() throws Exception {
+        List<String> lines = generateLines(150000);
+        lines.set(123456, "D | 0 | broken | 2021-02-30");
+        Files.write(tempDir.resolve("duke.txt"), lines);
+
+        assertEquals(123456, load().getTasks().size());
+    }
+
+    @Test
+    public void writeBehind_savesAfterQuietPeriod() throws Exception {
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        storage.startWriteBehind(taskList, 50, 1000);
+        taskList.addTask("todo a");
+        storage.commit();
+        taskList.addTask("todo b");
+        storage.commit();
+
+        long deadline = System.currentTimeMillis() + 5000;
+        while (Files.readAllLines(tempDir.resolve("duke.txt")).size() < 3 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(List.of("next | 3", "#1 | T | 0 | a", "#2 | T | 0 | b"),
+                Files.readAllLines(tempDir.resolve("duke.txt")));
+        storage.close();
+    }
+
+    @Test
+    public void writeBehind_closeFlushesPendingChanges() throws Exception {
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        storage.startWriteBehind(taskList, 60000, 60000);
+        taskList.addTask("todo a");
+        storage.commit();
+        assertEquals(0, Files.readAllLines(tempDir.resolve("duke.txt")).size());
+
+        storage.close();
+        assertEquals(List.of("next | 2", "#1 | T | 0 | a"), Files.readAllLines(tempDir.resolve("duke.txt")));
+        assertEquals(1, load().getTasks().size());
+    }
+
+    @Test
+    public void convertSaveFile_convertsToAndFromText() throws Exception {
+        List<String> lines = List.of("next | 9", "#1 | T | 1 | read book", "#5 | D | 0 | return book | 2021-02-12",
+                "#3 | E | 0 | book fair | 2021-03-01", "#2 | T | 0 | read book",
+                "#4 | E | 0 | night shift | 2021-03-01 | 22:00-06:30+1");
+        Path file = tempDir.resolve("duke.txt");
+        Files.write(file, lines);
+
+        Storage storage = newStorage();
+        assertTrue(storage.convertSaveFile(new TaskList(), true));
+        storage.close();
+        assertTrue(BinarySnapshot.isBinarySnapshot(file.toFile()));
+        try (BinarySnapshot snapshot = BinarySnapshot.open(file.toFile())) {
+            assertEquals(5, snapshot.size());
+            assertEquals("[E][ ] night shift (at: Mar 1 2021 22:00-06:30+1)", snapshot.get(4).toString());
+            assertEquals("[E][ ] book fair (at: Mar 1 2021)", snapshot.get(2).toString());
+            assertEquals("[T][X] read book", snapshot.get(0).toString());
+            assertEquals(5, snapshot.get(1).getId());
+            assertEquals(9, snapshot.getNextId());
+        }
+
+        storage = newStorage();
+        assertTrue(storage.convertSaveFile(new TaskList(), false));
+        storage.close();
+        assertEquals(lines, Files.readAllLines(file));
+    }
+
+    @Test
+    public void binarySnapshot_corruptContents_notLoaded() throws Exception {
+        Path file = tempDir.resolve("duke.txt");
+        Files.write(file, List.of("T | 0 | a", "T | 0 | b"));
+        Storage storage = newStorage();
+        storage.convertSaveFile(new TaskList(), true);
+        storage.close();
+
+        byte[] contents = Files.readAllBytes(file);
+        contents[contents.length - 1] ^= 1;
+        Files.write(file, contents);
+        assertThrows(LoadFailureException.class, () -> BinarySnapshot.open(file.toFile()));
+        assertFalse(newStorage().convertSaveFile(new TaskList(), false));
+        assertArrayEquals(contents, Files.readAllBytes(file));
+    }
+
+    @Test
+    public void loadData_binarySaveFile_staysBinary() throws Exception {
+        Files.write(tempDir.resolve("duke.txt"), List.of("T | 0 | a", "D | 0 | b | 2021-02-12"));
+        Storage converter = newStorage();
+        converter.convertSaveFile(new TaskList(), true);
+        converter.close();
+
+        Storage storage = newStorage();
+        TaskList taskList = new TaskList();
+        storage.loadData(taskList);
+        assertEquals(2, taskList.getTasks().size());
+        taskList.markDone("done 2");
+        storage.commit();
+
+        TaskList reloaded = load();
+        assertTrue(reloaded.getTasks().get(1).isDone());
+        assertTrue(BinarySnapshot.isBinarySnapshot(tempDir.resolve("duke.txt").toFile()));
+    }
+}
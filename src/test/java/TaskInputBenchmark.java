@@ -0,0 +1,129 @@
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import chadbot.exceptions.DateFormatException;
+import chadbot.exceptions.EmptyDateException;
+import chadbot.exceptions.EmptyDescriptionException;
+import chadbot.exceptions.InvalidInputException;
+import chadbot.subfiles.InputTokens;
+import chadbot.subfiles.TaskInputParser;
+import chadbot.task.Deadline;
+import chadbot.task.Event;
+import chadbot.task.ToDo;
+
+/**
+ * Compares the time taken and memory allocated when rejecting a large batch of mostly malformed task input with
+ * TaskInputParser and shared stackless exceptions, against parsing each input with LocalDate.parse inside a try
+ * block and reporting each error with a new exception which records its stack trace.
+ * Run with: java -cp build/classes/java/main:build/classes/java/test TaskInputBenchmark [inputs]
+ */
+public class TaskInputBenchmark {
+    private static final int ROUNDS = 5;
+
+    private static List<String> generate(int inputs) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < inputs; i++) {
+            switch (i % 5) {
+            case 0:
+                lines.add("deadline essay " + i + " /by 2021-02-" + (10 + i % 18));
+                break;
+            case 1:
+                lines.add("deadline essay " + i + " /by 12-02-2021");
+                break;
+            case 2:
+                lines.add("event talk " + i + " /at 2021-02-30");
+                break;
+            case 3:
+                lines.add("todo");
+                break;
+            default:
+                lines.add("event talk " + i + " /at");
+                break;
+            }
+        }
+        return lines;
+    }
+
+    private static Integer parseWithExceptions(List<String> lines) {
+        int errors = 0;
+        for (String input : lines) {
+            try {
+                String[] words = input.split(" ");
+                int slash = input.indexOf(" /");
+                String description = input.substring(words[0].length() + 1, slash < 0 ? input.length() : slash);
+                if (description.isBlank()) {
+                    throw new IllegalArgumentException("empty description");
+                } else if (words[0].equals("todo")) {
+                    new ToDo(description);
+                    continue;
+                }
+                String date = input.substring(input.indexOf(' ', slash + 1) + 1);
+                if (words[0].equals("deadline")) {
+                    new Deadline(description, LocalDate.parse(date));
+                } else {
+                    new Event(description, LocalDate.parse(date));
+                }
+            } catch (IndexOutOfBoundsException | IllegalArgumentException | DateTimeParseException e) {
+                errors++;
+            }
+        }
+        return errors;
+    }
+
+    private static Integer parseWithResultCodes(List<String> lines) {
+        int errors = 0;
+        InputTokens tokens = new InputTokens("");
+        TaskInputParser parser = new TaskInputParser();
+        for (String input : lines) {
+            tokens.reset(input);
+            try {
+                switch (parser.parse(tokens)) {
+                case TaskInputParser.VALID:
+                    parser.toTask();
+                    break;
+                case TaskInputParser.EMPTY_DESCRIPTION:
+                    throw EmptyDescriptionException.getInstance(parser.getType());
+                case TaskInputParser.EMPTY_DATE:
+                    throw EmptyDateException.getInstance(parser.getType());
+                case TaskInputParser.INVALID_DATE:
+                    throw DateFormatException.getInstance();
+                default:
+                    throw InvalidInputException.getInstance();
+                }
+            } catch (EmptyDescriptionException | EmptyDateException | DateFormatException
+                    | InvalidInputException e) {
+                errors++;
+            }
+        }
+        return errors;
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void measure(String name, List<String> lines, Function<List<String>, Integer> f) {
+        for (int i = 0; i < ROUNDS; i++) {
+            long bytes = allocatedBytes();
+            long start = System.nanoTime();
+            int errors = f.apply(lines);
+            long elapsed = System.nanoTime() - start;
+            bytes = allocatedBytes() - bytes;
+            System.out.printf("%-14s round %d: %6d ms, %6d MB allocated, %d errors%n", name, i + 1,
+                    elapsed / 1_000_000, bytes >> 20, errors);
+        }
+    }
+
+    public static void main(String[] args) {
+        int inputs = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<String> lines = generate(inputs);
+
+        measure("exceptions", lines, TaskInputBenchmark::parseWithExceptions);
+        measure("result codes", lines, TaskInputBenchmark::parseWithResultCodes);
+    }
+}
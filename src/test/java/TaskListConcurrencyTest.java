@@ -0,0 +1,221 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import chadbot.subfiles.TaskList;
+import chadbot.subfiles.TaskSnapshot;
+import chadbot.task.Task;
+
+public class TaskListConcurrencyTest {
+    private static Thread start(Runnable body, AtomicReference<Throwable> failure) {
+        Thread thread = new Thread(body);
+        thread.setUncaughtExceptionHandler((t, e) -> failure.compareAndSet(null, e));
+        thread.start();
+        return thread;
+    }
+
+    private static List<String> describe(List<Task> tasks) {
+        List<String> descriptions = new ArrayList<>();
+        for (Task t : tasks) {
+            descriptions.add(t.toString());
+        }
+        return descriptions;
+    }
+
+    private static void runQuietly(Runnable body) {
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            body.run();
+        } finally {
+            System.setOut(out);
+        }
+    }
+
+    @Test
+    public void snapshot_unaffectedByLaterChanges() throws Exception {
+        TaskList taskList = new TaskList();
+        runQuietly(() -> {
+            try {
+                taskList.addTask("todo b");
+                taskList.addTask("deadline a /by 2021-02-12");
+                TaskSnapshot before = taskList.snapshot();
+
+                taskList.markDone("done 2");
+                taskList.editTask("edit 1 /desc c");
+                taskList.sortTasksByName();
+                taskList.deleteTask("delete 1");
+
+                assertEquals(List.of("[T][ ] b", "[D][ ] a (by: Feb 12 2021)"), describe(before));
+                assertEquals(List.of("[T][ ] c"), describe(taskList.snapshot()));
+                assertEquals(before.getVersion() + 4, taskList.snapshot().getVersion());
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        });
+    }
+
+    @Test
+    public void concurrentReaders_seeOnlyStatesOfSequentialHistory() throws Exception {
+        TaskList taskList = new TaskList();
+        Map<Long, List<String>> history = new ConcurrentHashMap<>();
+        Map<Long, List<String>> observed = new ConcurrentHashMap<>();
+        AtomicBoolean isDone = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        history.put(taskList.snapshot().getVersion(), List.of());
+
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 3; r++) {
+            readers.add(start(() -> {
+                long lastVersion = -1;
+                while (!isDone.get()) {
+                    TaskSnapshot snapshot = taskList.snapshot();
+                    assertTrue(snapshot.getVersion() >= lastVersion);
+                    lastVersion = snapshot.getVersion();
+                    observed.putIfAbsent(lastVersion, describe(snapshot));
+                }
+            }, failure));
+        }
+
+        runQuietly(() -> {
+            try {
+                Random random = new Random(2103);
+                List<String> model = new ArrayList<>();
+                for (int i = 0; i < 1500; i++) {
+                    int op = random.nextInt(10);
+                    if (op < 5 || model.isEmpty()) {
+                        String name = "task " + random.nextInt(100000);
+                        taskList.addTask("todo " + name);
+                        model.add("[T][ ] " + name);
+                    } else if (op < 7) {
+                        int index = random.nextInt(model.size());
+                        taskList.deleteTask("delete " + (index + 1));
+                        model.remove(index);
+                    } else if (op < 9) {
+                        int index = random.nextInt(model.size());
+                        taskList.markDone("done " + (index + 1));
+                        model.set(index, model.get(index).replace("[T][ ]", "[T][X]"));
+                    } else {
+                        taskList.sortTasksByName();
+                        model.sort((a, b) -> a.substring(7).compareTo(b.substring(7)));
+                    }
+                    history.put(taskList.getVersion(), new ArrayList<>(model));
+                }
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        });
+
+        isDone.set(true);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(failure.get());
+        assertTrue(observed.size() > 1);
+        for (Map.Entry<Long, List<String>> entry : observed.entrySet()) {
+            assertEquals(history.get(entry.getKey()), entry.getValue());
+        }
+        assertEquals(history.get(taskList.getVersion()), describe(taskList.snapshot()));
+    }
+
+    @Test
+    public void snapshot_longListUnderConstantChanges_neverNull() throws Exception {
+        TaskList taskList = new TaskList();
+        int initialSize = 20000;
+        for (int i = 0; i < initialSize; i++) {
+            taskList.addTaskFromData("T | 0 | t" + i);
+        }
+        AtomicBoolean isDone = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread writer = start(() -> runQuietly(() -> {
+            try {
+                while (!isDone.get()) {
+                    taskList.addTask("todo w");
+                    taskList.deleteTask("delete " + (initialSize + 1));
+                }
+            } catch (Exception e) {
+                throw new AssertionError(e);
+            }
+        }), failure);
+
+        for (int i = 0; i < 50; i++) {
+            TaskSnapshot snapshot = taskList.snapshot();
+            assertTrue(snapshot != null);
+            assertEquals(snapshot.getVersion() % 2 == 0 ? initialSize : initialSize + 1, snapshot.size());
+        }
+        isDone.set(true);
+        writer.join();
+        assertNull(failure.get());
+    }
+
+    @Test
+    public void concurrentWriters_changesAreAtomic() throws Exception {
+        TaskList taskList = new TaskList();
+        int writerCount = 4;
+        int tasksPerWriter = 300;
+        AtomicBoolean isDone = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        taskList.snapshot();
+
+        Thread reader = start(() -> {
+            while (!isDone.get()) {
+                TaskSnapshot snapshot = taskList.snapshot();
+                int pending = 0;
+                for (Task t : snapshot) {
+                    pending += t.isDone() ? 0 : 1;
+                }
+                assertEquals(2L * snapshot.size() - pending, snapshot.getVersion());
+            }
+        }, failure);
+
+        runQuietly(() -> {
+            List<Thread> writers = new ArrayList<>();
+            for (int w = 0; w < writerCount; w++) {
+                int writer = w;
+                writers.add(start(() -> {
+                    try {
+                        for (int k = 0; k < tasksPerWriter; k++) {
+                            String output = taskList.addTask("todo w" + writer + " " + k);
+                            String count = output.substring(output.indexOf("Now you have ") + 13).split(" ")[0];
+                            taskList.markDone("done " + count);
+                        }
+                    } catch (Exception e) {
+                        throw new AssertionError(e);
+                    }
+                }, failure));
+            }
+            try {
+                for (Thread writer : writers) {
+                    writer.join();
+                }
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        });
+
+        isDone.set(true);
+        reader.join();
+        assertNull(failure.get());
+
+        TaskSnapshot last = taskList.snapshot();
+        assertEquals(writerCount * tasksPerWriter, last.size());
+        assertEquals(2L * writerCount * tasksPerWriter, last.getVersion());
+        for (Task t : last) {
+            assertTrue(t.isDone());
+        }
+    }
+}
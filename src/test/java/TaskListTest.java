@@ -0,0 +1,351 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import chadbot.exceptions.DateFormatException;
+import chadbot.exceptions.EmptyDateException;
+import chadbot.exceptions.EmptyDescriptionException;
+import chadbot.exceptions.InvalidInputException;
+import chadbot.exceptions.ListOutOfBoundsException;
+import chadbot.exceptions.QueryFormatException;
+import chadbot.exceptions.TaskNotFoundException;
+import chadbot.subfiles.InputTokens;
+import chadbot.subfiles.TaskCursor;
+import chadbot.subfiles.TaskInputParser;
+import chadbot.subfiles.TaskList;
+import chadbot.task.Task;
+
+public class TaskListTest {
+    private TaskList newTaskList() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.addTask("deadline b /by 2021-03-05");
+        taskList.addTask("todo c");
+        taskList.addTask("event d /at 2021-03-01");
+        taskList.addTask("deadline a /by 2021-03-01");
+        taskList.addTask("deadline e /by 2021-04-01");
+        return taskList;
+    }
+
+    @Test
+    public void addTask_malformedInput_sharedStacklessExceptions() throws Exception {
+        TaskList taskList = new TaskList();
+        DateFormatException first = assertThrows(DateFormatException.class,
+                () -> taskList.addTask("deadline a /by 2021-02-30"));
+        assertTrue(first == assertThrows(DateFormatException.class, () -> taskList.addTask("event b /at 1-2-3")));
+        assertEquals(0, first.getStackTrace().length);
+        assertThrows(DateFormatException.class, () -> taskList.addTask("event b /at 2021-03-01 25:00-26:00"));
+        assertThrows(EmptyDescriptionException.class, () -> taskList.addTask("todo   "));
+        assertThrows(EmptyDateException.class, () -> taskList.addTask("deadline a /by"));
+        assertThrows(InvalidInputException.class, () -> taskList.editTask("edit 1x /desc a"));
+        assertThrows(ListOutOfBoundsException.class, () -> taskList.editTask("edit 1 /desc a"));
+        assertTrue(taskList.getTasks().isEmpty());
+
+        assertEquals(LocalDate.of(2021, 2, 28).toEpochDay(), TaskInputParser.parseEpochDay("2021-02-28"));
+        assertEquals(TaskInputParser.INVALID_DAY, TaskInputParser.parseEpochDay("2021-02-29"));
+        assertEquals(LocalDate.of(12021, 1, 1).toEpochDay(), TaskInputParser.parseEpochDay("+12021-01-01"));
+    }
+
+    @Test
+    public void printTasksOnDate_keepsListOrder() throws Exception {
+        TaskList taskList = newTaskList();
+        taskList.addTask("deadline f /by 2021-03-01");
+
+        assertEquals("Here are the deadlines due on 2021-03-01:\n1. [D][ ] a (by: Mar 1 2021)\n"
+                + "2. [D][ ] f (by: Mar 1 2021)\n\n"
+                + "Here are the events occurring on 2021-03-01:\n1. [E][ ] d (at: Mar 1 2021)",
+                taskList.printTasksOnDate("2021-03-01"));
+        assertEquals("You have no deadlines due on 2021-03-02.\n\nYou have no events occurring on 2021-03-02.",
+                taskList.printTasksOnDate("2021-03-02"));
+    }
+
+    @Test
+    public void printTasksInRange_followsEditsAndDeletions() throws Exception {
+        TaskList taskList = newTaskList();
+        assertEquals("Here are the deadlines due from 2021-03-01 to 2021-03-31:\n1. [D][ ] a (by: Mar 1 2021)\n"
+                + "2. [D][ ] b (by: Mar 5 2021)\n\n"
+                + "Here are the events occurring from 2021-03-01 to 2021-03-31:\n1. [E][ ] d (at: Mar 1 2021)",
+                taskList.printTasksInRange("2021-03-01..2021-03-31"));
+
+        taskList.editTask("edit 5 /date 2021-03-05");
+        taskList.deleteTask("delete 3");
+        taskList.sortTasksByName();
+        assertEquals("Here are the deadlines due from 2021-03-02 to 2021-03-31:\n1. [D][ ] b (by: Mar 5 2021)\n"
+                + "2. [D][ ] e (by: Mar 5 2021)\n\n"
+                + "You have no events occurring from 2021-03-02 to 2021-03-31.",
+                taskList.printTasksInRange("2021-03-02..2021-03-31"));
+        assertEquals("You have no deadlines due from 2021-03-31 to 2021-03-01.\n\n"
+                + "You have no events occurring from 2021-03-31 to 2021-03-01.",
+                taskList.printTasksInRange("2021-03-31..2021-03-01"));
+    }
+
+    @Test
+    public void findTasksWithKeyword_matchesCaseInsensitiveSubstrings() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.addTask("todo Read Book");
+        taskList.addTask("todo bookbook");
+        taskList.addTask("todo write essay");
+        taskList.addTask("deadline return BOOKS /by 2021-03-01");
+
+        assertEquals("Here are the matching tasks in your list:\n1. [T][ ] Read Book\n2. [T][ ] bookbook\n"
+                + "3. [D][ ] return BOOKS (by: Mar 1 2021)", taskList.findTasksWithKeyword("find BOOK"));
+        assertEquals("Here are the matching tasks in your list:\n1. [T][ ] bookbook",
+                taskList.findTasksWithKeyword("find kbo"));
+        assertEquals("Here are the matching tasks in your list:\n1. [T][ ] write essay",
+                taskList.findTasksWithKeyword("find y"));
+        assertEquals("You have no matching tasks in your list.", taskList.findTasksWithKeyword("find books!"));
+
+        taskList.editTask("edit 3 /desc book club");
+        taskList.deleteTask("delete 2");
+        assertEquals("Here are the matching tasks in your list:\n1. [T][ ] Read Book\n2. [T][ ] book club\n"
+                + "3. [D][ ] return BOOKS (by: Mar 1 2021)", taskList.findTasksWithKeyword("find book"));
+        assertEquals("You have no matching tasks in your list.", taskList.findTasksWithKeyword("find essay"));
+    }
+
+    @Test
+    public void findTasks_keepsEveryCharacterAfterTheFirstSpace() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.addTask("todo Read Book");
+        taskList.addTask("todo read  book");
+        taskList.addTask("todo notebook");
+
+        assertEquals(3, taskList.findTasks(new InputTokens("find ")).size());
+        assertEquals(2, taskList.findTasks(new InputTokens("find  book")).size());
+        assertEquals("Read Book", taskList.findTasks(new InputTokens("find d b")).get(0).getName());
+        assertEquals("read  book", taskList.findTasks(new InputTokens("find d  b")).get(0).getName());
+        assertEquals(List.of(), taskList.findTasks(new InputTokens("find book ")));
+        assertThrows(InvalidInputException.class, () -> taskList.findTasks(new InputTokens("find")));
+    }
+
+    @Test
+    public void sortTasks_stableByKey() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.addTask("event e1 /at 2021-03-02");
+        taskList.addTask("todo b");
+        taskList.addTask("deadline d1 /by 2021-03-05");
+        taskList.addTask("event e2 /at 2021-03-01");
+        taskList.addTask("deadline d2 /by 2021-03-01");
+        taskList.addTask("todo Ab");
+        taskList.addTask("deadline d3 /by 2021-03-05");
+        taskList.addTask("todo a");
+
+        taskList.sortTasksByTypeAndDate();
+        assertEquals(List.of("b", "Ab", "a", "d2", "d1", "d3", "e2", "e1"), names(taskList));
+        taskList.sortTasksByName();
+        assertEquals(List.of("Ab", "a", "b", "d1", "d2", "d3", "e1", "e2"), names(taskList));
+        taskList.sortTasksByType();
+        assertEquals(List.of("Ab", "a", "b", "d1", "d2", "d3", "e1", "e2"), names(taskList));
+    }
+
+    @Test
+    public void sortTasksByName_largeList_matchesComparator() throws Exception {
+        TaskList taskList = new TaskList();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            String name = "task " + (i * 7919L % 100003);
+            taskList.addTaskFromData("T | 0 | " + name);
+            expected.add(name);
+        }
+        taskList.sortTasksByName();
+        Collections.sort(expected);
+        assertEquals(expected, names(taskList));
+    }
+
+    @Test
+    public void displayStats_followsChanges() throws Exception {
+        TaskList taskList = newTaskList();
+        LocalDate today = LocalDate.parse("2021-03-03");
+        taskList.markDone("done 2");
+        taskList.markDone("done 2");
+        assertEquals("Your task list currently consists of:\n"
+                + "1 to-dos (1 done, 0 pending),\n"
+                + "3 deadlines (0 done, 3 pending), and\n"
+                + "1 events (0 done, 1 pending).\n\n"
+                + "Overdue deadlines: 1\n"
+                + "Events in the next 7 days: 0\n"
+                + "Events in the next 30 days: 0", taskList.displayStats(today));
+
+        taskList.markDone("done 4");
+        taskList.editTask("edit 1 /date 2021-02-01");
+        taskList.editTask("edit 3 /date 2021-03-09");
+        taskList.deleteTask("delete 2");
+        taskList.addTask("event f /at 2021-04-01");
+        assertEquals("Your task list currently consists of:\n"
+                + "0 to-dos (0 done, 0 pending),\n"
+                + "3 deadlines (1 done, 2 pending), and\n"
+                + "2 events (0 done, 2 pending).\n\n"
+                + "Overdue deadlines: 1\n"
+                + "Events in the next 7 days: 1\n"
+                + "Events in the next 30 days: 2", taskList.displayStats(today));
+        assertTrue(taskList.displayStats(LocalDate.parse("2021-05-01")).endsWith("Overdue deadlines: 2\n"
+                + "Events in the next 7 days: 0\nEvents in the next 30 days: 0"));
+    }
+
+    private List<String> names(TaskList taskList) {
+        List<String> names = new ArrayList<>();
+        for (Task t : taskList.getTasks()) {
+            names.add(t.getName());
+        }
+        return names;
+    }
+
+    @Test
+    public void ids_surviveSorting() throws Exception {
+        TaskList taskList = newTaskList();
+        taskList.sortTasksByName();
+        assertEquals(List.of("a", "b", "c", "d", "e"), names(taskList));
+
+        taskList.markDone("done #2");
+        assertTrue(taskList.getTasks().get(2).isDone());
+        taskList.editTask("edit #1 /desc f");
+        assertEquals("f", taskList.getTasks().get(1).getName());
+        taskList.deleteTask("delete #4");
+        assertEquals(List.of("f", "c", "d", "e"), names(taskList));
+        assertThrows(TaskNotFoundException.class, () -> taskList.markDone("done #4"));
+
+        taskList.addTask("todo g");
+        assertEquals(6, taskList.getTasks().get(4).getId());
+    }
+
+    @Test
+    public void batchCommands_applyToEverySelectedTask() throws Exception {
+        TaskList taskList = newTaskList();
+        taskList.addTask("todo f");
+        taskList.addTask("todo g");
+
+        assertEquals("Nice! I've marked 4 tasks as done (0 of them were already done).",
+                taskList.markDone("done 1-3,#7"));
+        assertEquals("Noted. I've removed 4 tasks.\nNow you have 3 tasks in the list.",
+                taskList.deleteTask("delete 2,4-5,2,#7"));
+        assertEquals(List.of("b", "d", "f"), names(taskList));
+        assertTrue(taskList.getTasks().get(1).isDone());
+        assertEquals(3, taskList.getTasks().get(1).getId());
+
+        assertThrows(ListOutOfBoundsException.class, () -> taskList.deleteTask("delete 1-4"));
+        assertThrows(ListOutOfBoundsException.class, () -> taskList.deleteTask("delete 1,999999999"));
+        assertThrows(InvalidInputException.class, () -> taskList.markDone("done 3-1"));
+        assertEquals(3, taskList.getTasks().size());
+    }
+
+    @Test
+    public void printPage_rendersOnlyRequestedWindow() throws Exception {
+        TaskList taskList = new TaskList();
+        for (int i = 1; i <= 45; i++) {
+            taskList.addTaskFromData("T | 0 | t" + i);
+        }
+
+        assertEquals("Here are tasks 21 to 22 of 45 in your list (page 11 of 23):\n"
+                + "21. #21 [T][ ] t21\n22. #22 [T][ ] t22", taskList.printPage("list /page 11 /size 2"));
+        assertEquals("Here are tasks 41 to 45 of 45 in your list (page 3 of 3):\n"
+                + "41. #41 [T][ ] t41\n42. #42 [T][ ] t42\n43. #43 [T][ ] t43\n44. #44 [T][ ] t44\n"
+                + "45. #45 [T][ ] t45", taskList.printPage("list /page 3"));
+        assertEquals("There are no tasks on page 4. Your list has 3 page(s) of 20 tasks.",
+                taskList.printPage("list /page 4"));
+        assertThrows(InvalidInputException.class, () -> taskList.printPage("list /page 0"));
+
+        TaskCursor cursor = taskList.openCursor(40, 4);
+        taskList.deleteTask("delete 1-45");
+        assertEquals(4, cursor.nextPage().size());
+        assertEquals("t45", cursor.nextPage().get(0).getName());
+        assertFalse(cursor.hasNext());
+
+        taskList.addTask("todo a");
+        StringWriter out = new StringWriter();
+        taskList.writeTasks(out);
+        assertEquals(taskList.printTasks().replace("\n", System.lineSeparator()) + System.lineSeparator(),
+                out.toString());
+    }
+
+    @Test
+    public void queryTasks_matchesEveryTermThroughMostSelectiveIndex() throws Exception {
+        TaskList taskList = newTaskList();
+        taskList.addTask("todo report draft");
+        taskList.addTask("deadline weekly report /by 2021-03-02");
+        taskList.markDone("done 1");
+
+        assertEquals("Here are the matching tasks in your list:\n4. #4 [D][ ] a (by: Mar 1 2021)\n"
+                + "7. #7 [D][ ] weekly report (by: Mar 2 2021)",
+                taskList.queryTasks("query type:deadline done:false before:2021-03-31 sort:date"));
+        assertEquals("Here are the matching tasks in your list:\n3. #3 [E][ ] d (at: Mar 1 2021)\n"
+                + "4. #4 [D][ ] a (by: Mar 1 2021)", taskList.queryTasks("query on:2021-03-01"));
+        assertEquals("Here are the matching tasks in your list:\n6. #6 [T][ ] report draft",
+                taskList.queryTasks("query text:report limit:1"));
+        assertEquals("You have no matching tasks in your list.",
+                taskList.queryTasks("query type:todo after:2021-01-01"));
+
+        assertEquals("This query will check: text index on \"report\" (2 of 7 tasks)",
+                taskList.queryTasks("query explain type:deadline text:report"));
+        assertEquals("This query will check: done index (1 of 7 tasks)",
+                taskList.queryTasks("query explain done:true"));
+        assertEquals("This query will check: full scan (7 of 7 tasks)", taskList.queryTasks("query explain"));
+        assertThrows(QueryFormatException.class, () -> taskList.queryTasks("query colour:red"));
+        assertThrows(QueryFormatException.class, () -> taskList.queryTasks("query limit:0"));
+    }
+
+    @Test
+    public void printUpcomingTasks_followsChangesWithoutReordering() throws Exception {
+        TaskList taskList = newTaskList();
+        LocalDate today = LocalDate.of(2021, 3, 2);
+        assertEquals("Here are your next 2 deadlines and events:\n1. #1 [D][ ] b (by: Mar 5 2021)\n"
+                + "5. #5 [D][ ] e (by: Apr 1 2021)", taskList.printUpcomingTasks("upcoming", today));
+
+        taskList.markDone("done 1");
+        taskList.editTask("edit 4 /date 2021-03-20");
+        taskList.addTask("event f /at 2021-03-02");
+        assertEquals("Here are your next 2 deadlines and events:\n6. #6 [E][ ] f (at: Mar 2 2021)\n"
+                + "4. #4 [D][ ] a (by: Mar 20 2021)", taskList.printUpcomingTasks("upcoming 2", today));
+        assertEquals(List.of("b", "c", "d", "a", "e", "f"), names(taskList));
+
+        taskList.deleteTask("delete 4-6");
+        assertEquals("You have no upcoming deadlines or events.", taskList.printUpcomingTasks("upcoming", today));
+        assertThrows(InvalidInputException.class, () -> taskList.printUpcomingTasks("upcoming 0", today));
+    }
+
+    @Test
+    public void printBusyAndFreeTimes_timedEventsOnly_conflictsNoted() throws Exception {
+        TaskList taskList = new TaskList();
+        taskList.addTask("todo x");
+        taskList.addTask("event standup /at 2021-03-01 09:00-09:30");
+        taskList.addTask("event workshop /at 2021-03-01 10:00-12:00");
+        taskList.addTask("event night shift /at 2021-02-28 23:00-01:00");
+        assertEquals("Got it. I've added this task:\n[E][ ] lunch (at: Mar 1 2021 11:30-13:00)\n"
+                + "Now you have 5 tasks in the list.\nNote: this event overlaps with:\n"
+                + "3. #3 [E][ ] workshop (at: Mar 1 2021 10:00-12:00)",
+                taskList.addTask("event lunch /at 2021-03-01 11:30-13:00"));
+        taskList.addTask("event holiday /at 2021-03-01");
+
+        assertEquals("Here are the events during that time:\n"
+                + "4. #4 [E][ ] night shift (at: Feb 28 2021 23:00-01:00+1)\n"
+                + "2. #2 [E][ ] standup (at: Mar 1 2021 09:00-09:30)\n"
+                + "3. #3 [E][ ] workshop (at: Mar 1 2021 10:00-12:00)\n"
+                + "5. #5 [E][ ] lunch (at: Mar 1 2021 11:30-13:00)", taskList.printBusyTimes("busy 2021-03-01"));
+        assertEquals("Here are your free times:\nMar 1 2021 08:00-09:00\nMar 1 2021 09:30-10:00\n"
+                + "Mar 1 2021 13:00-14:00", taskList.printFreeTimes("free 2021-03-01 08:00-14:00"));
+        assertEquals("Here are your free times:\nMar 1 2021 01:00-09:00\nMar 1 2021 13:00-00:00+1",
+                taskList.printFreeTimes("free 2021-03-01 /for 60"));
+
+        taskList.markDone("done 3");
+        taskList.editTask("edit 5 /date 2021-03-02");
+        assertEquals("You have no events during that time.", taskList.printBusyTimes("busy 2021-03-01 10:00-12:00"));
+        assertEquals("Here are the events during that time:\n5. #5 [E][ ] lunch (at: Mar 2 2021 11:30-13:00)",
+                taskList.printBusyTimes("busy 2021-03-02"));
+
+        assertThrows(InvalidInputException.class, () -> taskList.printFreeTimes("free 2021-03-01 /for x"));
+        assertThrows(DateFormatException.class, () -> taskList.printBusyTimes("busy 2021-03-01 9-10"));
+        assertThrows(DateFormatException.class, () -> taskList.addTask("event e /at 2021-03-01 25:00-26:00"));
+    }
+
+    @Test
+    public void printTasksInRange_invalidDate_exceptionThrown() throws Exception {
+        TaskList taskList = newTaskList();
+        assertThrows(DateFormatException.class, () -> taskList.printTasksInRange("2021-03-01..tomorrow"));
+    }
+}
@@ -0,0 +1,65 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import chadbot.subfiles.TaskSequence;
+
+public class TaskSequenceTest {
+    private static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    @Test
+    public void randomOperations_matchArrayList() {
+        Random random = new Random(2103);
+        TaskSequence sequence = new TaskSequence();
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < 20000; i++) {
+            int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                sequence.add(index, i);
+                expected.add(index, i);
+            } else if (op < 8) {
+                int index = random.nextInt(expected.size());
+                assertEquals((int) expected.remove(index), sequence.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals((int) expected.set(index, 20000 + i), sequence.set(index, 20000 + i));
+            }
+        }
+
+        assertArrayEquals(toArray(expected), sequence.toArray());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals((int) expected.get(i), sequence.get(i));
+            assertEquals(i, sequence.indexOf(expected.get(i)));
+        }
+    }
+
+    @Test
+    public void addAll_keepsOrder() {
+        TaskSequence sequence = new TaskSequence();
+        List<Integer> expected = new ArrayList<>();
+        int[] slots = new int[1000];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = (i * 7919) % 1000;
+            expected.add(slots[i]);
+        }
+        sequence.add(1000);
+        sequence.addAll(slots);
+        expected.add(0, 1000);
+        assertArrayEquals(toArray(expected), sequence.toArray());
+
+        sequence.clear();
+        sequence.addAll(slots);
+        assertArrayEquals(slots, sequence.toArray());
+        assertThrows(IndexOutOfBoundsException.class, () -> sequence.get(1000));
+    }
+}
@@ -0,0 +1,86 @@
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+import chadbot.task.Deadline;
+import chadbot.task.HeapTaskStore;
+import chadbot.task.OffHeapTaskStore;
+import chadbot.task.Task;
+import chadbot.task.TaskStore;
+import chadbot.task.ToDo;
+
+public class TaskStoreTest {
+    @Test
+    public void compareNames_matchesStringOrder() {
+        compareNames_matchesStringOrder(new HeapTaskStore());
+        compareNames_matchesStringOrder(new OffHeapTaskStore());
+    }
+
+    private void compareNames_matchesStringOrder(TaskStore store) {
+        String[] names = {"", "a", "ab", "B", "caf\u00e9", "cafe", "\uffff", "\ud83d\ude00", "\u00e9t\u00e9", "x y"};
+        int[] slots = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            slots[i] = store.add(new ToDo(names[i]));
+        }
+
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(names[i], store.getName(slots[i]));
+            for (int j = 0; j < names.length; j++) {
+                assertEquals(Integer.signum(names[i].compareTo(names[j])),
+                        Integer.signum(store.compareNames(slots[i], slots[j])));
+            }
+        }
+    }
+
+    @Test
+    public void viewsAndCopies_followStore() {
+        viewsAndCopies_followStore(new HeapTaskStore());
+        viewsAndCopies_followStore(new OffHeapTaskStore());
+    }
+
+    private void viewsAndCopies_followStore(TaskStore store) {
+        int slot = store.add(new Deadline("Return Book", LocalDate.parse("2021-02-12")));
+        Task view = store.get(slot);
+        Task copy = store.copy(slot);
+
+        store.setDone(slot);
+        store.setName(slot, "return library book");
+        store.setDate(slot, LocalDate.parse("2021-03-01"));
+        assertEquals("[D][X] return library book (by: Mar 1 2021)", view.toString());
+        assertEquals("[D][ ] Return Book (by: Feb 12 2021)", copy.toString());
+        assertTrue(store.nameContains(slot, "library"));
+        assertFalse(store.nameContains(slot, "books"));
+
+        store.remove(slot);
+        assertEquals(slot, store.add(new ToDo("reused")));
+    }
+
+    @Test
+    public void offHeapStore_manyRenames_keepsNames() {
+        TaskStore store = new OffHeapTaskStore();
+        String padding = "x".repeat(1 << 16);
+        int[] slots = new int[40000];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = store.add(new ToDo("task " + i));
+        }
+        for (int round = 0; round < 200; round++) {
+            store.setName(slots[round], padding + round);
+        }
+        for (int i = 0; i < slots.length; i += 2) {
+            store.remove(slots[i]);
+        }
+        for (int i = 1; i < 200; i += 4) {
+            store.setName(slots[i], "renamed " + i + padding);
+        }
+
+        for (int i = 1; i < slots.length; i += 2) {
+            String expected = i % 4 == 1 && i < 200 ? "renamed " + i + padding : i < 200 ? padding + i : "task " + i;
+            assertEquals(expected, store.getName(slots[i]));
+        }
+        assertEquals(slots[slots.length - 2], store.add(new ToDo("reused")));
+    }
+}